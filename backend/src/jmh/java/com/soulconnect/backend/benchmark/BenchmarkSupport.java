@@ -0,0 +1,99 @@
+package com.soulconnect.backend.benchmark;
+
+import com.soulconnect.backend.BackendApplication;
+import com.soulconnect.backend.model.Patient;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+// Arranque de contexto y datos sinteticos compartidos por los benchmarks
+final class BenchmarkSupport {
+
+    // -Dsoulconnect.bench.database=h2 (por defecto) o postgres
+    static final String DATABASE = System.getProperty("soulconnect.bench.database", "h2");
+
+    private BenchmarkSupport() {
+    }
+
+    static ConfigurableApplicationContext startContext() {
+        String profile = "postgres".equalsIgnoreCase(DATABASE) ? "bench-postgres" : "test";
+        return new SpringApplicationBuilder(BackendApplication.class)
+            .web(WebApplicationType.NONE)
+            .profiles(profile)
+            .run("--logging.level.root=WARN", "--spring.jpa.show-sql=false");
+    }
+
+    // Contexto con Tomcat en un puerto libre (local.server.port) para las pruebas de carga HTTP
+    static ConfigurableApplicationContext startWebContext(String... args) {
+        String profile = "postgres".equalsIgnoreCase(DATABASE) ? "bench-postgres" : "test";
+        List<String> arguments = new ArrayList<>(List.of("--logging.level.root=WARN", "--server.port=0"));
+        arguments.addAll(List.of(args));
+        return new SpringApplicationBuilder(BackendApplication.class)
+            .web(WebApplicationType.SERVLET)
+            .profiles(profile)
+            .run(arguments.toArray(String[]::new));
+    }
+
+    // Paciente con historia clinica realista (columnas TEXT llenas); seed fija para resultados reproducibles
+    static Patient fullPatient(int i) {
+        String history = "Paciente con antecedentes registrados en consulta de control numero " + i + ". ";
+        Patient p = new Patient();
+        p.setId(new UUID(0x5EEDL, i));
+        p.setFirstName("Nombre" + i);
+        p.setLastName("Apellido" + i);
+        p.setIdentificationNumber("BENCH-" + i);
+        p.setIdentificationType("CC");
+        p.setDateOfBirth(LocalDate.of(1950, 1, 1).plusDays(i % 20_000));
+        p.setEmail("paciente" + i + "@correo.co");
+        p.setPhoneNumber("300" + (1_000_000 + i));
+        p.setEps(i % 2 == 0 ? "Nueva EPS" : "Sura");
+        p.setAddress("Calle " + i + " # 10-20");
+        p.setBloodType("O+");
+        p.setHeightCm(170.0);
+        p.setWeightKg(70.0);
+        p.setSexBiological("F");
+        p.setGenderIdentity("Mujer");
+        p.setMaritalStatus("Soltera");
+        p.setEducationLevel("Universitario");
+        p.setOccupation("Docente");
+        p.setEmergencyContactName("Contacto " + i);
+        p.setEmergencyContactPhone("310" + (1_000_000 + i));
+        p.setCity(i % 3 == 0 ? "Bogota" : "Medellin");
+        p.setMunicipality("Centro");
+        p.setNeighborhood("Chapinero");
+        p.setPostalCode("110111");
+        p.setHousingType("Apartamento");
+        p.setSocioeconomicStratum("3");
+        p.setResidenceDurationMonths(24);
+        p.setAbdominalCircumferenceCm(80.0);
+        p.setHeartRateBpm(72);
+        p.setRespiratoryRateRpm(16);
+        p.setBloodPressureSys(120);
+        p.setBloodPressureDia(80);
+        p.setTemperatureC(36.5);
+        p.setSpo2(98.0);
+        p.setAllergies(history.repeat(7));
+        p.setMedications(history.repeat(7));
+        p.setSurgeries(history.repeat(5));
+        p.setFamilyHistory(history.repeat(7));
+        p.setHabits(history.repeat(6));
+        p.setVaccines(history.repeat(5));
+        p.setChronicConditions(history.repeat(7));
+        p.setCreatedAt(LocalDateTime.of(2026, 1, 1, 8, 0).plusSeconds(i));
+        p.setUpdatedAt(p.getCreatedAt());
+        return p;
+    }
+
+    // Para persistir: el id y la version los asigna Hibernate
+    static Patient newPatient(int i) {
+        Patient p = fullPatient(i);
+        p.setId(null);
+        p.setVersion(null);
+        return p;
+    }
+}
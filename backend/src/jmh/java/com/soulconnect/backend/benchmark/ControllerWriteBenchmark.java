@@ -0,0 +1,89 @@
+package com.soulconnect.backend.benchmark;
+
+import com.soulconnect.backend.controller.AppointmentController;
+import com.soulconnect.backend.controller.PatientController;
+import com.soulconnect.backend.model.AppointmentStatus;
+import com.soulconnect.backend.model.Patient;
+import com.soulconnect.backend.repository.AppointmentRepository;
+import com.soulconnect.backend.repository.AppointmentView;
+import com.soulconnect.backend.repository.PatientRepository;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+// Rutas de escritura de los controladores: createAppointment y la copia completa de updatePatient
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ControllerWriteBenchmark {
+
+    // Cupos de 20 minutos entre 08:00 y 17:00
+    private static final int SLOTS_PER_DAY = 27;
+
+    private ConfigurableApplicationContext context;
+    private AppointmentController appointmentController;
+    private PatientController patientController;
+    private AppointmentRepository appointmentRepository;
+    private PatientRepository patientRepository;
+
+    private UUID patientId;
+    private Patient payload;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkSupport.startContext();
+        appointmentController = context.getBean(AppointmentController.class);
+        patientController = context.getBean(PatientController.class);
+        appointmentRepository = context.getBean(AppointmentRepository.class);
+        patientRepository = context.getBean(PatientRepository.class);
+
+        appointmentRepository.deleteAll();
+        patientRepository.deleteAll();
+        patientId = patientRepository.save(BenchmarkSupport.newPatient(0)).getId();
+        payload = BenchmarkSupport.newPatient(0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        appointmentRepository.deleteAll();
+        patientRepository.deleteAll();
+        context.close();
+    }
+
+    @Benchmark
+    public AppointmentView createAppointment() {
+        // Cada invocacion toma un cupo distinto para medir la ruta feliz, no el rechazo por choque
+        long n = sequence++;
+        AppointmentController.AppointmentRequest request = new AppointmentController.AppointmentRequest();
+        request.setDate(LocalDate.of(2030, 1, 1).plusDays(n / SLOTS_PER_DAY));
+        request.setTime(LocalTime.of(8, 0).plusMinutes(20 * (n % SLOTS_PER_DAY)));
+        request.setSpecialty("Benchmark");
+        request.setStatus(AppointmentStatus.PENDING);
+        request.setPatientId(patientId);
+        return appointmentController.createAppointment(request);
+    }
+
+    @Benchmark
+    public Patient updatePatientFullCopy() {
+        payload.setHeartRateBpm(60 + (int) (sequence++ % 40));
+        return patientController.updatePatient(patientId, payload);
+    }
+}
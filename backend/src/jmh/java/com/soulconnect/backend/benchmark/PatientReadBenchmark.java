@@ -0,0 +1,91 @@
+package com.soulconnect.backend.benchmark;
+
+import com.soulconnect.backend.model.Patient;
+import com.soulconnect.backend.repository.PatientCursor;
+import com.soulconnect.backend.repository.PatientFilter;
+import com.soulconnect.backend.repository.PatientRepository;
+import com.soulconnect.backend.repository.PatientSummary;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+// findAll sin limite frente a paginas keyset proyectadas (primera y profunda) y busqueda por documento
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PatientReadBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+
+    @Param({"10000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private PatientRepository repository;
+    private PatientCursor deepCursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkSupport.startContext();
+        repository = context.getBean(PatientRepository.class);
+        repository.deleteAll();
+
+        List<Patient> batch = new ArrayList<>(500);
+        for (int i = 0; i < rows; i++) {
+            batch.add(BenchmarkSupport.newPatient(i));
+            if (batch.size() == 500) {
+                repository.saveAll(batch);
+                batch.clear();
+            }
+        }
+        repository.saveAll(batch);
+
+        // Cursor a PAGE_SIZE filas del final: mide el costo de una pagina profunda
+        List<PatientSummary> all = repository.findPage(null, null, rows);
+        PatientSummary anchor = all.get(all.size() - PAGE_SIZE - 1);
+        deepCursor = new PatientCursor(anchor.createdAt(), anchor.id());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        repository.deleteAll();
+        context.close();
+    }
+
+    @Benchmark
+    public List<Patient> findAllEntities() {
+        return repository.findAll();
+    }
+
+    @Benchmark
+    public List<PatientSummary> firstPageProjected() {
+        return repository.findPage(null, null, PAGE_SIZE + 1);
+    }
+
+    @Benchmark
+    public List<PatientSummary> deepPageProjected() {
+        return repository.findPage(null, deepCursor, PAGE_SIZE + 1);
+    }
+
+    @Benchmark
+    public List<PatientSummary> filteredPageProjected() {
+        return repository.findPage(new PatientFilter("Bogota", "Sura", 30, 60, null), null, PAGE_SIZE + 1);
+    }
+}
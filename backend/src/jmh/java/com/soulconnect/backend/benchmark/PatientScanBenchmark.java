@@ -0,0 +1,99 @@
+package com.soulconnect.backend.benchmark;
+
+import com.soulconnect.backend.model.Patient;
+import com.soulconnect.backend.repository.PatientRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+// Particion vertical de patients: recorrido de la fila nucleo frente a la fila ancha reconstruida (nucleo +
+// vitales + historia, lo que antes era una sola tabla). PatientReadBenchmark.findAllEntities en el commit
+// anterior a la particion da la linea base de la carga de entidades
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PatientScanBenchmark {
+
+    private static final String CORE_SCAN = """
+        select p.id, p.first_name, p.last_name, p.identification_number, p.city, p.eps
+        from patients p
+        where p.city = 'Bogota'
+        """;
+
+    private static final String WIDE_SCAN = """
+        select p.id, p.first_name, p.last_name, p.identification_number, p.city, p.eps, v.*, h.*
+        from patients p
+        join patient_vitals v on v.id = p.vitals_id
+        join patient_clinical_history h on h.id = p.clinical_history_id
+        where p.city = 'Bogota'
+        """;
+
+    @Param({"10000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private PatientRepository repository;
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkSupport.startContext();
+        repository = context.getBean(PatientRepository.class);
+        jdbcTemplate = new JdbcTemplate(context.getBean(DataSource.class));
+        repository.deleteAll();
+
+        List<Patient> batch = new ArrayList<>(500);
+        for (int i = 0; i < rows; i++) {
+            batch.add(BenchmarkSupport.newPatient(i));
+            if (batch.size() == 500) {
+                repository.saveAll(batch);
+                batch.clear();
+            }
+        }
+        repository.saveAll(batch);
+        if ("postgres".equalsIgnoreCase(BenchmarkSupport.DATABASE)) {
+            jdbcTemplate.execute("vacuum analyze patients");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        repository.deleteAll();
+        context.close();
+    }
+
+    @Benchmark
+    public int coreRowScan() {
+        return jdbcTemplate.queryForList(CORE_SCAN).size();
+    }
+
+    @Benchmark
+    public int wideRowScan() {
+        return jdbcTemplate.queryForList(WIDE_SCAN).size();
+    }
+
+    // Entidades sin tocar la historia: con la particion solo se lee la fila nucleo
+    @Benchmark
+    public List<Patient> findAllCoreEntities() {
+        return repository.findAll();
+    }
+}
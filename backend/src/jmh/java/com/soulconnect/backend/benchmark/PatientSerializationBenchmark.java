@@ -0,0 +1,59 @@
+package com.soulconnect.backend.benchmark;
+
+import com.soulconnect.backend.model.Patient;
+import com.soulconnect.backend.repository.PatientSummary;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.json.JsonMapper;
+
+// Costo de serializar a JSON la entidad completa frente al resumen de listados
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PatientSerializationBenchmark {
+
+    @Param({"100", "1000"})
+    public int rows;
+
+    private final JsonMapper mapper = JsonMapper.builder().build();
+    private List<Patient> patients;
+    private List<PatientSummary> summaries;
+
+    @Setup
+    public void setUp() {
+        patients = new ArrayList<>(rows);
+        summaries = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            Patient p = BenchmarkSupport.fullPatient(i);
+            patients.add(p);
+            summaries.add(new PatientSummary(p.getId(), p.getFirstName(), p.getLastName(), p.getIdentificationNumber(),
+                p.getIdentificationType(), p.getDateOfBirth(), p.getEmail(), p.getPhoneNumber(), p.getCity(), p.getEps(),
+                p.getCreatedAt()));
+        }
+    }
+
+    @Benchmark
+    public byte[] fullEntity() {
+        return mapper.writeValueAsBytes(patients);
+    }
+
+    @Benchmark
+    public byte[] summary() {
+        return mapper.writeValueAsBytes(summaries);
+    }
+}
@@ -0,0 +1,127 @@
+package com.soulconnect.backend.benchmark;
+
+import com.soulconnect.backend.model.Appointment;
+import com.soulconnect.backend.model.Patient;
+import com.soulconnect.backend.repository.AppointmentReminderRepository;
+import com.soulconnect.backend.repository.AppointmentRepository;
+import com.soulconnect.backend.repository.PatientRepository;
+import com.soulconnect.backend.service.ReminderSender;
+import com.soulconnect.backend.service.ReminderService;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+// Corrida completa de recordatorios para un dia con 100k citas PENDING. El emisor simula la latencia de un
+// proveedor por lote (latencyMs); la corrida debe terminar (completed=true) dentro de la ventana configurada
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class ReminderPipelineBenchmark {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 9, 1);
+    private static final int SLOTS_PER_SPECIALTY = 50_000;
+    private static final int APPOINTMENTS_PER_PATIENT = 100;
+
+    @Param({"100000"})
+    public int appointments;
+
+    @Param({"20"})
+    public long latencyMs;
+
+    @Param({"4"})
+    public int workers;
+
+    private ConfigurableApplicationContext context;
+    private AppointmentRepository appointmentRepository;
+    private PatientRepository patientRepository;
+    private AppointmentReminderRepository reminderRepository;
+    private ReminderService service;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkSupport.startContext();
+        appointmentRepository = context.getBean(AppointmentRepository.class);
+        patientRepository = context.getBean(PatientRepository.class);
+        reminderRepository = context.getBean(AppointmentReminderRepository.class);
+
+        List<Patient> patients = new ArrayList<>();
+        for (int i = 0; i < (appointments + APPOINTMENTS_PER_PATIENT - 1) / APPOINTMENTS_PER_PATIENT; i++) {
+            patients.add(BenchmarkSupport.newPatient(i));
+        }
+        patients = patientRepository.saveAll(patients);
+
+        // Horario distinto por paciente y por especialidad: respeta los UNIQUE de cupo
+        List<Appointment> batch = new ArrayList<>(500);
+        for (int i = 0; i < appointments; i++) {
+            Appointment appointment = new Appointment();
+            appointment.setPatient(patients.get(i / APPOINTMENTS_PER_PATIENT));
+            appointment.setDate(DAY);
+            appointment.setTime(LocalTime.ofSecondOfDay(i % SLOTS_PER_SPECIALTY));
+            appointment.setSpecialty("Especialidad " + i / SLOTS_PER_SPECIALTY);
+            batch.add(appointment);
+            if (batch.size() == 500) {
+                appointmentRepository.saveAll(batch);
+                batch.clear();
+            }
+        }
+        appointmentRepository.saveAll(batch);
+
+        service = new ReminderService(appointmentRepository, reminderRepository, new SlowSender(latencyMs),
+            1000, 100, workers, 2000, 3, Duration.ofMillis(200), Duration.ofHours(2));
+    }
+
+    @Setup(Level.Invocation)
+    public void resetDeliveries() {
+        reminderRepository.deleteAllInBatch();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        reminderRepository.deleteAllInBatch();
+        appointmentRepository.deleteAllInBatch();
+        patientRepository.deleteAll();
+        context.close();
+    }
+
+    @Benchmark
+    public ReminderService.RunReport remindDay() throws Exception {
+        ReminderService.RunReport report = service.submit(DAY).get();
+        if (!report.completed() || report.sent() != appointments) {
+            throw new IllegalStateException("Corrida incompleta: " + report);
+        }
+        return report;
+    }
+
+    private record SlowSender(long latencyMs) implements ReminderSender {
+        @Override
+        public List<Result> send(List<Message> batch) {
+            try {
+                Thread.sleep(latencyMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return Collections.nCopies(batch.size(), Result.ok());
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.soulconnect.backend.benchmark;
+
+import com.soulconnect.backend.model.Patient;
+import com.soulconnect.backend.repository.PatientRepository;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+// Prueba de carga HTTP: hilos de plataforma (pool de Tomcat) frente a hilos virtuales con semaforo de base.
+// Muchos clientes concurrentes contra GET /api/patients; SampleTime reporta throughput y percentiles (p99)
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Threads(400)
+@Fork(1)
+public class RequestThreadingBenchmark {
+
+    @Param({"platform", "virtual"})
+    public String threading;
+
+    // Hilos de Tomcat en modo plataforma; por debajo de los clientes para que la cola sea visible
+    @Param({"100"})
+    public int tomcatThreads;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkSupport.startWebContext(
+            "--spring.threads.virtual.enabled=" + "virtual".equals(threading),
+            "--server.tomcat.threads.max=" + tomcatThreads);
+
+        PatientRepository repository = context.getBean(PatientRepository.class);
+        repository.deleteAll();
+        List<Patient> batch = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            batch.add(BenchmarkSupport.newPatient(i));
+        }
+        repository.saveAll(batch);
+
+        String port = context.getEnvironment().getProperty("local.server.port");
+        client = HttpClient.newHttpClient();
+        request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/patients?limit=50&city=Bogota"))
+            .GET()
+            .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.getBean(PatientRepository.class).deleteAll();
+        context.close();
+    }
+
+    @Benchmark
+    public int listPatients() throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("HTTP " + response.statusCode());
+        }
+        return response.body().length;
+    }
+}
@@ -0,0 +1,170 @@
+package com.soulconnect.backend.benchmark;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.soulconnect.backend.model.Patient;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+// Bytes en el cable y CPU de serializacion por lista de pacientes: JSON con y sin nulos, CBOR, Smile, y cada uno
+// con gzip (lo que hace Tomcat con server.compression). Los tamanos van a un CSV aparte (no son tiempos); la
+// mitad de los pacientes tiene el perfil clinico vacio, como los que llegan por importacion
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    // -Dsoulconnect.bench.sizes-file: una fila por formato y valor de rows, junto a jmh-result.json
+    static final Path SIZES_FILE = Path.of(System.getProperty("soulconnect.bench.sizes-file", "target/jmh-wire-sizes.csv"));
+
+    @Param({"1000"})
+    public int rows;
+
+    private final ObjectMapper jsonWithNulls = JsonMapper.builder().build();
+    private final ObjectMapper json = JsonMapper.builder().changeDefaultPropertyInclusion(WireFormatBenchmark::nonNull).build();
+    private final ObjectMapper cbor = CBORMapper.builder().changeDefaultPropertyInclusion(WireFormatBenchmark::nonNull).build();
+    private final ObjectMapper smile = SmileMapper.builder().changeDefaultPropertyInclusion(WireFormatBenchmark::nonNull).build();
+
+    private List<Patient> patients;
+
+    @Setup
+    public void setUp() {
+        patients = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            patients.add(i % 2 == 0 ? BenchmarkSupport.fullPatient(i) : sparse(BenchmarkSupport.fullPatient(i)));
+        }
+        writeSizes();
+    }
+
+    @Benchmark
+    public byte[] jsonWithNulls() {
+        return jsonWithNulls.writeValueAsBytes(patients);
+    }
+
+    @Benchmark
+    public byte[] json() {
+        return json.writeValueAsBytes(patients);
+    }
+
+    @Benchmark
+    public byte[] cbor() {
+        return cbor.writeValueAsBytes(patients);
+    }
+
+    @Benchmark
+    public byte[] smile() {
+        return smile.writeValueAsBytes(patients);
+    }
+
+    @Benchmark
+    public byte[] jsonWithNullsGzip() {
+        return gzip(jsonWithNulls());
+    }
+
+    @Benchmark
+    public byte[] jsonGzip() {
+        return gzip(json());
+    }
+
+    @Benchmark
+    public byte[] cborGzip() {
+        return gzip(cbor());
+    }
+
+    @Benchmark
+    public byte[] smileGzip() {
+        return gzip(smile());
+    }
+
+    private void writeSizes() {
+        StringBuilder csv = new StringBuilder();
+        if (!Files.exists(SIZES_FILE)) {
+            csv.append("rows,format,bytes,gzip_bytes\n");
+        }
+        csv.append(sizeRow("json+nulos", jsonWithNulls(), jsonWithNullsGzip()))
+            .append(sizeRow("json", json(), jsonGzip()))
+            .append(sizeRow("cbor", cbor(), cborGzip()))
+            .append(sizeRow("smile", smile(), smileGzip()));
+        try {
+            Files.createDirectories(SIZES_FILE.toAbsolutePath().getParent());
+            Files.writeString(SIZES_FILE, csv, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String sizeRow(String format, byte[] body, byte[] gzipped) {
+        return rows + "," + format + "," + body.length + "," + gzipped.length + "\n";
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static JsonInclude.Value nonNull(JsonInclude.Value inclusion) {
+        return inclusion.withValueInclusion(JsonInclude.Include.NON_NULL);
+    }
+
+    private static Patient sparse(Patient p) {
+        p.setAddress(null);
+        p.setBloodType(null);
+        p.setGenderIdentity(null);
+        p.setMaritalStatus(null);
+        p.setEducationLevel(null);
+        p.setOccupation(null);
+        p.setEmergencyContactName(null);
+        p.setEmergencyContactPhone(null);
+        p.setNeighborhood(null);
+        p.setPostalCode(null);
+        p.setHousingType(null);
+        p.setSocioeconomicStratum(null);
+        p.setResidenceDurationMonths(null);
+        p.setAbdominalCircumferenceCm(null);
+        p.setHeartRateBpm(null);
+        p.setRespiratoryRateRpm(null);
+        p.setBloodPressureSys(null);
+        p.setBloodPressureDia(null);
+        p.setTemperatureC(null);
+        p.setSpo2(null);
+        p.setAllergies(null);
+        p.setMedications(null);
+        p.setSurgeries(null);
+        p.setFamilyHistory(null);
+        p.setHabits(null);
+        p.setVaccines(null);
+        p.setChronicConditions(null);
+        return p;
+    }
+}
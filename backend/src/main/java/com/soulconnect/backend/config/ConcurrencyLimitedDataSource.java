@@ -0,0 +1,95 @@
+package com.soulconnect.backend.config;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+// Limita las conexiones en uso con un semaforo justo: con hilos virtuales miles de peticiones pueden llegar
+// a la vez y asi esperan aparcadas en orden de llegada en lugar de competir por el pool de Hikari
+public class ConcurrencyLimitedDataSource extends DelegatingDataSource {
+
+    private final Semaphore permits;
+    private final long acquireTimeoutNanos;
+
+    public ConcurrencyLimitedDataSource(DataSource target, int maxConcurrency, Duration acquireTimeout) {
+        super(target);
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency debe ser al menos 1");
+        }
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return guard(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return guard(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    public int queueLength() {
+        return permits.getQueueLength();
+    }
+
+    private void acquire() throws SQLException {
+        try {
+            if (!permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                throw new SQLTransientConnectionException(
+                    "Base de datos saturada: no se obtuvo una conexion en " + Duration.ofNanos(acquireTimeoutNanos));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrumpido esperando una conexion", e);
+        }
+    }
+
+    // El permiso se devuelve una sola vez, en el primer close() de la conexion
+    private Connection guard(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] {Connection.class},
+            (proxy, method, args) -> {
+                if ("close".equals(method.getName()) && method.getParameterCount() == 0) {
+                    try {
+                        connection.close();
+                    } finally {
+                        if (released.compareAndSet(false, true)) {
+                            permits.release();
+                        }
+                    }
+                    return null;
+                }
+                try {
+                    return method.invoke(connection, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getTargetException();
+                }
+            });
+    }
+}
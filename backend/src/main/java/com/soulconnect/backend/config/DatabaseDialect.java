@@ -0,0 +1,37 @@
+package com.soulconnect.backend.config;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.springframework.stereotype.Component;
+
+// Motor de la base principal, detectado una sola vez. Los repositorios con SQL propio de PostgreSQL
+// (SKIP LOCKED, ON CONFLICT, advisory locks, trigramas) lo consultan para elegir la variante portable en H2
+@Component
+public class DatabaseDialect {
+
+    private final DataSource dataSource;
+    private volatile Boolean postgres;
+
+    public DatabaseDialect(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    public boolean isPostgres() {
+        Boolean cached = postgres;
+        if (cached == null) {
+            try (Connection connection = dataSource.getConnection()) {
+                cached = isPostgres(connection);
+            } catch (SQLException e) {
+                cached = Boolean.FALSE;
+            }
+            postgres = cached;
+        }
+        return cached;
+    }
+
+    // Para quien ya tiene una conexion abierta a otra base (p. ej. una replica)
+    public static boolean isPostgres(Connection connection) throws SQLException {
+        return "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+    }
+}
@@ -0,0 +1,70 @@
+package com.soulconnect.backend.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Set;
+import org.springframework.http.ResponseCookie;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+// Lee-lo-que-escribes: una peticion que modifica datos lee solo del primario, y su respuesta deja una cookie
+// para que las peticiones del mismo cliente durante la ventana (el retraso maximo tolerado) tambien lo hagan
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String COOKIE = "sc_primary_until";
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    private final Duration window;
+    private final Clock clock;
+
+    public ReadYourWritesFilter(Duration window, Clock clock) {
+        this.window = window;
+        this.clock = clock;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean write = !SAFE_METHODS.contains(request.getMethod());
+        if (write || recentlyWrote(request)) {
+            ReplicaRoutingContext.requirePrimary();
+        }
+        if (write) {
+            // Antes de la cadena: despues el cuerpo ya puede estar comprometido y no se podrian agregar encabezados
+            response.addHeader("Set-Cookie", ResponseCookie.from(COOKIE, Long.toString(clock.millis() + window.toMillis()))
+                .path("/")
+                .httpOnly(true)
+                .maxAge(window)
+                .sameSite("Lax")
+                .build()
+                .toString());
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReplicaRoutingContext.clear();
+        }
+    }
+
+    private boolean recentlyWrote(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return false;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue()) > clock.millis();
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+}
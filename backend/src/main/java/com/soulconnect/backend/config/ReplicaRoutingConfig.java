@@ -0,0 +1,105 @@
+package com.soulconnect.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javax.sql.DataSource;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+// Replicas de lectura (soulconnect.datasource.replica-urls, separadas por coma). El DataSource de la aplicacion
+// pasa a ser un LazyConnectionDataSourceProxy: la conexion fisica se pide en la primera sentencia, cuando ya se
+// sabe si la transaccion es readOnly. Las de solo lectura (las consultas de los repositorios lo son por defecto)
+// van a una replica; el resto, Flyway y todo lo que corre sin transaccion, al primario
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnExpression("!'${soulconnect.datasource.replica-urls:}'.isBlank()")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    static ReplicaRoutingPostProcessor replicaRoutingPostProcessor(Environment environment) {
+        return new ReplicaRoutingPostProcessor(environment);
+    }
+
+    @Bean
+    FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(Environment environment) {
+        Duration window = environment.getProperty("soulconnect.datasource.read-your-writes-window", Duration.class,
+            Duration.ofSeconds(5));
+        FilterRegistrationBean<ReadYourWritesFilter> registration =
+            new FilterRegistrationBean<>(new ReadYourWritesFilter(window, Clock.systemUTC()));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    @Bean
+    MeterBinder replicaRoutingMetrics(ReplicaRoutingPostProcessor postProcessor) {
+        return registry -> {
+            ReplicaRoutingDataSource router = postProcessor.router;
+            if (router != null) {
+                Gauge.builder("soulconnect.db.replicas.usable", router, ReplicaRoutingDataSource::usableReplicas)
+                    .register(registry);
+            }
+        };
+    }
+
+    static class ReplicaRoutingPostProcessor implements BeanPostProcessor, DisposableBean {
+
+        private final Environment environment;
+        private final List<HikariDataSource> pools = new ArrayList<>();
+        private volatile ReplicaRoutingDataSource router;
+
+        ReplicaRoutingPostProcessor(Environment environment) {
+            this.environment = environment;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+            if (!(bean instanceof DataSource primary) || bean instanceof LazyConnectionDataSourceProxy || router != null) {
+                return bean;
+            }
+            List<DataSource> replicas = new ArrayList<>();
+            String[] urls = environment.getRequiredProperty("soulconnect.datasource.replica-urls").split(",");
+            for (String url : Arrays.stream(urls).map(String::trim).filter(u -> !u.isEmpty()).toList()) {
+                HikariDataSource pool = new HikariDataSource();
+                pool.setPoolName("replica-" + pools.size());
+                pool.setJdbcUrl(url);
+                pool.setUsername(environment.getProperty("soulconnect.datasource.replica-username",
+                    environment.getProperty("spring.datasource.username")));
+                pool.setPassword(environment.getProperty("soulconnect.datasource.replica-password",
+                    environment.getProperty("spring.datasource.password")));
+                pool.setDriverClassName(environment.getProperty("spring.datasource.driver-class-name"));
+                pool.setMaximumPoolSize(environment.getProperty("soulconnect.datasource.replica-pool-size", Integer.class,
+                    environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10)));
+                pool.setReadOnly(true);
+                // Sin conexion al arrancar: una replica caida no impide levantar el servicio
+                pool.setInitializationFailTimeout(-1);
+                pools.add(pool);
+                replicas.add(pool);
+            }
+
+            router = new ReplicaRoutingDataSource(primary, replicas, ReplicaRoutingDataSource.POSTGRES_LAG,
+                environment.getProperty("soulconnect.datasource.replica-max-lag", Duration.class, Duration.ofSeconds(5)),
+                environment.getProperty("soulconnect.datasource.replica-check-interval", Duration.class, Duration.ofSeconds(2)));
+            LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primary);
+            proxy.setReadOnlyDataSource(router);
+            return proxy;
+        }
+
+        @Override
+        public void destroy() {
+            pools.forEach(HikariDataSource::close);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.soulconnect.backend.config;
+
+// Marca del hilo actual: mientras este activa, las transacciones de solo lectura tambien van al primario
+public final class ReplicaRoutingContext {
+
+    private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = new ThreadLocal<>();
+
+    private ReplicaRoutingContext() {
+    }
+
+    public static boolean isPrimaryRequired() {
+        return Boolean.TRUE.equals(PRIMARY_REQUIRED.get());
+    }
+
+    public static void requirePrimary() {
+        PRIMARY_REQUIRED.set(Boolean.TRUE);
+    }
+
+    public static void clear() {
+        PRIMARY_REQUIRED.remove();
+    }
+}
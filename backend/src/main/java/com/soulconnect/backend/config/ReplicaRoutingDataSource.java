@@ -0,0 +1,131 @@
+package com.soulconnect.backend.config;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+// Origen de las conexiones de solo lectura: reparte entre las replicas en turno rotativo y salta las que van
+// retrasadas mas de maxLag o no responden; si ninguna sirve, o la peticion exige leer lo recien escrito,
+// entrega el primario. Se usa como readOnlyDataSource de un LazyConnectionDataSourceProxy
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    // Retraso de replicacion; 0 si esta al dia o si la base no es una replica de PostgreSQL
+    public static final LagProbe POSTGRES_LAG = connection -> {
+        if (!DatabaseDialect.isPostgres(connection)) {
+            return Duration.ZERO;
+        }
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("""
+                 SELECT CASE WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                             ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END""")) {
+            rs.next();
+            return Duration.ofMillis((long) (rs.getDouble(1) * 1000));
+        }
+    };
+
+    @FunctionalInterface
+    public interface LagProbe {
+        Duration lagOf(Connection connection) throws SQLException;
+    }
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final LagProbe lagProbe;
+    private final long maxLagNanos;
+    private final long checkIntervalNanos;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, LagProbe lagProbe,
+                                    Duration maxLag, Duration checkInterval) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.lagProbe = lagProbe;
+        this.maxLagNanos = maxLag.toNanos();
+        this.checkIntervalNanos = checkInterval.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!ReplicaRoutingContext.isPrimaryRequired()) {
+            int start = Math.floorMod(next.getAndIncrement(), Math.max(replicas.size(), 1));
+            for (int i = 0; i < replicas.size(); i++) {
+                Replica replica = replicas.get((start + i) % replicas.size());
+                if (!replica.usable()) {
+                    continue;
+                }
+                try {
+                    return replica.dataSource.getConnection();
+                } catch (SQLException e) {
+                    replica.markDown(e);
+                }
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        // Las replicas usan las credenciales de su pool: con credenciales explicitas se va al primario
+        return primary.getConnection(username, password);
+    }
+
+    // Cuantas replicas reciben lecturas en este momento (para metricas)
+    public int usableReplicas() {
+        return (int) replicas.stream().filter(Replica::usable).count();
+    }
+
+    private final class Replica {
+        private final DataSource dataSource;
+        private final AtomicLong nextCheck = new AtomicLong(System.nanoTime());
+        private volatile boolean healthy = true;
+
+        Replica(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        // El retraso se mide como mucho una vez por intervalo; el resto de hilos usa el ultimo resultado
+        boolean usable() {
+            long due = nextCheck.get();
+            long now = System.nanoTime();
+            if (now - due >= 0 && nextCheck.compareAndSet(due, now + checkIntervalNanos)) {
+                healthy = probe();
+            }
+            return healthy;
+        }
+
+        private boolean probe() {
+            try (Connection connection = dataSource.getConnection()) {
+                Duration lag = lagProbe.lagOf(connection);
+                boolean current = lag.toNanos() <= maxLagNanos;
+                if (!current && healthy) {
+                    log.warn("Replica retrasada {} ms; las lecturas van al primario", lag.toMillis());
+                }
+                return current;
+            } catch (SQLException e) {
+                if (healthy) {
+                    log.warn("Replica no disponible; las lecturas van al primario: {}", e.getMessage());
+                }
+                return false;
+            }
+        }
+
+        void markDown(SQLException e) {
+            if (healthy) {
+                log.warn("Replica no disponible; las lecturas van al primario: {}", e.getMessage());
+            }
+            healthy = false;
+            nextCheck.set(System.nanoTime() + checkIntervalNanos);
+        }
+    }
+}
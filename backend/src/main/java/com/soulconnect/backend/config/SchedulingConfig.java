@@ -0,0 +1,10 @@
+package com.soulconnect.backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Trabajos programados (reconstruccion de agregados); cada cron se puede apagar con "-"
+@Configuration(proxyBeanMethods = false)
+@EnableScheduling
+public class SchedulingConfig {
+}
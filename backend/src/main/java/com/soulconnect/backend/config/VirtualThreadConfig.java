@@ -0,0 +1,51 @@
+package com.soulconnect.backend.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+// Modo opcional con hilos virtuales (spring.threads.virtual.enabled=true): Tomcat y las tareas async
+// corren en hilos virtuales y la concurrencia contra la base queda acotada al tamano del pool
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean
+    static BeanPostProcessor dataSourceConcurrencyLimiter(Environment environment) {
+        int maxConcurrency = environment.getProperty("soulconnect.db.max-concurrency", Integer.class,
+            environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10));
+        Duration acquireTimeout = environment.getProperty("soulconnect.db.acquire-timeout", Duration.class,
+            Duration.ofSeconds(30));
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ConcurrencyLimitedDataSource)) {
+                    return new ConcurrencyLimitedDataSource(dataSource, maxConcurrency, acquireTimeout);
+                }
+                return bean;
+            }
+        };
+    }
+
+    // Permisos libres y peticiones en espera, junto a las metricas hikaricp.*
+    @Bean
+    MeterBinder dataSourceConcurrencyMetrics(ObjectProvider<DataSource> dataSources) {
+        return registry -> dataSources.orderedStream()
+            .filter(ConcurrencyLimitedDataSource.class::isInstance)
+            .map(ConcurrencyLimitedDataSource.class::cast)
+            .forEach(dataSource -> {
+                Gauge.builder("soulconnect.db.permits.available", dataSource, ConcurrencyLimitedDataSource::availablePermits)
+                    .register(registry);
+                Gauge.builder("soulconnect.db.permits.waiting", dataSource, ConcurrencyLimitedDataSource::queueLength)
+                    .register(registry);
+            });
+    }
+}
@@ -0,0 +1,25 @@
+package com.soulconnect.backend.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.JacksonCborHttpMessageConverter;
+import org.springframework.http.converter.smile.JacksonSmileHttpMessageConverter;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+// Formatos binarios opcionales: el cliente los pide con Accept (application/cbor o application/x-jackson-smile)
+// y sin ese encabezado se sigue respondiendo JSON. Mismo contrato que el JSON: los nulos solo se omiten donde el
+// DTO lo declara con @JsonInclude
+@Configuration(proxyBeanMethods = false)
+public class WireFormatConfig {
+
+    @Bean
+    public JacksonCborHttpMessageConverter cborHttpMessageConverter() {
+        return new JacksonCborHttpMessageConverter(CBORMapper.builder().build());
+    }
+
+    @Bean
+    public JacksonSmileHttpMessageConverter smileHttpMessageConverter() {
+        return new JacksonSmileHttpMessageConverter(SmileMapper.builder().build());
+    }
+}
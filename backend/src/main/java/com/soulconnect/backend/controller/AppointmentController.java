@@ -1,15 +1,31 @@
 package com.soulconnect.backend.controller;
 
 import com.soulconnect.backend.model.Appointment;
+import com.soulconnect.backend.model.AppointmentDailyCountId;
 import com.soulconnect.backend.model.AppointmentStatus;
+import com.soulconnect.backend.model.ChangeType;
 import com.soulconnect.backend.model.Patient;
+import com.soulconnect.backend.repository.AgendaFilter;
 import com.soulconnect.backend.repository.AppointmentRepository;
+import com.soulconnect.backend.repository.AppointmentView;
 import com.soulconnect.backend.repository.PatientRepository;
+import com.soulconnect.backend.service.AppointmentStatusService;
+import com.soulconnect.backend.service.ChangeFeedService;
+import com.soulconnect.backend.service.DashboardAggregateService;
+import com.soulconnect.backend.service.SlotAvailabilityService;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -27,24 +43,65 @@ import org.springframework.web.server.ResponseStatusException;
 @CrossOrigin(origins = "*")
 public class AppointmentController {
 
+    static final int MAX_AGENDA_SIZE = 500;
+    static final long MAX_AGENDA_DAYS = 92;
+    static final int MAX_BULK_SIZE = 500;
+
     private final AppointmentRepository appointmentRepository;
     private final PatientRepository patientRepository;
+    private final SlotAvailabilityService availabilityService;
+    private final DashboardAggregateService aggregateService;
+    private final ChangeFeedService changeFeed;
+    private final AppointmentStatusService statusService;
+    private final TransactionTemplate transactionTemplate;
 
-    public AppointmentController(AppointmentRepository appointmentRepository, PatientRepository patientRepository) {
+    public AppointmentController(AppointmentRepository appointmentRepository, PatientRepository patientRepository,
+                                 SlotAvailabilityService availabilityService, DashboardAggregateService aggregateService,
+                                 ChangeFeedService changeFeed, AppointmentStatusService statusService,
+                                 PlatformTransactionManager transactionManager) {
         this.appointmentRepository = appointmentRepository;
         this.patientRepository = patientRepository;
+        this.availabilityService = availabilityService;
+        this.aggregateService = aggregateService;
+        this.changeFeed = changeFeed;
+        this.statusService = statusService;
+        // La cita, sus contadores de tablero y su evento en el outbox se confirman juntos
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     @GetMapping
-    public List<Appointment> getAppointments(@RequestParam(required = false) UUID patientId) {
+    public List<AppointmentView> getAppointments(@RequestParam(required = false) UUID patientId) {
         if (patientId != null) {
-            return appointmentRepository.findByPatientId(patientId);
+            return appointmentRepository.findViewsByPatientId(patientId);
         }
-        return appointmentRepository.findAll();
+        return appointmentRepository.findAllViews();
+    }
+
+    // GET: Agenda filtrada por rango de fechas, especialidad, estado y paciente, ordenada por (date, time)
+    @GetMapping("/agenda")
+    public AgendaPage getAgenda(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                @RequestParam(required = false) String specialty,
+                                @RequestParam(required = false) AppointmentStatus status,
+                                @RequestParam(required = false) UUID patientId,
+                                @RequestParam(defaultValue = "0") int page,
+                                @RequestParam(defaultValue = "100") int size) {
+        if (to.isBefore(from) || ChronoUnit.DAYS.between(from, to) > MAX_AGENDA_DAYS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Rango de fechas invalido (maximo " + MAX_AGENDA_DAYS + " dias)");
+        }
+        if (page < 0 || size < 1 || size > MAX_AGENDA_SIZE || (long) page * size > Integer.MAX_VALUE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Paginacion invalida (size entre 1 y " + MAX_AGENDA_SIZE + ")");
+        }
+
+        // Una fila extra indica si hay pagina siguiente sin ejecutar COUNT
+        List<AppointmentView> rows = appointmentRepository.findAgenda(
+            new AgendaFilter(from, to, specialty, status, patientId), page * size, size + 1);
+        boolean hasMore = rows.size() > size;
+        return new AgendaPage(hasMore ? rows.subList(0, size) : rows, page, size, hasMore);
     }
 
     @PostMapping
-    public Appointment createAppointment(@RequestBody AppointmentRequest request) {
+    public AppointmentView createAppointment(@RequestBody AppointmentRequest request) {
         Patient patient = patientRepository.findById(request.getPatientId())
             .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Paciente no encontrado"));
 
@@ -55,13 +112,29 @@ public class AppointmentController {
         appointment.setStatus(request.getStatus() != null ? request.getStatus() : AppointmentStatus.PENDING);
         appointment.setPatient(patient);
 
-        return appointmentRepository.save(appointment);
+        // La vista se arma dentro de la transaccion: el paciente de la entidad guardada puede ser un proxy
+        AppointmentView saved = transactionTemplate.execute(status -> {
+            Appointment created = saveAppointment(appointment);
+            aggregateService.appointmentCreated(created);
+            changeFeed.recordAppointment(created, ChangeType.CREATED);
+            return AppointmentView.from(created);
+        });
+        occupy(saved);
+        return saved;
     }
 
     @PutMapping("/{id}")
-    public Appointment updateAppointment(@PathVariable UUID id, @RequestBody AppointmentRequest request) {
+    public AppointmentView updateAppointment(@PathVariable UUID id, @RequestBody AppointmentRequest request) {
         Appointment appointment = appointmentRepository.findById(id)
             .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Cita no encontrada"));
+        if (request.getVersion() != null && !request.getVersion().equals(appointment.getVersion())) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "La cita fue modificada por otro usuario");
+        }
+        String previousSpecialty = appointment.getSpecialty();
+        LocalDate previousDate = appointment.getDate();
+        LocalTime previousTime = appointment.getTime();
+        boolean previouslyActive = appointment.getStatus() != AppointmentStatus.CANCELLED;
+        AppointmentDailyCountId previousBucket = DashboardAggregateService.bucketOf(appointment);
 
         if (request.getPatientId() != null && !request.getPatientId().equals(appointment.getPatient().getId())) {
             Patient newPatient = patientRepository.findById(request.getPatientId())
@@ -82,12 +155,116 @@ public class AppointmentController {
             appointment.setStatus(request.getStatus());
         }
 
-        return appointmentRepository.save(appointment);
+        AppointmentView saved = transactionTemplate.execute(status -> {
+            Appointment updated = saveAppointment(appointment);
+            aggregateService.appointmentChanged(previousBucket, updated);
+            changeFeed.recordAppointment(updated, ChangeType.UPDATED);
+            return AppointmentView.from(updated);
+        });
+        if (previouslyActive) {
+            availabilityService.release(previousSpecialty, previousDate, previousTime);
+        }
+        occupy(saved);
+        return saved;
+    }
+
+    // POST: Cambio de estado masivo (cierre del dia); un solo UPDATE y un resultado por id
+    @PostMapping("/status")
+    public AppointmentStatusService.BulkResult changeStatus(@RequestBody StatusChangeRequest request) {
+        List<UUID> ids = request.getIds();
+        if (ids == null || ids.isEmpty() || ids.size() > MAX_BULK_SIZE || ids.stream().anyMatch(Objects::isNull)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Se requieren entre 1 y " + MAX_BULK_SIZE + " ids");
+        }
+        if (request.getStatus() == null || request.getStatus() == AppointmentStatus.PENDING) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Estado destino invalido (COMPLETED o CANCELLED)");
+        }
+        return statusService.transition(ids, request.getStatus());
     }
 
     @DeleteMapping("/{id}")
     public void deleteAppointment(@PathVariable UUID id) {
-        appointmentRepository.deleteById(id);
+        // Borrado logico con un UPDATE; la cita se lee en la misma transaccion y sirve para los rollups
+        // y para liberar el cupo en memoria despues del commit
+        Appointment deleted = transactionTemplate.execute(status -> appointmentRepository.findById(id)
+            .filter(appointment -> appointmentRepository.softDelete(List.of(id), Instant.now()) > 0)
+            .map(appointment -> {
+                aggregateService.appointmentDeleted(appointment);
+                changeFeed.recordAppointment(appointment, ChangeType.DELETED);
+                return appointment;
+            })
+            .orElse(null));
+        if (deleted != null && deleted.getStatus() != AppointmentStatus.CANCELLED) {
+            availabilityService.release(deleted.getSpecialty(), deleted.getDate(), deleted.getTime());
+        }
+    }
+
+    private void occupy(AppointmentView appointment) {
+        if (appointment.status() != AppointmentStatus.CANCELLED) {
+            availabilityService.occupy(appointment.specialty(), appointment.date(), appointment.time());
+        }
+    }
+
+    // Los UNIQUE de cupo y la columna version deciden en la base de datos quien gana; sin locks globales
+    private Appointment saveAppointment(Appointment appointment) {
+        try {
+            return appointmentRepository.saveAndFlush(appointment);
+        } catch (DataIntegrityViolationException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Horario no disponible para la especialidad o el paciente");
+        } catch (OptimisticLockingFailureException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "La cita fue modificada por otro usuario");
+        }
+    }
+
+    // Pagina de agenda: hasMore indica si existe la pagina page + 1
+    public static class AgendaPage {
+        private final List<AppointmentView> items;
+        private final int page;
+        private final int size;
+        private final boolean hasMore;
+
+        public AgendaPage(List<AppointmentView> items, int page, int size, boolean hasMore) {
+            this.items = items;
+            this.page = page;
+            this.size = size;
+            this.hasMore = hasMore;
+        }
+
+        public List<AppointmentView> getItems() {
+            return items;
+        }
+
+        public int getPage() {
+            return page;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public boolean isHasMore() {
+            return hasMore;
+        }
+    }
+
+    public static class StatusChangeRequest {
+        private List<UUID> ids;
+        private AppointmentStatus status;
+
+        public List<UUID> getIds() {
+            return ids;
+        }
+
+        public void setIds(List<UUID> ids) {
+            this.ids = ids;
+        }
+
+        public AppointmentStatus getStatus() {
+            return status;
+        }
+
+        public void setStatus(AppointmentStatus status) {
+            this.status = status;
+        }
     }
 
     // DTO interno para controlar el payload y evitar exponer Patient en el body
@@ -97,6 +274,7 @@ public class AppointmentController {
         private String specialty;
         private AppointmentStatus status;
         private UUID patientId;
+        private Long version;
 
         public LocalDate getDate() {
             return date;
@@ -137,5 +315,13 @@ public class AppointmentController {
         public void setPatientId(UUID patientId) {
             this.patientId = patientId;
         }
+
+        public Long getVersion() {
+            return version;
+        }
+
+        public void setVersion(Long version) {
+            this.version = version;
+        }
     }
 }
@@ -1,10 +1,15 @@
 package com.soulconnect.backend.controller;
 
 import com.soulconnect.backend.model.AppointmentType;
-import com.soulconnect.backend.repository.AppointmentTypeRepository;
+import com.soulconnect.backend.service.AppointmentTypeCatalog;
+import java.time.Duration;
 import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -13,14 +18,35 @@ import org.springframework.web.bind.annotation.RestController;
 @CrossOrigin(origins = "*")
 public class AppointmentTypeController {
 
-    private final AppointmentTypeRepository appointmentTypeRepository;
+    private final AppointmentTypeCatalog catalog;
+    private final Duration maxAge;
 
-    public AppointmentTypeController(AppointmentTypeRepository appointmentTypeRepository) {
-        this.appointmentTypeRepository = appointmentTypeRepository;
+    public AppointmentTypeController(AppointmentTypeCatalog catalog,
+                                     @Value("${soulconnect.appointment-types.max-age:PT5M}") Duration maxAge) {
+        this.catalog = catalog;
+        this.maxAge = maxAge;
     }
 
+    // ETag y Last-Modified permiten que Spring responda 304 a If-None-Match / If-Modified-Since
     @GetMapping
-    public List<AppointmentType> getAll() {
-        return appointmentTypeRepository.findAllByOrderByNameAsc();
+    public ResponseEntity<List<AppointmentType>> getAll() {
+        AppointmentTypeCatalog.Snapshot snapshot = catalog.get();
+        return ResponseEntity.ok()
+            .cacheControl(CacheControl.maxAge(maxAge).cachePublic())
+            .eTag(snapshot.etag())
+            .lastModified(snapshot.lastModified())
+            .body(snapshot.types());
+    }
+
+    // POST: Invalidar el cache tras modificar el catalogo directamente en base de datos
+    @PostMapping("/cache/invalidate")
+    public ResponseEntity<Void> invalidateCache() {
+        catalog.invalidate();
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/cache/stats")
+    public AppointmentTypeCatalog.Stats cacheStats() {
+        return catalog.stats();
     }
 }
@@ -0,0 +1,43 @@
+package com.soulconnect.backend.controller;
+
+import com.soulconnect.backend.service.SlotAvailabilityService;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+@RestController
+@RequestMapping("/api/availability")
+@CrossOrigin(origins = "*")
+public class AvailabilityController {
+
+    static final long MAX_RANGE_DAYS = 62;
+
+    private final SlotAvailabilityService availabilityService;
+
+    public AvailabilityController(SlotAvailabilityService availabilityService) {
+        this.availabilityService = availabilityService;
+    }
+
+    // GET: Cupos libres de una especialidad entre dos fechas (inclusive)
+    @GetMapping
+    public List<SlotAvailabilityService.DayAvailability> getAvailability(
+            @RequestParam String specialty,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        if (to.isBefore(from) || ChronoUnit.DAYS.between(from, to) > MAX_RANGE_DAYS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Rango de fechas invalido (maximo " + MAX_RANGE_DAYS + " dias)");
+        }
+        if (!availabilityService.isKnownSpecialty(specialty)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Especialidad no encontrada");
+        }
+        return availabilityService.findAvailability(specialty, from, to);
+    }
+}
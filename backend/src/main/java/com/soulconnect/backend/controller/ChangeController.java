@@ -0,0 +1,68 @@
+package com.soulconnect.backend.controller;
+
+import com.soulconnect.backend.model.ChangeEvent;
+import com.soulconnect.backend.service.ChangeFeedService;
+import java.util.Set;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/changes")
+@CrossOrigin(origins = "*")
+public class ChangeController {
+
+    static final int MAX_LIMIT = 1000;
+    private static final Set<String> TYPES = Set.of(ChangeEvent.PATIENT, ChangeEvent.APPOINTMENT);
+
+    private final ChangeFeedService changeFeed;
+
+    public ChangeController(ChangeFeedService changeFeed) {
+        this.changeFeed = changeFeed;
+    }
+
+    // GET: Cambios posteriores a la posicion since; el consumidor guarda next y lo envia en la siguiente llamada
+    @GetMapping
+    public ChangeFeedService.ChangePage getChanges(@RequestParam(defaultValue = "0") long since,
+                                                   @RequestParam(required = false) String type,
+                                                   @RequestParam(defaultValue = "500") int limit) {
+        if (since < 0 || limit < 1 || limit > MAX_LIMIT) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "since debe ser >= 0 y limit entre 1 y " + MAX_LIMIT);
+        }
+        try {
+            return changeFeed.changesSince(since, validType(type), limit);
+        } catch (ChangeFeedService.CursorExpiredException e) {
+            throw new ResponseStatusException(HttpStatus.GONE, e.getMessage());
+        }
+    }
+
+    // GET: Stream SSE; al reconectar el navegador envia Last-Event-ID y se reanuda desde ahi
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestParam(required = false) Long since,
+                             @RequestParam(required = false) String type,
+                             @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        long from = lastEventId != null ? lastEventId : since != null ? since : 0;
+        if (from < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "since debe ser >= 0");
+        }
+        try {
+            return changeFeed.subscribe(from, validType(type));
+        } catch (ChangeFeedService.CursorExpiredException e) {
+            throw new ResponseStatusException(HttpStatus.GONE, e.getMessage());
+        }
+    }
+
+    private static String validType(String type) {
+        if (type != null && !TYPES.contains(type)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Tipo desconocido: " + type);
+        }
+        return type;
+    }
+}
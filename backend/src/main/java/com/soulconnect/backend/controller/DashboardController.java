@@ -0,0 +1,61 @@
+package com.soulconnect.backend.controller;
+
+import com.soulconnect.backend.model.AppointmentDailyCount;
+import com.soulconnect.backend.model.PatientSegmentCount;
+import com.soulconnect.backend.service.DashboardAggregateService;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+@RestController
+@RequestMapping("/api/dashboard")
+@CrossOrigin(origins = "*")
+public class DashboardController {
+
+    static final long MAX_RANGE_DAYS = 366;
+
+    private final DashboardAggregateService aggregateService;
+
+    public DashboardController(DashboardAggregateService aggregateService) {
+        this.aggregateService = aggregateService;
+    }
+
+    // GET: Citas por dia, especialidad y estado (desde el rollup, no desde appointments)
+    @GetMapping("/appointments")
+    public List<AppointmentDailyCount> getAppointmentCounts(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String specialty) {
+        if (to.isBefore(from) || ChronoUnit.DAYS.between(from, to) > MAX_RANGE_DAYS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Rango de fechas invalido (maximo " + MAX_RANGE_DAYS + " dias)");
+        }
+        return aggregateService.appointmentCounts(from, to, specialty);
+    }
+
+    // GET: Pacientes por ciudad, EPS o estrato (dimension=city|eps|stratum)
+    @GetMapping("/patients")
+    public List<PatientSegmentCount> getPatientCounts(@RequestParam String dimension) {
+        try {
+            return aggregateService.patientCounts(dimension);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    // POST: Reconstruccion inmediata (ademas de la programada)
+    @PostMapping("/rebuild")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void rebuild() {
+        aggregateService.rebuild();
+    }
+}
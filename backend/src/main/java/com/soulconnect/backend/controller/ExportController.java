@@ -0,0 +1,90 @@
+package com.soulconnect.backend.controller;
+
+import com.soulconnect.backend.service.ExportService;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Supplier;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/api")
+@CrossOrigin(origins = "*")
+public class ExportController {
+
+    private final ExportService exportService;
+
+    public ExportController(ExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    // GET: Exportar pacientes en NDJSON o CSV. columns=firstName,lastName,... (por defecto todas)
+    @GetMapping("/patients/export")
+    public ResponseEntity<StreamingResponseBody> exportPatients(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) List<String> columns,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate createdTo,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate updatedFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate updatedTo) {
+        ExportService.Format outputFormat = parseFormat(format);
+        List<String> properties = resolve(() -> exportService.resolvePatientColumns(columns));
+        ExportService.DateRange created = new ExportService.DateRange(createdFrom, createdTo);
+        ExportService.DateRange updated = new ExportService.DateRange(updatedFrom, updatedTo);
+
+        return streaming("patients", outputFormat,
+            out -> exportService.exportPatients(properties, created, updated, outputFormat, out));
+    }
+
+    // GET: Exportar citas en NDJSON o CSV, filtrando por fecha de creacion
+    @GetMapping("/appointments/export")
+    public ResponseEntity<StreamingResponseBody> exportAppointments(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) List<String> columns,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate createdTo) {
+        ExportService.Format outputFormat = parseFormat(format);
+        List<String> properties = resolve(() -> exportService.resolveAppointmentColumns(columns));
+        ExportService.DateRange created = new ExportService.DateRange(createdFrom, createdTo);
+
+        return streaming("appointments", outputFormat,
+            out -> exportService.exportAppointments(properties, created, outputFormat, out));
+    }
+
+    private static ResponseEntity<StreamingResponseBody> streaming(String name, ExportService.Format format, StreamingResponseBody body) {
+        boolean csv = format == ExportService.Format.CSV;
+        return ResponseEntity.ok()
+            .contentType(csv ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                : MediaType.parseMediaType("application/x-ndjson"))
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + name + (csv ? ".csv" : ".ndjson") + "\"")
+            .body(body);
+    }
+
+    private static ExportService.Format parseFormat(String format) {
+        try {
+            return ExportService.Format.valueOf(format.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Formato no soportado: " + format);
+        }
+    }
+
+    private static List<String> resolve(Supplier<List<String>> resolver) {
+        try {
+            return resolver.get();
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+}
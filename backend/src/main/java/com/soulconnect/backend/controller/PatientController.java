@@ -1,12 +1,37 @@
 package com.soulconnect.backend.controller;
 
+import com.soulconnect.backend.model.AppointmentStatus;
+import com.soulconnect.backend.model.ChangeType;
 import com.soulconnect.backend.model.Patient;
+import com.soulconnect.backend.model.VitalMeasurement;
+import com.soulconnect.backend.repository.AppointmentHistoryItem;
+import com.soulconnect.backend.repository.AppointmentRepository;
+import com.soulconnect.backend.repository.AppointmentStatusCount;
+import com.soulconnect.backend.repository.PatientCursor;
+import com.soulconnect.backend.repository.PatientFilter;
 import com.soulconnect.backend.repository.PatientRepository;
+import com.soulconnect.backend.repository.PatientSummary;
+import com.soulconnect.backend.service.ChangeFeedService;
+import com.soulconnect.backend.service.SoftDeleteService;
+import com.soulconnect.backend.service.VitalsService;
+import org.hibernate.Hibernate;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.DeserializationFeature;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.node.ObjectNode;
 
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 
 @RestController
@@ -14,48 +39,155 @@ import java.util.UUID;
 @CrossOrigin(origins = "*") // Permitimos llamadas desde el frontend en Render
 public class PatientController {
 
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 200;
+    static final int MAX_LOOKUP_LIMIT = 25;
+    static final int MAX_HISTORY_SIZE = 100;
+    static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+
+    // Campos que administra el servidor; un merge patch no puede tocarlos
+    private static final Set<String> READ_ONLY_FIELDS = Set.of("id", "createdAt", "updatedAt");
+
     private final PatientRepository repository;
+    private final AppointmentRepository appointmentRepository;
+    private final ObjectMapper objectMapper;
+    private final VitalsService vitalsService;
+    private final ChangeFeedService changeFeed;
+    private final SoftDeleteService softDeleteService;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransaction;
 
-    public PatientController(PatientRepository repository) {
+    public PatientController(PatientRepository repository, AppointmentRepository appointmentRepository,
+                             ObjectMapper objectMapper, VitalsService vitalsService, ChangeFeedService changeFeed,
+                             SoftDeleteService softDeleteService, PlatformTransactionManager transactionManager) {
         this.repository = repository;
+        this.appointmentRepository = appointmentRepository;
+        this.objectMapper = objectMapper;
+        this.vitalsService = vitalsService;
+        this.changeFeed = changeFeed;
+        this.softDeleteService = softDeleteService;
+        // El paciente y su evento en el outbox se confirman juntos
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // El resumen se lee en una sola transaccion de lectura (replica si hay)
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
     }
 
-    // GET: Traer todos los pacientes
+    // GET: Listado paginado por cursor (keyset sobre created_at, id) con filtros opcionales
     @GetMapping
-    public List<Patient> getAllPatients() {
-        return repository.findAll();
+    public PatientPage getAllPatients(@RequestParam(required = false) String cursor,
+                                      @RequestParam(required = false) Integer limit,
+                                      @RequestParam(required = false) String city,
+                                      @RequestParam(required = false) String eps,
+                                      @RequestParam(required = false) Integer minAge,
+                                      @RequestParam(required = false) Integer maxAge,
+                                      @RequestParam(required = false) String namePrefix) {
+        int pageSize = resolvePageSize(limit);
+        PatientCursor after = decodeCursor(cursor);
+        if ((minAge != null && minAge < 0) || (maxAge != null && maxAge < 0)
+                || (minAge != null && maxAge != null && minAge > maxAge)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Rango de edad invalido");
+        }
+
+        // Pedimos una fila extra para saber si existe una pagina siguiente sin hacer COUNT
+        List<PatientSummary> rows = repository.findPage(new PatientFilter(city, eps, minAge, maxAge, namePrefix), after, pageSize + 1);
+        boolean hasMore = rows.size() > pageSize;
+        List<PatientSummary> items = hasMore ? rows.subList(0, pageSize) : rows;
+
+        String next = null;
+        if (hasMore) {
+            PatientSummary last = items.get(items.size() - 1);
+            next = new PatientCursor(last.createdAt(), last.id()).encode();
+        }
+        return new PatientPage(items, next);
     }
 
-    // GET: Traer un paciente por ID
+    // GET: Traer un paciente por ID (unica lectura que devuelve la historia clinica completa)
     @GetMapping("/{id}")
     public Patient getPatient(@PathVariable UUID id) {
-        return repository.findById(id)
+        return findComplete(id);
+    }
+
+    // GET: Ficha del paciente con su historial de citas (mas recientes primero) y el conteo por estado.
+    // Dos consultas sobre idx_appointments_patient sin importar cuantas citas tenga; el paciente y sus partes
+    // salen del cache de segundo nivel
+    @GetMapping("/{id}/overview")
+    public PatientOverview getOverview(@PathVariable UUID id,
+                                       @RequestParam(defaultValue = "0") int page,
+                                       @RequestParam(defaultValue = "20") int size) {
+        if (page < 0 || size < 1 || size > MAX_HISTORY_SIZE || (long) page * size > Integer.MAX_VALUE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Paginacion invalida (size entre 1 y " + MAX_HISTORY_SIZE + ")");
+        }
+        return readOnlyTransaction.execute(status -> {
+            Patient patient = repository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Paciente no encontrado"));
+            initializeParts(patient);
+
+            // Todos los estados aparecen, aunque sea en cero
+            Map<AppointmentStatus, Long> counts = new EnumMap<>(AppointmentStatus.class);
+            for (AppointmentStatus s : AppointmentStatus.values()) {
+                counts.put(s, 0L);
+            }
+            long total = 0;
+            for (AppointmentStatusCount count : appointmentRepository.countByStatusForPatient(id)) {
+                counts.put(count.status(), count.total());
+                total += count.total();
+            }
+
+            // Con el total ya contado no hace falta pedir una fila extra para saber si hay otra pagina
+            int offset = page * size;
+            List<AppointmentHistoryItem> items = offset < total
+                ? appointmentRepository.findHistory(id, offset, size)
+                : List.of();
+            boolean hasMore = offset + items.size() < total;
+            return new PatientOverview(patient, items, counts, total, page, size, hasMore);
+        });
     }
 
-    // GET: Buscar un paciente por documento
+    // GET: Buscar un paciente por documento (resumen); las busquedas repetidas salen del cache de natural id
     @GetMapping("/search")
-    public Patient getByIdentificationNumber(@RequestParam String identificationNumber) {
+    public PatientSummary getByIdentificationNumber(@RequestParam String identificationNumber) {
         return repository.findByIdentificationNumber(identificationNumber)
+                .map(PatientSummary::from)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Paciente no encontrado"));
     }
 
+    // GET: Busqueda de recepcion por nombre parcial, apellido sin tildes, telefono, correo o documento
+    @GetMapping("/lookup")
+    public List<PatientSummary> lookup(@RequestParam String q,
+                                       @RequestParam(defaultValue = "10") int limit) {
+        String query = q.trim();
+        if (query.length() < 2) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "La busqueda requiere al menos 2 caracteres");
+        }
+        if (limit < 1 || limit > MAX_LOOKUP_LIMIT) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit debe estar entre 1 y " + MAX_LOOKUP_LIMIT);
+        }
+        return repository.searchSummaries(query, limit);
+    }
+
     // POST: Guardar un nuevo paciente
     @PostMapping
     public Patient createPatient(@RequestBody Patient patient) {
         repository.findByIdentificationNumber(patient.getIdentificationNumber())
                 .ifPresent(p -> { throw new ResponseStatusException(HttpStatus.CONFLICT, "Identificacion ya registrada"); });
-        return repository.save(patient);
+        return transactionTemplate.execute(status -> {
+            Patient saved = repository.save(patient);
+            vitalsService.recordProfileChange(null, saved);
+            changeFeed.recordPatient(saved, ChangeType.CREATED);
+            return saved;
+        });
     }
 
     @PutMapping("/{id}")
     public Patient updatePatient(@PathVariable UUID id, @RequestBody Patient payload) {
-        Patient existing = repository.findById(id)
-            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Paciente no encontrado"));
+        Patient existing = findComplete(id);
+        if (payload.getVersion() != null && !payload.getVersion().equals(existing.getVersion())) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "El paciente fue modificado por otro usuario");
+        }
 
-        repository.findByIdentificationNumber(payload.getIdentificationNumber())
-            .filter(p -> !p.getId().equals(id))
-            .ifPresent(p -> { throw new ResponseStatusException(HttpStatus.CONFLICT, "Identificacion ya registrada"); });
+        ensureIdentificationAvailable(existing, payload.getIdentificationNumber());
+        VitalMeasurement vitalsBefore = VitalsService.snapshotOf(existing);
 
         existing.setFirstName(payload.getFirstName());
         existing.setLastName(payload.getLastName());
@@ -98,12 +230,183 @@ public class PatientController {
         existing.setVaccines(payload.getVaccines());
         existing.setChronicConditions(payload.getChronicConditions());
 
-        return repository.save(existing);
+        return saveChanges(existing, vitalsBefore);
+    }
+
+    // PATCH (JSON Merge Patch, RFC 7396): solo viajan los campos cambiados; null borra el valor.
+    // Con @DynamicUpdate el UPDATE incluye unicamente las columnas modificadas
+    @PatchMapping(value = "/{id}", consumes = MERGE_PATCH_JSON)
+    public Patient patchPatient(@PathVariable UUID id, @RequestBody JsonNode patch) {
+        if (!(patch instanceof ObjectNode changes)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "El merge patch debe ser un objeto JSON");
         }
+        READ_ONLY_FIELDS.stream()
+            .filter(changes::has)
+            .findFirst()
+            .ifPresent(field -> { throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Campo de solo lectura: " + field); });
 
-    // DELETE: Eliminar un paciente por ID
+        Patient existing = findComplete(id);
+        JsonNode version = changes.remove("version");
+        if (version != null && !version.isNull() && version.asLong() != existing.getVersion()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "El paciente fue modificado por otro usuario");
+        }
+
+        String previousIdentification = existing.getIdentificationNumber();
+        VitalMeasurement vitalsBefore = VitalsService.snapshotOf(existing);
+        try {
+            objectMapper.readerForUpdating(existing)
+                .with(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .readValue(changes);
+        } catch (JacksonException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Merge patch invalido: " + e.getOriginalMessage());
+        }
+        if (existing.getFirstName() == null || existing.getLastName() == null || existing.getIdentificationNumber() == null
+                || existing.getIdentificationType() == null || existing.getDateOfBirth() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "No se pueden borrar campos obligatorios");
+        }
+
+        // El natural id mutable se resuelve tambien contra la sesion: el propio paciente ya tiene el documento nuevo
+        if (!existing.getIdentificationNumber().equals(previousIdentification)) {
+            repository.findByIdentificationNumber(existing.getIdentificationNumber())
+                .filter(p -> !p.getId().equals(existing.getId()))
+                .ifPresent(p -> { throw new ResponseStatusException(HttpStatus.CONFLICT, "Identificacion ya registrada"); });
+        }
+        return saveChanges(existing, vitalsBefore);
+    }
+
+    // DELETE: Borrado logico del paciente y sus citas; la depuracion lo elimina al vencer la retencion
     @DeleteMapping("/{id}")
     public void deletePatient(@PathVariable UUID id) {
-        repository.deleteById(id);
+        softDeleteService.deletePatient(id);
+    }
+
+    // Paciente con vitales e historia clinica ya cargados: se serializa o se edita fuera de la transaccion
+    private Patient findComplete(UUID id) {
+        return readOnlyTransaction.execute(status -> {
+            Patient patient = repository.findById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Paciente no encontrado"));
+            initializeParts(patient);
+            return patient;
+        });
+    }
+
+    // Las partes LAZY se cargan dentro de la transaccion (tambien desde el cache), no al serializar la respuesta
+    private static void initializeParts(Patient patient) {
+        Hibernate.initialize(patient.getVitals());
+        Hibernate.initialize(patient.getClinicalHistory());
+    }
+
+    // Solo consultamos la unicidad del documento cuando realmente cambia
+    private void ensureIdentificationAvailable(Patient existing, String identificationNumber) {
+        if (Objects.equals(existing.getIdentificationNumber(), identificationNumber)) {
+            return;
+        }
+        repository.findByIdentificationNumber(identificationNumber)
+            .filter(p -> !p.getId().equals(existing.getId()))
+            .ifPresent(p -> { throw new ResponseStatusException(HttpStatus.CONFLICT, "Identificacion ya registrada"); });
+    }
+
+    // Los signos vitales del perfil se sobrescriben; el cambio queda ademas en la serie temporal
+    private Patient saveChanges(Patient patient, VitalMeasurement vitalsBefore) {
+        try {
+            return transactionTemplate.execute(status -> {
+                Patient saved = repository.saveAndFlush(patient);
+                initializeParts(saved);
+                vitalsService.recordProfileChange(vitalsBefore, saved);
+                changeFeed.recordPatient(saved, ChangeType.UPDATED);
+                return saved;
+            });
+        } catch (OptimisticLockingFailureException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "El paciente fue modificado por otro usuario");
+        }
+    }
+
+    static int resolvePageSize(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit debe estar entre 1 y " + MAX_PAGE_SIZE);
+        }
+        return limit;
+    }
+
+    private static PatientCursor decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            return PatientCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor invalido");
+        }
+    }
+
+    // Respuesta paginada: next es null cuando no hay mas resultados
+    public static class PatientPage {
+        private final List<PatientSummary> items;
+        private final String next;
+
+        public PatientPage(List<PatientSummary> items, String next) {
+            this.items = items;
+            this.next = next;
+        }
+
+        public List<PatientSummary> getItems() {
+            return items;
+        }
+
+        public String getNext() {
+            return next;
+        }
+    }
+
+    public static class PatientOverview {
+        private final Patient patient;
+        private final List<AppointmentHistoryItem> appointments;
+        private final Map<AppointmentStatus, Long> counts;
+        private final long total;
+        private final int page;
+        private final int size;
+        private final boolean hasMore;
+
+        public PatientOverview(Patient patient, List<AppointmentHistoryItem> appointments,
+                               Map<AppointmentStatus, Long> counts, long total, int page, int size, boolean hasMore) {
+            this.patient = patient;
+            this.appointments = appointments;
+            this.counts = counts;
+            this.total = total;
+            this.page = page;
+            this.size = size;
+            this.hasMore = hasMore;
+        }
+
+        public Patient getPatient() {
+            return patient;
+        }
+
+        public List<AppointmentHistoryItem> getAppointments() {
+            return appointments;
+        }
+
+        public Map<AppointmentStatus, Long> getCounts() {
+            return counts;
+        }
+
+        public long getTotal() {
+            return total;
+        }
+
+        public int getPage() {
+            return page;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public boolean isHasMore() {
+            return hasMore;
+        }
     }
-}
\ No newline at end of file
+}
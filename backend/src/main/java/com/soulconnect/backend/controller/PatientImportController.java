@@ -0,0 +1,48 @@
+package com.soulconnect.backend.controller;
+
+import com.soulconnect.backend.service.PatientImportService;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+@RestController
+@RequestMapping("/api/patients/import")
+@CrossOrigin(origins = "*")
+public class PatientImportController {
+
+    static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+    static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final PatientImportService importService;
+
+    public PatientImportController(PatientImportService importService) {
+        this.importService = importService;
+    }
+
+    // POST: Importacion masiva. CSV con encabezado (nombres de campo de Patient) o NDJSON (un paciente por linea).
+    // El cuerpo se lee en streaming; nunca se carga el archivo completo en memoria.
+    @PostMapping(consumes = {"text/csv", "application/x-ndjson"})
+    public PatientImportService.ImportReport importPatients(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                            InputStream body) throws IOException {
+        MediaType mediaType = MediaType.parseMediaType(contentType);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        if (TEXT_CSV.includes(mediaType)) {
+            return importService.importCsv(reader);
+        }
+        if (APPLICATION_NDJSON.includes(mediaType)) {
+            return importService.importNdjson(reader);
+        }
+        throw new ResponseStatusException(HttpStatus.UNSUPPORTED_MEDIA_TYPE, "Formato no soportado");
+    }
+}
@@ -0,0 +1,48 @@
+package com.soulconnect.backend.controller;
+
+import com.soulconnect.backend.service.ReminderService;
+import java.time.LocalDate;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+@RestController
+@RequestMapping("/api/reminders")
+@CrossOrigin(origins = "*")
+public class ReminderController {
+
+    private final ReminderService reminderService;
+
+    public ReminderController(ReminderService reminderService) {
+        this.reminderService = reminderService;
+    }
+
+    // POST: Lanza la corrida de una fecha (por defecto, manana) y responde sin esperar el envio
+    @PostMapping("/run")
+    public ResponseEntity<Void> run(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        try {
+            reminderService.submit(date != null ? date : LocalDate.now().plusDays(1));
+        } catch (ReminderService.AlreadyRunningException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage());
+        }
+        return ResponseEntity.accepted().build();
+    }
+
+    // GET: Resultado de la ultima corrida terminada
+    @GetMapping("/last")
+    public ReminderService.RunReport getLastReport() {
+        ReminderService.RunReport report = reminderService.getLastReport();
+        if (report == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Aun no hay corridas de recordatorios");
+        }
+        return report;
+    }
+}
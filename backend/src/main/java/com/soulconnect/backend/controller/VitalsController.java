@@ -0,0 +1,86 @@
+package com.soulconnect.backend.controller;
+
+import com.soulconnect.backend.model.VitalMeasurement;
+import com.soulconnect.backend.repository.VitalBucket;
+import com.soulconnect.backend.repository.VitalMetric;
+import com.soulconnect.backend.service.VitalsService;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+@RestController
+@RequestMapping("/api")
+@CrossOrigin(origins = "*")
+public class VitalsController {
+
+    static final Duration DEFAULT_RANGE = Duration.ofDays(7);
+    static final int DEFAULT_TIMELINE_LIMIT = 1000;
+    static final int MAX_TIMELINE_LIMIT = 5000;
+
+    private final VitalsService vitalsService;
+
+    public VitalsController(VitalsService vitalsService) {
+        this.vitalsService = vitalsService;
+    }
+
+    // POST: Ingesta por lotes de dispositivos (uno o varios pacientes por lote)
+    @PostMapping("/vitals")
+    public VitalsService.IngestResult ingest(@RequestBody List<VitalMeasurement> measurements) {
+        try {
+            return vitalsService.ingest(measurements);
+        } catch (VitalsService.UnknownPatientException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    // GET: Mediciones crudas de un paciente en [from, to), en orden cronologico
+    @GetMapping("/patients/{id}/vitals")
+    public List<VitalMeasurement> timeline(@PathVariable UUID id,
+                                           @RequestParam(required = false) Instant from,
+                                           @RequestParam(required = false) Instant to,
+                                           @RequestParam(defaultValue = "" + DEFAULT_TIMELINE_LIMIT) int limit) {
+        if (limit < 1 || limit > MAX_TIMELINE_LIMIT) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit debe estar entre 1 y " + MAX_TIMELINE_LIMIT);
+        }
+        Instant end = to != null ? to : Instant.now();
+        Instant start = resolveStart(from, end);
+        return vitalsService.timeline(id, start, end, limit);
+    }
+
+    // GET: Serie reducida (min/max/promedio por intervalo) de una metrica, p. ej. bucket=PT1H
+    @GetMapping("/patients/{id}/vitals/buckets")
+    public List<VitalBucket> buckets(@PathVariable UUID id,
+                                     @RequestParam String metric,
+                                     @RequestParam(required = false) Instant from,
+                                     @RequestParam(required = false) Instant to,
+                                     @RequestParam(defaultValue = "PT1H") Duration bucket) {
+        Instant end = to != null ? to : Instant.now();
+        Instant start = resolveStart(from, end);
+        try {
+            return vitalsService.buckets(id, VitalMetric.fromProperty(metric), start, end, bucket);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    private static Instant resolveStart(Instant from, Instant end) {
+        Instant start = from != null ? from : end.minus(DEFAULT_RANGE);
+        if (!start.isBefore(end)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Rango de fechas invalido");
+        }
+        return start;
+    }
+}
@@ -0,0 +1,32 @@
+package com.soulconnect.backend.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+@Configuration(proxyBeanMethods = false)
+public class MetricsConfig {
+
+    // static: los BeanPostProcessor se crean antes que el resto de beans; el registro se resuelve en diferido
+    @Bean
+    static BeanPostProcessor repositoryTimingPostProcessor(ObjectProvider<MeterRegistry> registry, Environment environment) {
+        Duration threshold = environment.getProperty("soulconnect.metrics.slow-repository-threshold", Duration.class,
+            Duration.ofMillis(200));
+        RepositoryTimingListener listener = new RepositoryTimingListener(registry, threshold);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addInvocationListener(listener));
+                }
+                return bean;
+            }
+        };
+    }
+}
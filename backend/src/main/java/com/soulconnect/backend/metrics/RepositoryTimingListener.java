@@ -0,0 +1,50 @@
+package com.soulconnect.backend.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener;
+
+// Tiempo y conteo por metodo de repositorio (soulconnect.repository.invocations) y log de invocaciones lentas
+public class RepositoryTimingListener implements RepositoryMethodInvocationListener {
+
+    static final String METRIC_NAME = "soulconnect.repository.invocations";
+
+    private static final Logger log = LoggerFactory.getLogger(RepositoryTimingListener.class);
+
+    private final ObjectProvider<MeterRegistry> registry;
+    private final Duration slowThreshold;
+
+    public RepositoryTimingListener(ObjectProvider<MeterRegistry> registry, Duration slowThreshold) {
+        this.registry = registry;
+        this.slowThreshold = slowThreshold;
+    }
+
+    @Override
+    public void afterInvocation(RepositoryMethodInvocation invocation) {
+        long nanos = invocation.getDuration(TimeUnit.NANOSECONDS);
+        String repository = invocation.getRepositoryInterface().getSimpleName();
+        String method = invocation.getMethod().getName();
+        String state = invocation.getResult() != null ? invocation.getResult().getState().name() : "UNKNOWN";
+
+        MeterRegistry meterRegistry = registry.getIfAvailable();
+        if (meterRegistry != null) {
+            Timer.builder(METRIC_NAME)
+                .description("Duracion de las invocaciones a repositorios")
+                .tag("repository", repository)
+                .tag("method", method)
+                .tag("state", state)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+        }
+
+        if (nanos >= slowThreshold.toNanos()) {
+            log.warn("Consulta lenta: {}.{} tomo {} ms ({})", repository, method, TimeUnit.NANOSECONDS.toMillis(nanos), state);
+        }
+    }
+}
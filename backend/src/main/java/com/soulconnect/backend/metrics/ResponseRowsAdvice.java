@@ -0,0 +1,66 @@
+package com.soulconnect.backend.metrics;
+
+import com.soulconnect.backend.controller.AppointmentController;
+import com.soulconnect.backend.controller.PatientController;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Collection;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+// Filas devueltas por peticion (soulconnect.http.response.rows), etiquetadas con el patron de la URI
+@ControllerAdvice
+public class ResponseRowsAdvice implements ResponseBodyAdvice<Object> {
+
+    static final String METRIC_NAME = "soulconnect.http.response.rows";
+
+    private final MeterRegistry registry;
+
+    public ResponseRowsAdvice(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        int rows = countRows(body);
+        if (rows >= 0 && request instanceof ServletServerHttpRequest servletRequest) {
+            Object pattern = servletRequest.getServletRequest().getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            DistributionSummary.builder(METRIC_NAME)
+                .description("Filas serializadas por respuesta")
+                .baseUnit("rows")
+                .tag("uri", pattern != null ? pattern.toString() : "UNKNOWN")
+                .tag("method", request.getMethod().name())
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(rows);
+        }
+        return body;
+    }
+
+    static int countRows(Object body) {
+        if (body instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (body instanceof PatientController.PatientPage page) {
+            return page.getItems().size();
+        }
+        if (body instanceof AppointmentController.AgendaPage page) {
+            return page.getItems().size();
+        }
+        return -1;
+    }
+}
@@ -1,24 +1,36 @@
 package com.soulconnect.backend.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.UUID;
 import lombok.Data;
+import org.hibernate.annotations.SQLRestriction;
 
 @Entity
-@Table(name = "appointments")
+@Table(name = "appointments", uniqueConstraints = {
+    @UniqueConstraint(name = "uq_appointments_specialty_slot", columnNames = {"specialty", "date", "time", "slot_active"}),
+    @UniqueConstraint(name = "uq_appointments_patient_slot", columnNames = {"patient_id", "date", "time", "slot_active"})
+})
+// Borrado logico: las citas con deleted_at quedan fuera de toda consulta y carga de Hibernate
+@SQLRestriction("deleted_at is null")
 @Data
 public class Appointment {
 
@@ -39,18 +51,43 @@ public class Appointment {
     @Column(name = "status", nullable = false, length = 20)
     private AppointmentStatus status = AppointmentStatus.PENDING;
 
-    @ManyToOne(optional = false)
+    // LAZY: las lecturas usan AppointmentView y no necesitan el paciente completo
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "patient_id", nullable = false)
     private Patient patient;
 
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
 
+    // Bloqueo optimista: dos ediciones concurrentes no se pisan en silencio
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    // TRUE mientras la cita ocupa su horario, NULL si esta cancelada (los UNIQUE ignoran NULL y liberan el cupo)
+    @Column(name = "slot_active")
+    private Boolean slotActive;
+
+    // Lo escribe solo el borrado logico, que ademas libera el cupo (slot_active NULL)
+    @JsonIgnore
+    @Column(name = "deleted_at", insertable = false, updatable = false)
+    private Instant deletedAt;
+
     @PrePersist
     protected void onCreate() {
         this.createdAt = LocalDateTime.now();
         if (this.status == null) {
             this.status = AppointmentStatus.PENDING;
         }
+        syncSlot();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        syncSlot();
+    }
+
+    private void syncSlot() {
+        this.slotActive = this.status == AppointmentStatus.CANCELLED ? null : Boolean.TRUE;
     }
 }
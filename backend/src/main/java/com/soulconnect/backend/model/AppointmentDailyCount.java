@@ -0,0 +1,30 @@
+package com.soulconnect.backend.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.LocalDate;
+
+// Rollup para tableros: citas por (dia, especialidad, estado). Se mantiene en la misma transaccion que
+// cada alta, cambio o baja de cita y se reconstruye periodicamente desde appointments
+@Entity
+@Table(name = "appointment_daily_counts")
+@IdClass(AppointmentDailyCountId.class)
+@Data
+public class AppointmentDailyCount {
+
+    @Id
+    @Column(name = "date", nullable = false)
+    private LocalDate date;
+
+    @Id
+    @Column(name = "specialty", nullable = false, length = 80)
+    private String specialty;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private AppointmentStatus status;
+
+    @Column(name = "total", nullable = false)
+    private long total;
+}
@@ -0,0 +1,16 @@
+package com.soulconnect.backend.model;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AppointmentDailyCountId implements Serializable {
+    private LocalDate date;
+    private String specialty;
+    private AppointmentStatus status;
+}
@@ -0,0 +1,47 @@
+package com.soulconnect.backend.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+// Estado de entrega de un recordatorio. La clave incluye la fecha de la cita: si se reprograma se vuelve a avisar,
+// y un recordatorio ya enviado para esa fecha nunca se repite
+@Entity
+@Table(name = "appointment_reminders")
+@IdClass(AppointmentReminderId.class)
+@Data
+public class AppointmentReminder {
+
+    @Id
+    @Column(name = "appointment_id", nullable = false)
+    private UUID appointmentId;
+
+    @Id
+    @Column(name = "appointment_date", nullable = false)
+    private LocalDate appointmentDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "channel", length = 10)
+    private ReminderChannel channel;
+
+    @Column(name = "recipient")
+    private String recipient;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 10)
+    private ReminderStatus status;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "sent_at")
+    private Instant sentAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+}
@@ -0,0 +1,16 @@
+package com.soulconnect.backend.model;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AppointmentReminderId implements Serializable {
+    private UUID appointmentId;
+    private LocalDate appointmentDate;
+}
@@ -3,5 +3,10 @@ package com.soulconnect.backend.model;
 public enum AppointmentStatus {
     PENDING,
     COMPLETED,
-    CANCELLED
+    CANCELLED;
+
+    // Transiciones de los cambios de estado masivos: solo una cita pendiente se completa o se cancela
+    public boolean canTransitionTo(AppointmentStatus target) {
+        return this == PENDING && (target == COMPLETED || target == CANCELLED);
+    }
 }
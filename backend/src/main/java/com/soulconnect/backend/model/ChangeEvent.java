@@ -0,0 +1,50 @@
+package com.soulconnect.backend.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.Instant;
+import java.util.UUID;
+
+// Fila del outbox: se inserta en la misma transaccion que el cambio que describe.
+// position la asigna el relay al publicar, en orden de publicacion: a diferencia del id (que se reparte
+// antes del commit) nunca aparece un valor menor despues de uno mayor, asi que sirve como cursor
+@Entity
+@Table(name = "change_events")
+@Data
+public class ChangeEvent {
+
+    public static final String PATIENT = "patient";
+    public static final String APPOINTMENT = "appointment";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @JsonIgnore
+    private Long id;
+
+    @Column(name = "position", unique = true)
+    private Long position;
+
+    @Column(name = "aggregate_type", nullable = false, length = 20)
+    private String aggregateType;
+
+    @Column(name = "aggregate_id", nullable = false)
+    private UUID aggregateId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false, length = 10)
+    private ChangeType changeType;
+
+    // JSON de la entidad despues del cambio (solo el id en los borrados)
+    @JsonRawValue
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "occurred_at", nullable = false)
+    private Instant occurredAt;
+
+    @JsonIgnore
+    @Column(name = "published_at")
+    private Instant publishedAt;
+}
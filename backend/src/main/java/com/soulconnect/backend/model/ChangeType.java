@@ -0,0 +1,7 @@
+package com.soulconnect.backend.model;
+
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -1,13 +1,29 @@
 package com.soulconnect.backend.model;
 
 import jakarta.persistence.*;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+import org.hibernate.annotations.SQLRestriction;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
 @Table(name = "patients") // Esto creará la tabla 'patients' en PostgreSQL
+@DynamicUpdate // El UPDATE solo incluye las columnas que cambiaron (PATCH toca pocas de ~40)
+// Cache de segundo nivel: por id y por documento (natural id); Hibernate lo invalida al actualizar o borrar
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "patient")
+@NaturalIdCache(region = "patient-natural-id")
+// Borrado logico: las filas con deleted_at quedan fuera de toda consulta y carga de Hibernate
+@SQLRestriction("deleted_at is null")
 @Data // Lombok: Crea automáticamente los Getters, Setters y Constructores (¡Magia!)
 public class Patient {
 
@@ -21,7 +37,9 @@ public class Patient {
     @Column(name = "last_name", nullable = false, length = 50)
     private String lastName;
 
-    @Column(name = "identification_number", nullable = false, unique = true, length = 20)
+    // Unico solo entre pacientes vigentes (indice parcial uq_patients_identification_live)
+    @NaturalId(mutable = true)
+    @Column(name = "identification_number", nullable = false, length = 20)
     private String identificationNumber; // Cédula
 
     @Column(name = "identification_type", nullable = false, length = 10)
@@ -42,15 +60,6 @@ public class Patient {
     @Column(name = "address")
     private String address;
 
-    @Column(name = "blood_type")
-    private String bloodType;
-
-    @Column(name = "height_cm")
-    private Double heightCm;
-
-    @Column(name = "weight_kg")
-    private Double weightKg;
-
     @Column(name = "sex_biological")
     private String sexBiological;
 
@@ -93,63 +102,199 @@ public class Patient {
     @Column(name = "residence_duration_months")
     private Integer residenceDurationMonths;
 
-    @Column(name = "abdominal_circumference_cm")
-    private Double abdominalCircumferenceCm;
+    // Particion vertical: vitales e historia clinica viven en tablas propias y se cargan solo al leerlas.
+    // El JSON sigue siendo plano gracias a los getters/setters delegados del final de la clase
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @OneToOne(fetch = FetchType.LAZY, optional = false, cascade = CascadeType.ALL, orphanRemoval = true)
+    @JoinColumn(name = "vitals_id", nullable = false, unique = true)
+    private PatientVitals vitals;
+
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @OneToOne(fetch = FetchType.LAZY, optional = false, cascade = CascadeType.ALL, orphanRemoval = true)
+    @JoinColumn(name = "clinical_history_id", nullable = false, unique = true)
+    private PatientClinicalHistory clinicalHistory;
 
-    @Column(name = "heart_rate_bpm")
-    private Integer heartRateBpm;
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
 
-    @Column(name = "respiratory_rate_rpm")
-    private Integer respiratoryRateRpm;
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Lo escribe solo el borrado logico (UPDATE directo); la depuracion elimina la fila al vencer la retencion
+    @JsonIgnore
+    @Column(name = "deleted_at", insertable = false, updatable = false)
+    private Instant deletedAt;
+
+    @Version // Bloqueo optimista: un PUT con una version vieja no sobrescribe cambios ajenos
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @PrePersist // Antes de guardar, asigna la fecha actual automáticamente
+    protected void onCreate() {
+        vitals();
+        clinicalHistory();
+        LocalDateTime now = LocalDateTime.now();
+        this.createdAt = now;
+        this.updatedAt = now;
+    }
 
-    @Column(name = "blood_pressure_sys")
-    private Integer bloodPressureSys;
+    @PreUpdate
+    protected void onUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
 
-    @Column(name = "blood_pressure_dia")
-    private Integer bloodPressureDia;
+    // Las partes se crean al primer acceso en pacientes nuevos; en los cargados de la base son proxies LAZY
+    private PatientVitals vitals() {
+        if (vitals == null) {
+            vitals = new PatientVitals();
+        }
+        return vitals;
+    }
 
-    @Column(name = "temperature_c")
-    private Double temperatureC;
+    private PatientClinicalHistory clinicalHistory() {
+        if (clinicalHistory == null) {
+            clinicalHistory = new PatientClinicalHistory();
+        }
+        return clinicalHistory;
+    }
 
-    @Column(name = "spo2")
-    private Double spo2;
+    public String getBloodType() {
+        return vitals().getBloodType();
+    }
 
-    @Column(name = "allergies", columnDefinition = "TEXT")
-    private String allergies;
+    public void setBloodType(String bloodType) {
+        vitals().setBloodType(bloodType);
+    }
 
-    @Column(name = "medications", columnDefinition = "TEXT")
-    private String medications;
+    public Double getHeightCm() {
+        return vitals().getHeightCm();
+    }
 
-    @Column(name = "surgeries", columnDefinition = "TEXT")
-    private String surgeries;
+    public void setHeightCm(Double heightCm) {
+        vitals().setHeightCm(heightCm);
+    }
 
-    @Column(name = "family_history", columnDefinition = "TEXT")
-    private String familyHistory;
+    public Double getWeightKg() {
+        return vitals().getWeightKg();
+    }
 
-    @Column(name = "habits", columnDefinition = "TEXT")
-    private String habits;
+    public void setWeightKg(Double weightKg) {
+        vitals().setWeightKg(weightKg);
+    }
 
-    @Column(name = "vaccines", columnDefinition = "TEXT")
-    private String vaccines;
+    public Double getAbdominalCircumferenceCm() {
+        return vitals().getAbdominalCircumferenceCm();
+    }
 
-    @Column(name = "chronic_conditions", columnDefinition = "TEXT")
-    private String chronicConditions;
+    public void setAbdominalCircumferenceCm(Double abdominalCircumferenceCm) {
+        vitals().setAbdominalCircumferenceCm(abdominalCircumferenceCm);
+    }
 
-    @Column(name = "created_at", updatable = false)
-    private LocalDateTime createdAt;
+    public Integer getHeartRateBpm() {
+        return vitals().getHeartRateBpm();
+    }
 
-    @Column(name = "updated_at")
-    private LocalDateTime updatedAt;
+    public void setHeartRateBpm(Integer heartRateBpm) {
+        vitals().setHeartRateBpm(heartRateBpm);
+    }
 
-    @PrePersist // Antes de guardar, asigna la fecha actual automáticamente
-    protected void onCreate() {
-        LocalDateTime now = LocalDateTime.now();
-        this.createdAt = now;
-        this.updatedAt = now;
+    public Integer getRespiratoryRateRpm() {
+        return vitals().getRespiratoryRateRpm();
     }
 
-    @PreUpdate
-    protected void onUpdate() {
-        this.updatedAt = LocalDateTime.now();
+    public void setRespiratoryRateRpm(Integer respiratoryRateRpm) {
+        vitals().setRespiratoryRateRpm(respiratoryRateRpm);
+    }
+
+    public Integer getBloodPressureSys() {
+        return vitals().getBloodPressureSys();
+    }
+
+    public void setBloodPressureSys(Integer bloodPressureSys) {
+        vitals().setBloodPressureSys(bloodPressureSys);
+    }
+
+    public Integer getBloodPressureDia() {
+        return vitals().getBloodPressureDia();
+    }
+
+    public void setBloodPressureDia(Integer bloodPressureDia) {
+        vitals().setBloodPressureDia(bloodPressureDia);
+    }
+
+    public Double getTemperatureC() {
+        return vitals().getTemperatureC();
+    }
+
+    public void setTemperatureC(Double temperatureC) {
+        vitals().setTemperatureC(temperatureC);
+    }
+
+    public Double getSpo2() {
+        return vitals().getSpo2();
+    }
+
+    public void setSpo2(Double spo2) {
+        vitals().setSpo2(spo2);
+    }
+
+    public String getAllergies() {
+        return clinicalHistory().getAllergies();
+    }
+
+    public void setAllergies(String allergies) {
+        clinicalHistory().setAllergies(allergies);
+    }
+
+    public String getMedications() {
+        return clinicalHistory().getMedications();
+    }
+
+    public void setMedications(String medications) {
+        clinicalHistory().setMedications(medications);
+    }
+
+    public String getSurgeries() {
+        return clinicalHistory().getSurgeries();
+    }
+
+    public void setSurgeries(String surgeries) {
+        clinicalHistory().setSurgeries(surgeries);
+    }
+
+    public String getFamilyHistory() {
+        return clinicalHistory().getFamilyHistory();
+    }
+
+    public void setFamilyHistory(String familyHistory) {
+        clinicalHistory().setFamilyHistory(familyHistory);
+    }
+
+    public String getHabits() {
+        return clinicalHistory().getHabits();
+    }
+
+    public void setHabits(String habits) {
+        clinicalHistory().setHabits(habits);
+    }
+
+    public String getVaccines() {
+        return clinicalHistory().getVaccines();
+    }
+
+    public void setVaccines(String vaccines) {
+        clinicalHistory().setVaccines(vaccines);
+    }
+
+    public String getChronicConditions() {
+        return clinicalHistory().getChronicConditions();
+    }
+
+    public void setChronicConditions(String chronicConditions) {
+        clinicalHistory().setChronicConditions(chronicConditions);
     }
-}
\ No newline at end of file
+}
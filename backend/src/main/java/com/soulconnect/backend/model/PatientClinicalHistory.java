@@ -0,0 +1,42 @@
+package com.soulconnect.backend.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+import java.util.UUID;
+
+// Historia clinica (campos TEXT largos) fuera de la fila nucleo de patients; se carga bajo demanda
+@Entity
+@Table(name = "patient_clinical_history")
+@DynamicUpdate
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "patient-clinical-history")
+@Data
+public class PatientClinicalHistory {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    private UUID id;
+
+    @Column(name = "allergies", columnDefinition = "TEXT")
+    private String allergies;
+
+    @Column(name = "medications", columnDefinition = "TEXT")
+    private String medications;
+
+    @Column(name = "surgeries", columnDefinition = "TEXT")
+    private String surgeries;
+
+    @Column(name = "family_history", columnDefinition = "TEXT")
+    private String familyHistory;
+
+    @Column(name = "habits", columnDefinition = "TEXT")
+    private String habits;
+
+    @Column(name = "vaccines", columnDefinition = "TEXT")
+    private String vaccines;
+
+    @Column(name = "chronic_conditions", columnDefinition = "TEXT")
+    private String chronicConditions;
+}
@@ -0,0 +1,27 @@
+package com.soulconnect.backend.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+// Rollup para tableros: pacientes por ciudad, EPS o estrato (dimension, valor). Se reconstruye periodicamente
+@Entity
+@Table(name = "patient_segment_counts")
+@IdClass(PatientSegmentCountId.class)
+@Data
+public class PatientSegmentCount {
+
+    public static final String CITY = "city";
+    public static final String EPS = "eps";
+    public static final String STRATUM = "stratum";
+
+    @Id
+    @Column(name = "dimension", nullable = false, length = 20)
+    private String dimension;
+
+    @Id
+    @Column(name = "segment", nullable = false)
+    private String segment; // '' cuando el paciente no tiene el dato
+
+    @Column(name = "total", nullable = false)
+    private long total;
+}
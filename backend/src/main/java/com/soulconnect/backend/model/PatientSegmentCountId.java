@@ -0,0 +1,14 @@
+package com.soulconnect.backend.model;
+
+import java.io.Serializable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PatientSegmentCountId implements Serializable {
+    private String dimension;
+    private String segment;
+}
@@ -0,0 +1,51 @@
+package com.soulconnect.backend.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+import java.util.UUID;
+
+// Signos vitales y biometria del paciente; se carga solo cuando se leen (Patient.vitals es LAZY)
+@Entity
+@Table(name = "patient_vitals")
+@DynamicUpdate
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "patient-vitals")
+@Data
+public class PatientVitals {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    private UUID id;
+
+    @Column(name = "blood_type")
+    private String bloodType;
+
+    @Column(name = "height_cm")
+    private Double heightCm;
+
+    @Column(name = "weight_kg")
+    private Double weightKg;
+
+    @Column(name = "abdominal_circumference_cm")
+    private Double abdominalCircumferenceCm;
+
+    @Column(name = "heart_rate_bpm")
+    private Integer heartRateBpm;
+
+    @Column(name = "respiratory_rate_rpm")
+    private Integer respiratoryRateRpm;
+
+    @Column(name = "blood_pressure_sys")
+    private Integer bloodPressureSys;
+
+    @Column(name = "blood_pressure_dia")
+    private Integer bloodPressureDia;
+
+    @Column(name = "temperature_c")
+    private Double temperatureC;
+
+    @Column(name = "spo2")
+    private Double spo2;
+}
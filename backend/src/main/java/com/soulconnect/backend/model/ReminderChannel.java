@@ -0,0 +1,6 @@
+package com.soulconnect.backend.model;
+
+public enum ReminderChannel {
+    EMAIL,
+    SMS
+}
@@ -0,0 +1,7 @@
+package com.soulconnect.backend.model;
+
+public enum ReminderStatus {
+    SENT,
+    FAILED,
+    SKIPPED // el paciente no tiene correo ni telefono
+}
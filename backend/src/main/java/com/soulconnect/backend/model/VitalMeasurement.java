@@ -0,0 +1,55 @@
+package com.soulconnect.backend.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.Instant;
+import java.util.UUID;
+
+// Serie temporal de signos vitales: solo se agregan filas, nunca se sobrescriben.
+// La clave (patient_id, measured_at) deja la linea de tiempo de un paciente contigua en el indice
+@Entity
+@Table(name = "vital_measurements")
+@IdClass(VitalMeasurementId.class)
+@Data
+public class VitalMeasurement {
+
+    @Id
+    @Column(name = "patient_id", nullable = false)
+    private UUID patientId;
+
+    @Id
+    @Column(name = "measured_at", nullable = false)
+    private Instant measuredAt;
+
+    @Column(name = "heart_rate_bpm")
+    private Integer heartRateBpm;
+
+    @Column(name = "respiratory_rate_rpm")
+    private Integer respiratoryRateRpm;
+
+    @Column(name = "blood_pressure_sys")
+    private Integer bloodPressureSys;
+
+    @Column(name = "blood_pressure_dia")
+    private Integer bloodPressureDia;
+
+    @Column(name = "temperature_c")
+    private Double temperatureC;
+
+    @Column(name = "spo2")
+    private Double spo2;
+
+    @Column(name = "weight_kg")
+    private Double weightKg;
+
+    @Column(name = "source", length = 40)
+    private String source; // dispositivo o "perfil" cuando viene de editar al paciente
+
+    @Column(name = "received_at", nullable = false, updatable = false)
+    private Instant receivedAt;
+
+    public boolean hasValues() {
+        return heartRateBpm != null || respiratoryRateRpm != null || bloodPressureSys != null || bloodPressureDia != null
+            || temperatureC != null || spo2 != null || weightKg != null;
+    }
+}
@@ -0,0 +1,17 @@
+package com.soulconnect.backend.model;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Clave de una medicion: un paciente no puede tener dos lecturas en el mismo instante
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VitalMeasurementId implements Serializable {
+    private UUID patientId;
+    private Instant measuredAt;
+}
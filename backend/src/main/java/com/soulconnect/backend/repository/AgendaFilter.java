@@ -0,0 +1,9 @@
+package com.soulconnect.backend.repository;
+
+import com.soulconnect.backend.model.AppointmentStatus;
+import java.time.LocalDate;
+import java.util.UUID;
+
+// Filtros de agenda: rango de fechas obligatorio (inclusivo), el resto opcional
+public record AgendaFilter(LocalDate from, LocalDate to, String specialty, AppointmentStatus status, UUID patientId) {
+}
@@ -0,0 +1,15 @@
+package com.soulconnect.backend.repository;
+
+import com.soulconnect.backend.model.AppointmentStatus;
+import java.time.LocalDate;
+
+public interface AggregateRollupRepository {
+
+    // Suma delta (puede ser negativo) al contador del bucket; crea la fila si no existe
+    void adjustAppointmentCount(LocalDate date, String specialty, AppointmentStatus status, long delta);
+
+    // Recalcula los rollups desde las tablas base; debe llamarse dentro de una transaccion
+    void rebuildAppointmentCounts();
+
+    void rebuildPatientSegments();
+}
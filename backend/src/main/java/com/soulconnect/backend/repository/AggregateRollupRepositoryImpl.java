@@ -0,0 +1,93 @@
+package com.soulconnect.backend.repository;
+
+import com.soulconnect.backend.config.DatabaseDialect;
+import com.soulconnect.backend.model.AppointmentStatus;
+import java.time.LocalDate;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+// Mantenimiento de los rollups con SQL directo: un upsert por cambio y reconstrucciones set-wise
+public class AggregateRollupRepositoryImpl implements AggregateRollupRepository {
+
+    private static final String UPSERT_SQL = """
+        INSERT INTO appointment_daily_counts (date, specialty, status, total)
+        VALUES (:date, :specialty, :status, :delta)
+        ON CONFLICT (date, specialty, status)
+        DO UPDATE SET total = appointment_daily_counts.total + EXCLUDED.total
+        """;
+
+    private static final String UPDATE_SQL = """
+        UPDATE appointment_daily_counts SET total = total + :delta
+        WHERE date = :date AND specialty = :specialty AND status = :status
+        """;
+
+    private static final String INSERT_SQL = """
+        INSERT INTO appointment_daily_counts (date, specialty, status, total)
+        VALUES (:date, :specialty, :status, :delta)
+        """;
+
+    private static final String REBUILD_APPOINTMENTS_SQL = """
+        INSERT INTO appointment_daily_counts (date, specialty, status, total)
+        SELECT date, specialty, status, COUNT(*)
+        FROM appointments
+        WHERE deleted_at IS NULL
+        GROUP BY date, specialty, status
+        """;
+
+    private static final String REBUILD_PATIENTS_SQL = """
+        INSERT INTO patient_segment_counts (dimension, segment, total)
+        SELECT 'city', COALESCE(city, ''), COUNT(*) FROM patients WHERE deleted_at IS NULL
+        GROUP BY COALESCE(city, '')
+        UNION ALL
+        SELECT 'eps', COALESCE(eps, ''), COUNT(*) FROM patients WHERE deleted_at IS NULL
+        GROUP BY COALESCE(eps, '')
+        UNION ALL
+        SELECT 'stratum', COALESCE(socioeconomic_stratum, ''), COUNT(*) FROM patients WHERE deleted_at IS NULL
+        GROUP BY COALESCE(socioeconomic_stratum, '')
+        """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final DatabaseDialect dialect;
+
+    public AggregateRollupRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate, DatabaseDialect dialect) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dialect = dialect;
+    }
+
+    @Override
+    public void adjustAppointmentCount(LocalDate date, String specialty, AppointmentStatus status, long delta) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("date", date)
+            .addValue("specialty", specialty)
+            .addValue("status", status.name())
+            .addValue("delta", delta);
+        if (dialect.isPostgres()) {
+            // Atomico frente a otras transacciones que toquen el mismo bucket
+            jdbcTemplate.update(UPSERT_SQL, params);
+        } else if (jdbcTemplate.update(UPDATE_SQL, params) == 0) {
+            try {
+                jdbcTemplate.update(INSERT_SQL, params);
+            } catch (DuplicateKeyException e) {
+                // Otra transaccion creo el bucket primero
+                jdbcTemplate.update(UPDATE_SQL, params);
+            }
+        }
+    }
+
+    @Override
+    public void rebuildAppointmentCounts() {
+        if (dialect.isPostgres()) {
+            // Bloquea escrituras de citas mientras se recalcula: ningun ajuste incremental queda a medias
+            jdbcTemplate.getJdbcTemplate().execute("LOCK TABLE appointments IN SHARE MODE");
+        }
+        jdbcTemplate.getJdbcTemplate().update("DELETE FROM appointment_daily_counts");
+        jdbcTemplate.getJdbcTemplate().update(REBUILD_APPOINTMENTS_SQL);
+    }
+
+    @Override
+    public void rebuildPatientSegments() {
+        jdbcTemplate.getJdbcTemplate().update("DELETE FROM patient_segment_counts");
+        jdbcTemplate.getJdbcTemplate().update(REBUILD_PATIENTS_SQL);
+    }
+}
@@ -0,0 +1,25 @@
+package com.soulconnect.backend.repository;
+
+import com.soulconnect.backend.model.AppointmentDailyCount;
+import com.soulconnect.backend.model.AppointmentDailyCountId;
+import java.time.LocalDate;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface AppointmentDailyCountRepository
+        extends JpaRepository<AppointmentDailyCount, AppointmentDailyCountId>, AggregateRollupRepository {
+
+    // Lee buckets, no citas: el costo depende de dias x especialidades x estados del rango
+    @Query("""
+        select c from AppointmentDailyCount c
+        where c.date between :from and :to
+          and (:specialty is null or c.specialty = :specialty)
+          and c.total > 0
+        order by c.date, c.specialty, c.status
+        """)
+    List<AppointmentDailyCount> findRange(@Param("from") LocalDate from,
+                                          @Param("to") LocalDate to,
+                                          @Param("specialty") String specialty);
+}
@@ -0,0 +1,18 @@
+package com.soulconnect.backend.repository;
+
+import com.soulconnect.backend.model.AppointmentStatus;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.UUID;
+
+// Cita dentro del historial de un paciente: el paciente ya viaja una vez en el resumen, no en cada fila
+public record AppointmentHistoryItem(
+    UUID id,
+    LocalDate date,
+    LocalTime time,
+    String specialty,
+    AppointmentStatus status,
+    LocalDateTime createdAt,
+    Long version) {
+}
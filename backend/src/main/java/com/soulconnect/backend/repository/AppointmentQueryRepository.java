@@ -0,0 +1,14 @@
+package com.soulconnect.backend.repository;
+
+import java.util.List;
+import java.util.UUID;
+
+// Consultas dinamicas de citas que no se pueden expresar con metodos derivados de Spring Data
+public interface AppointmentQueryRepository {
+
+    // Agenda ordenada por (date, time, id) en una sola consulta con join al paciente
+    List<AppointmentView> findAgenda(AgendaFilter filter, int offset, int limit);
+
+    // Historial de un paciente, de la cita mas reciente a la mas antigua, sobre idx_appointments_patient
+    List<AppointmentHistoryItem> findHistory(UUID patientId, int offset, int limit);
+}
@@ -0,0 +1,75 @@
+package com.soulconnect.backend.repository;
+
+import com.soulconnect.backend.model.Appointment;
+import com.soulconnect.backend.model.Patient;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+public class AppointmentQueryRepositoryImpl implements AppointmentQueryRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<AppointmentView> findAgenda(AgendaFilter filter, int offset, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<AppointmentView> query = cb.createQuery(AppointmentView.class);
+        Root<Appointment> root = query.from(Appointment.class);
+        Join<Appointment, Patient> patient = root.join("patient");
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.between(root.<LocalDate>get("date"), filter.from(), filter.to()));
+        if (filter.specialty() != null && !filter.specialty().isBlank()) {
+            predicates.add(cb.equal(root.get("specialty"), filter.specialty()));
+        }
+        if (filter.status() != null) {
+            predicates.add(cb.equal(root.get("status"), filter.status()));
+        }
+        if (filter.patientId() != null) {
+            predicates.add(cb.equal(patient.get("id"), filter.patientId()));
+        }
+
+        query.select(cb.construct(AppointmentView.class,
+                root.get("id"),
+                root.get("date"),
+                root.get("time"),
+                root.get("specialty"),
+                root.get("status"),
+                patient.get("id"),
+                cb.concat(cb.concat(patient.<String>get("firstName"), " "), patient.<String>get("lastName")),
+                root.get("createdAt"),
+                root.get("version")))
+            .where(predicates.toArray(Predicate[]::new))
+            .orderBy(cb.asc(root.get("date")), cb.asc(root.get("time")), cb.asc(root.get("id")));
+
+        return entityManager.createQuery(query)
+            .setFirstResult(offset)
+            .setMaxResults(limit)
+            .getResultList();
+    }
+
+    @Override
+    public List<AppointmentHistoryItem> findHistory(UUID patientId, int offset, int limit) {
+        // a.patient.id usa la FK de la cita: no hay join con patients
+        return entityManager.createQuery("""
+                select new com.soulconnect.backend.repository.AppointmentHistoryItem(
+                    a.id, a.date, a.time, a.specialty, a.status, a.createdAt, a.version)
+                from Appointment a
+                where a.patient.id = :patientId
+                order by a.date desc, a.time desc, a.id desc
+                """, AppointmentHistoryItem.class)
+            .setParameter("patientId", patientId)
+            .setFirstResult(offset)
+            .setMaxResults(limit)
+            .getResultList();
+    }
+}
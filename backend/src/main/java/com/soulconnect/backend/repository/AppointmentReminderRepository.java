@@ -0,0 +1,12 @@
+package com.soulconnect.backend.repository;
+
+import com.soulconnect.backend.model.AppointmentReminder;
+import com.soulconnect.backend.model.AppointmentReminderId;
+import com.soulconnect.backend.model.ReminderStatus;
+import java.time.LocalDate;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface AppointmentReminderRepository extends JpaRepository<AppointmentReminder, AppointmentReminderId>, ReminderDeliveryRepository {
+
+    long countByAppointmentDateAndStatus(LocalDate appointmentDate, ReminderStatus status);
+}
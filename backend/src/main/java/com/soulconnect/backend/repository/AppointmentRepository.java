@@ -1,10 +1,90 @@
 package com.soulconnect.backend.repository;
 
 import com.soulconnect.backend.model.Appointment;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface AppointmentRepository extends JpaRepository<Appointment, UUID> {
-    List<Appointment> findByPatientId(UUID patientId);
+public interface AppointmentRepository extends JpaRepository<Appointment, UUID>, AppointmentQueryRepository,
+        AppointmentStatusRepository {
+
+    // Las escrituras devuelven AppointmentView, que necesita el nombre del paciente: se trae en el mismo SELECT
+    @Override
+    @EntityGraph(attributePaths = "patient")
+    Optional<Appointment> findById(UUID id);
+
+    // Una sola consulta con join: no se cargan entidades Patient por cada cita
+    @Query("""
+        select new com.soulconnect.backend.repository.AppointmentView(
+            a.id, a.date, a.time, a.specialty, a.status, p.id, concat(p.firstName, ' ', p.lastName), a.createdAt, a.version)
+        from Appointment a join a.patient p
+        order by a.date, a.time
+        """)
+    List<AppointmentView> findAllViews();
+
+    @Query("""
+        select new com.soulconnect.backend.repository.AppointmentView(
+            a.id, a.date, a.time, a.specialty, a.status, p.id, concat(p.firstName, ' ', p.lastName), a.createdAt, a.version)
+        from Appointment a join a.patient p
+        where p.id = :patientId
+        order by a.date, a.time
+        """)
+    List<AppointmentView> findViewsByPatientId(@Param("patientId") UUID patientId);
+
+    // Resumen del paciente: conteo por estado con un recorrido de idx_appointments_patient (status va incluido)
+    @Query("""
+        select new com.soulconnect.backend.repository.AppointmentStatusCount(a.status, count(a))
+        from Appointment a
+        where a.patient.id = :patientId
+        group by a.status
+        """)
+    List<AppointmentStatusCount> countByStatusForPatient(@Param("patientId") UUID patientId);
+
+    // Cambios de estado masivos: estado previo y payload del outbox de todo el lote en una consulta
+    @Query("""
+        select new com.soulconnect.backend.repository.AppointmentView(
+            a.id, a.date, a.time, a.specialty, a.status, p.id, concat(p.firstName, ' ', p.lastName), a.createdAt, a.version)
+        from Appointment a join a.patient p
+        where a.id in :ids
+        """)
+    List<AppointmentView> findViewsByIdIn(@Param("ids") Collection<UUID> ids);
+
+    // Disponibilidad: una sola consulta por rango sobre idx_appointments_specialty_date_time
+    @Query("""
+        select new com.soulconnect.backend.repository.BookedSlot(a.date, a.time)
+        from Appointment a
+        where a.specialty = :specialty
+          and a.date between :from and :to
+          and a.status <> com.soulconnect.backend.model.AppointmentStatus.CANCELLED
+        """)
+    List<BookedSlot> findBookedSlots(@Param("specialty") String specialty,
+                                     @Param("from") LocalDate from,
+                                     @Param("to") LocalDate to);
+
+    // Recordatorios: pagina por keyset (time, id) sobre idx_appointments_date_time; excluye las ya avisadas para esa fecha
+    @Query("""
+        select new com.soulconnect.backend.repository.ReminderCandidate(
+            a.id, a.date, a.time, a.specialty, p.id, concat(p.firstName, ' ', p.lastName), p.email, p.phoneNumber)
+        from Appointment a join a.patient p
+        where a.date = :date
+          and a.status = com.soulconnect.backend.model.AppointmentStatus.PENDING
+          and (a.time > :afterTime or (a.time = :afterTime and a.id > :afterId))
+          and not exists (
+            select 1 from AppointmentReminder r
+            where r.appointmentId = a.id and r.appointmentDate = a.date
+              and r.status = com.soulconnect.backend.model.ReminderStatus.SENT)
+        order by a.time, a.id
+        """)
+    List<ReminderCandidate> findReminderCandidates(@Param("date") LocalDate date,
+                                                   @Param("afterTime") LocalTime afterTime,
+                                                   @Param("afterId") UUID afterId,
+                                                   Limit limit);
 }
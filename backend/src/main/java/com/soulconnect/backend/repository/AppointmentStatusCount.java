@@ -0,0 +1,6 @@
+package com.soulconnect.backend.repository;
+
+import com.soulconnect.backend.model.AppointmentStatus;
+
+public record AppointmentStatusCount(AppointmentStatus status, Long total) {
+}
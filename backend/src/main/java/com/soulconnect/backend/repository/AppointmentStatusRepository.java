@@ -0,0 +1,25 @@
+package com.soulconnect.backend.repository;
+
+import com.soulconnect.backend.model.AppointmentStatus;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+// Cambios de estado por conjunto de ids con SQL directo; deben llamarse dentro de una transaccion
+public interface AppointmentStatusRepository {
+
+    // Bloquea las filas existentes (en orden de id, sin interbloqueos entre lotes) y devuelve su estado actual
+    Map<UUID, AppointmentStatus> lockStatuses(Collection<UUID> ids);
+
+    // Un solo UPDATE para todo el conjunto; solo cambia las filas que siguen en el estado from
+    int transition(Collection<UUID> ids, AppointmentStatus from, AppointmentStatus to);
+
+    // Siguiente tramo de citas PENDING anteriores a la fecha; en PostgreSQL salta las filas bloqueadas por otros
+    List<UUID> lockStalePending(LocalDate before, int limit);
+
+    // Borrado logico: marca deleted_at y libera el cupo; solo cuenta las filas que seguian vigentes
+    int softDelete(Collection<UUID> ids, Instant at);
+}
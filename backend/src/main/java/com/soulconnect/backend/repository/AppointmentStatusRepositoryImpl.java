@@ -0,0 +1,101 @@
+package com.soulconnect.backend.repository;
+
+import com.soulconnect.backend.config.DatabaseDialect;
+import com.soulconnect.backend.model.AppointmentStatus;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+public class AppointmentStatusRepositoryImpl implements AppointmentStatusRepository {
+
+    private static final String LOCK_SQL = """
+        SELECT id, status FROM appointments
+        WHERE id IN (:ids) AND deleted_at IS NULL
+        ORDER BY id
+        FOR UPDATE
+        """;
+
+    // slot_active sigue la misma regla que Appointment.syncSlot: NULL libera el cupo en los UNIQUE
+    private static final String TRANSITION_SQL = """
+        UPDATE appointments
+        SET status = :to, slot_active = :slotActive, version = version + 1
+        WHERE id IN (:ids) AND status = :from AND deleted_at IS NULL
+        """;
+
+    // Usa idx_appointments_status_date_time
+    private static final String STALE_SQL = """
+        SELECT id FROM appointments
+        WHERE status = 'PENDING' AND date < :before AND deleted_at IS NULL
+        ORDER BY date, time, id
+        LIMIT :limit
+        FOR UPDATE
+        """;
+
+    private static final String SOFT_DELETE_SQL = """
+        UPDATE appointments
+        SET deleted_at = :at, slot_active = NULL, version = version + 1
+        WHERE id IN (:ids) AND deleted_at IS NULL
+        """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final DatabaseDialect dialect;
+
+    public AppointmentStatusRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate, DatabaseDialect dialect) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dialect = dialect;
+    }
+
+    @Override
+    public Map<UUID, AppointmentStatus> lockStatuses(Collection<UUID> ids) {
+        Map<UUID, AppointmentStatus> statuses = new LinkedHashMap<>();
+        if (ids.isEmpty()) {
+            return statuses;
+        }
+        jdbcTemplate.query(LOCK_SQL, new MapSqlParameterSource("ids", ids), rs -> {
+            statuses.put(rs.getObject("id", UUID.class), AppointmentStatus.valueOf(rs.getString("status")));
+        });
+        return statuses;
+    }
+
+    @Override
+    public int transition(Collection<UUID> ids, AppointmentStatus from, AppointmentStatus to) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("ids", ids)
+            .addValue("from", from.name())
+            .addValue("to", to.name())
+            .addValue("slotActive", to == AppointmentStatus.CANCELLED ? null : Boolean.TRUE, Types.BOOLEAN);
+        return jdbcTemplate.update(TRANSITION_SQL, params);
+    }
+
+    @Override
+    public List<UUID> lockStalePending(LocalDate before, int limit) {
+        // SKIP LOCKED: una cita que alguien esta editando se deja para el siguiente cierre en vez de esperarla
+        String sql = dialect.isPostgres() ? STALE_SQL.strip() + " SKIP LOCKED" : STALE_SQL;
+        MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("before", before)
+            .addValue("limit", limit);
+        return jdbcTemplate.query(sql, params, (rs, rowNum) -> rs.getObject("id", UUID.class));
+    }
+
+    @Override
+    public int softDelete(Collection<UUID> ids, Instant at) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("ids", ids)
+            .addValue("at", at.atOffset(ZoneOffset.UTC));
+        return jdbcTemplate.update(SOFT_DELETE_SQL, params);
+    }
+}
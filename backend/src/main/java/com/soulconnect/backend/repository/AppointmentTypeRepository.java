@@ -6,5 +6,6 @@ import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 public interface AppointmentTypeRepository extends JpaRepository<AppointmentType, UUID> {
+    // Sin cache de Hibernate: AppointmentTypeCatalog tiene su propio snapshot y una invalidacion debe leer la tabla
     List<AppointmentType> findAllByOrderByNameAsc();
 }
@@ -0,0 +1,36 @@
+package com.soulconnect.backend.repository;
+
+import com.soulconnect.backend.model.Appointment;
+import com.soulconnect.backend.model.AppointmentStatus;
+import com.soulconnect.backend.model.Patient;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.UUID;
+
+// Cita plana para lecturas: del paciente solo viajan el id y el nombre a mostrar
+public record AppointmentView(
+    UUID id,
+    LocalDate date,
+    LocalTime time,
+    String specialty,
+    AppointmentStatus status,
+    UUID patientId,
+    String patientName,
+    LocalDateTime createdAt,
+    Long version) {
+
+    public static AppointmentView from(Appointment appointment) {
+        Patient patient = appointment.getPatient();
+        return new AppointmentView(
+            appointment.getId(),
+            appointment.getDate(),
+            appointment.getTime(),
+            appointment.getSpecialty(),
+            appointment.getStatus(),
+            patient.getId(),
+            patient.getFirstName() + " " + patient.getLastName(),
+            appointment.getCreatedAt(),
+            appointment.getVersion());
+    }
+}
@@ -0,0 +1,8 @@
+package com.soulconnect.backend.repository;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+// Cupo ocupado por una cita vigente (solo fecha y hora)
+public record BookedSlot(LocalDate date, LocalTime time) {
+}
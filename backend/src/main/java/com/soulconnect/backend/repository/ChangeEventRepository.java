@@ -0,0 +1,35 @@
+package com.soulconnect.backend.repository;
+
+import com.soulconnect.backend.model.ChangeEvent;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface ChangeEventRepository extends JpaRepository<ChangeEvent, Long>, ChangeRelayRepository {
+
+    // Pendientes de publicar, en orden de insercion (indice parcial idx_change_events_unpublished)
+    @Query("select e from ChangeEvent e where e.position is null order by e.id")
+    List<ChangeEvent> findUnpublished(Limit limit);
+
+    @Query("select coalesce(max(e.position), 0) from ChangeEvent e")
+    long findLastPosition();
+
+    @Query("select min(e.position) from ChangeEvent e")
+    Long findFirstPosition();
+
+    // Feed por cursor: recorrido por rango sobre el UNIQUE de position
+    @Query("""
+        select e from ChangeEvent e
+        where e.position > :since and (:aggregateType is null or e.aggregateType = :aggregateType)
+        order by e.position
+        """)
+    List<ChangeEvent> findSince(@Param("since") long since, @Param("aggregateType") String aggregateType, Limit limit);
+
+    @Modifying
+    @Query("delete from ChangeEvent e where e.position is not null and e.publishedAt < :before")
+    int deletePublishedBefore(@Param("before") Instant before);
+}
@@ -0,0 +1,7 @@
+package com.soulconnect.backend.repository;
+
+public interface ChangeRelayRepository {
+
+    // Un solo relay publica a la vez (entre instancias); debe llamarse dentro de la transaccion del relay
+    boolean tryLockRelay();
+}
@@ -0,0 +1,30 @@
+package com.soulconnect.backend.repository;
+
+import com.soulconnect.backend.config.DatabaseDialect;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+// En PostgreSQL usa un advisory lock de transaccion; en otras bases (H2 en pruebas) hay una sola instancia
+public class ChangeRelayRepositoryImpl implements ChangeRelayRepository {
+
+    // Clave arbitraria y fija del advisory lock del relay
+    private static final long RELAY_LOCK_KEY = 0x50554c53L;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final DatabaseDialect dialect;
+
+    public ChangeRelayRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate, DatabaseDialect dialect) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dialect = dialect;
+    }
+
+    @Override
+    public boolean tryLockRelay() {
+        if (!dialect.isPostgres()) {
+            return true;
+        }
+        Boolean locked = jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(:key)",
+            new MapSqlParameterSource("key", RELAY_LOCK_KEY), Boolean.class);
+        return Boolean.TRUE.equals(locked);
+    }
+}
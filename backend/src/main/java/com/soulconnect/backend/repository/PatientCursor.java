@@ -0,0 +1,30 @@
+package com.soulconnect.backend.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+// Posicion de un listado keyset: ultimo (created_at, id) devuelto al cliente
+public record PatientCursor(LocalDateTime createdAt, UUID id) {
+
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String raw = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PatientCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int idx = raw.indexOf(SEPARATOR);
+            if (idx < 0) {
+                throw new IllegalArgumentException("Cursor invalido");
+            }
+            return new PatientCursor(LocalDateTime.parse(raw.substring(0, idx)), UUID.fromString(raw.substring(idx + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Cursor invalido", e);
+        }
+    }
+}
@@ -0,0 +1,5 @@
+package com.soulconnect.backend.repository;
+
+// Filtros opcionales del listado de pacientes; null significa "sin filtro"
+public record PatientFilter(String city, String eps, Integer minAge, Integer maxAge, String namePrefix) {
+}
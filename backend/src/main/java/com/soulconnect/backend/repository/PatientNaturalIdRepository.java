@@ -0,0 +1,10 @@
+package com.soulconnect.backend.repository;
+
+import com.soulconnect.backend.model.Patient;
+import java.util.Optional;
+
+public interface PatientNaturalIdRepository {
+
+    // Busqueda por documento a traves del cache de natural id: las repetidas no tocan la base
+    Optional<Patient> findByIdentificationNumber(String identificationNumber);
+}
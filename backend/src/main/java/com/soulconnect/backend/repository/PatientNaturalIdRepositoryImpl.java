@@ -0,0 +1,27 @@
+package com.soulconnect.backend.repository;
+
+import com.soulconnect.backend.model.Patient;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.util.Optional;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+// Una consulta JPQL por identification_number siempre va a la base; bySimpleNaturalId resuelve primero
+// documento -> id en el cache de natural id y luego la entidad en el cache de Patient
+public class PatientNaturalIdRepositoryImpl implements PatientNaturalIdRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Patient> findByIdentificationNumber(String identificationNumber) {
+        if (identificationNumber == null) {
+            return Optional.empty();
+        }
+        return entityManager.unwrap(Session.class)
+            .bySimpleNaturalId(Patient.class)
+            .loadOptional(identificationNumber);
+    }
+}
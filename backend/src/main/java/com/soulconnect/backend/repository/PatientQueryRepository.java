@@ -0,0 +1,10 @@
+package com.soulconnect.backend.repository;
+
+import java.util.List;
+
+// Consultas dinamicas que no se pueden expresar con metodos derivados de Spring Data
+public interface PatientQueryRepository {
+
+    // Pagina keyset ordenada por (created_at, id); after == null empieza desde el inicio
+    List<PatientSummary> findPage(PatientFilter filter, PatientCursor after, int limit);
+}
@@ -0,0 +1,95 @@
+package com.soulconnect.backend.repository;
+
+import com.soulconnect.backend.model.Patient;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+public class PatientQueryRepositoryImpl implements PatientQueryRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<PatientSummary> findPage(PatientFilter filter, PatientCursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<PatientSummary> query = cb.createQuery(PatientSummary.class);
+        Root<Patient> root = query.from(Patient.class);
+
+        // Solo las columnas del resumen: las columnas TEXT clinicas nunca salen de Postgres
+        query.select(cb.construct(PatientSummary.class,
+                root.get("id"),
+                root.get("firstName"),
+                root.get("lastName"),
+                root.get("identificationNumber"),
+                root.get("identificationType"),
+                root.get("dateOfBirth"),
+                root.get("email"),
+                root.get("phoneNumber"),
+                root.get("city"),
+                root.get("eps"),
+                root.get("createdAt")))
+            .where(buildPredicates(cb, root, filter, after))
+            .orderBy(cb.asc(root.get("createdAt")), cb.asc(root.get("id")));
+
+        return entityManager.createQuery(query)
+            .setMaxResults(limit)
+            .getResultList();
+    }
+
+    static Predicate[] buildPredicates(CriteriaBuilder cb, Root<Patient> root, PatientFilter filter, PatientCursor after) {
+        List<Predicate> predicates = new ArrayList<>();
+
+        if (filter != null) {
+            if (hasText(filter.city())) {
+                predicates.add(cb.equal(root.get("city"), filter.city()));
+            }
+            if (hasText(filter.eps())) {
+                predicates.add(cb.equal(root.get("eps"), filter.eps()));
+            }
+            // Edad minima N: nacido en o antes de hoy - N anos
+            LocalDate today = LocalDate.now();
+            if (filter.minAge() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("dateOfBirth"), today.minusYears(filter.minAge())));
+            }
+            // Edad maxima N: nacido despues de hoy - (N + 1) anos
+            if (filter.maxAge() != null) {
+                predicates.add(cb.greaterThan(root.get("dateOfBirth"), today.minusYears(filter.maxAge() + 1L)));
+            }
+            if (hasText(filter.namePrefix())) {
+                String pattern = escapeLike(filter.namePrefix().trim().toLowerCase(Locale.ROOT)) + "%";
+                predicates.add(cb.or(
+                    cb.like(cb.lower(root.get("firstName")), pattern, '\\'),
+                    cb.like(cb.lower(root.get("lastName")), pattern, '\\')));
+            }
+        }
+
+        // Seek: (created_at, id) > (cursor.createdAt, cursor.id)
+        if (after != null) {
+            predicates.add(cb.or(
+                cb.greaterThan(root.<LocalDateTime>get("createdAt"), after.createdAt()),
+                cb.and(
+                    cb.equal(root.get("createdAt"), after.createdAt()),
+                    cb.greaterThan(root.<UUID>get("id"), after.id()))));
+        }
+
+        return predicates.toArray(Predicate[]::new);
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
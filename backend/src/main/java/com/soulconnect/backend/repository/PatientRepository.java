@@ -2,10 +2,23 @@ package com.soulconnect.backend.repository;
 
 import com.soulconnect.backend.model.Patient;
 import org.springframework.data.jpa.repository.JpaRepository;
-import java.util.Optional;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 // JpaRepository nos regala métodos como .findAll(), .save(), .delete()
-public interface PatientRepository extends JpaRepository<Patient, UUID> {
-	Optional<Patient> findByIdentificationNumber(String identificationNumber);
-}
\ No newline at end of file
+// findByIdentificationNumber viene de PatientNaturalIdRepository (cache de natural id)
+// delete/deleteAll siguen siendo borrados fisicos; la API borra con softDeletePatient (SoftDeleteRepository)
+public interface PatientRepository extends JpaRepository<Patient, UUID>, PatientQueryRepository, PatientSearchRepository,
+		PatientNaturalIdRepository, SoftDeleteRepository {
+
+	// Verificacion de duplicados por lote (importacion masiva)
+	@Query("select p.identificationNumber from Patient p where p.identificationNumber in :identificationNumbers")
+	List<String> findExistingIdentificationNumbers(@Param("identificationNumbers") Collection<String> identificationNumbers);
+
+	// Ids existentes de un lote (ingesta de signos vitales)
+	@Query("select p.id from Patient p where p.id in :ids")
+	List<UUID> findExistingIds(@Param("ids") Collection<UUID> ids);
+}
@@ -0,0 +1,10 @@
+package com.soulconnect.backend.repository;
+
+import java.util.List;
+
+// Busqueda de recepcion por nombre parcial, apellido sin tildes, telefono, correo o documento
+public interface PatientSearchRepository {
+
+    // Resultados ordenados por relevancia; nunca devuelve mas de limit filas
+    List<PatientSummary> searchSummaries(String query, int limit);
+}
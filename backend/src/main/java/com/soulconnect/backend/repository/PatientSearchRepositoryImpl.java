@@ -0,0 +1,107 @@
+package com.soulconnect.backend.repository;
+
+import com.soulconnect.backend.config.DatabaseDialect;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+// En PostgreSQL usa los indices GIN de trigramas de V9; en otras bases (H2 en pruebas) cae a LIKE por prefijo
+public class PatientSearchRepositoryImpl implements PatientSearchRepository {
+
+    private static final String COLUMNS = """
+        id, first_name, last_name, identification_number, identification_type,
+        date_of_birth, email, phone, city, eps, created_at""";
+
+    // Las expresiones (y deleted_at IS NULL de los indices parciales) deben coincidir con las de los indices
+    // para que el planificador los use
+    private static final String POSTGRES_SQL = "SELECT " + COLUMNS + """
+        ,
+            GREATEST(
+                similarity(f_unaccent(lower(first_name || ' ' || last_name)), :q),
+                CASE WHEN f_unaccent(lower(first_name || ' ' || last_name)) LIKE :prefix
+                       OR f_unaccent(lower(last_name)) LIKE :prefix THEN 1.0 ELSE 0 END,
+                CASE WHEN lower(email) LIKE :prefix OR phone LIKE :prefix
+                       OR identification_number LIKE :prefix THEN 0.9 ELSE 0 END) AS score
+        FROM patients
+        WHERE deleted_at IS NULL
+          AND (f_unaccent(lower(first_name || ' ' || last_name)) % :q
+           OR f_unaccent(lower(first_name || ' ' || last_name)) LIKE :contains
+           OR f_unaccent(lower(last_name)) LIKE :prefix
+           OR lower(email) LIKE :prefix
+           OR phone LIKE :prefix
+           OR identification_number LIKE :prefix)
+        ORDER BY score DESC, last_name, first_name, id
+        LIMIT :limit
+        """;
+
+    private static final String FALLBACK_SQL = "SELECT " + COLUMNS + """
+
+        FROM patients
+        WHERE deleted_at IS NULL
+          AND (lower(first_name || ' ' || last_name) LIKE :contains
+           OR lower(last_name) LIKE :prefix
+           OR lower(email) LIKE :prefix
+           OR phone LIKE :prefix
+           OR identification_number LIKE :prefix)
+        ORDER BY CASE WHEN lower(first_name || ' ' || last_name) LIKE :prefix
+                        OR lower(last_name) LIKE :prefix THEN 0 ELSE 1 END,
+                 last_name, first_name, id
+        LIMIT :limit
+        """;
+
+    private static final RowMapper<PatientSummary> SUMMARY_MAPPER = PatientSearchRepositoryImpl::mapSummary;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final DatabaseDialect dialect;
+
+    public PatientSearchRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate, DatabaseDialect dialect) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dialect = dialect;
+    }
+
+    @Override
+    public List<PatientSummary> searchSummaries(String query, int limit) {
+        String normalized = normalize(query);
+        String escaped = escapeLike(normalized);
+        MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("q", normalized)
+            .addValue("prefix", escaped + "%")
+            .addValue("contains", "%" + escaped + "%")
+            .addValue("limit", limit);
+        return jdbcTemplate.query(dialect.isPostgres() ? POSTGRES_SQL : FALLBACK_SQL, params, SUMMARY_MAPPER);
+    }
+
+    // Minusculas y sin tildes, igual que f_unaccent(lower(...)) en la base
+    static String normalize(String value) {
+        String decomposed = Normalizer.normalize(value.trim(), Normalizer.Form.NFD);
+        return decomposed.replaceAll("\\p{M}", "").replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private static PatientSummary mapSummary(ResultSet rs, int rowNum) throws SQLException {
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        return new PatientSummary(
+            rs.getObject("id", UUID.class),
+            rs.getString("first_name"),
+            rs.getString("last_name"),
+            rs.getString("identification_number"),
+            rs.getString("identification_type"),
+            rs.getObject("date_of_birth", LocalDate.class),
+            rs.getString("email"),
+            rs.getString("phone"),
+            rs.getString("city"),
+            rs.getString("eps"),
+            createdAt != null ? createdAt.toLocalDateTime() : null);
+    }
+}
@@ -0,0 +1,11 @@
+package com.soulconnect.backend.repository;
+
+import com.soulconnect.backend.model.PatientSegmentCount;
+import com.soulconnect.backend.model.PatientSegmentCountId;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface PatientSegmentCountRepository extends JpaRepository<PatientSegmentCount, PatientSegmentCountId> {
+
+    List<PatientSegmentCount> findByDimensionOrderByTotalDescSegmentAsc(String dimension);
+}
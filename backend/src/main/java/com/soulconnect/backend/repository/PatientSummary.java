@@ -0,0 +1,30 @@
+package com.soulconnect.backend.repository;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.soulconnect.backend.model.Patient;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Vista ligera del paciente para listados y busquedas: sin antecedentes clinicos ni signos vitales.
+// Los campos nulos no viajan (email, telefono, ciudad y EPS suelen venir vacios en pacientes importados)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record PatientSummary(
+    UUID id,
+    String firstName,
+    String lastName,
+    String identificationNumber,
+    String identificationType,
+    LocalDate dateOfBirth,
+    String email,
+    String phoneNumber,
+    String city,
+    String eps,
+    LocalDateTime createdAt) {
+
+    public static PatientSummary from(Patient p) {
+        return new PatientSummary(p.getId(), p.getFirstName(), p.getLastName(), p.getIdentificationNumber(),
+            p.getIdentificationType(), p.getDateOfBirth(), p.getEmail(), p.getPhoneNumber(), p.getCity(), p.getEps(),
+            p.getCreatedAt());
+    }
+}
@@ -0,0 +1,7 @@
+package com.soulconnect.backend.repository;
+
+import java.util.UUID;
+
+// Paciente borrado y vencido: la depuracion elimina tambien sus filas de vitales e historia clinica
+public record PurgeablePatient(UUID id, UUID vitalsId, UUID clinicalHistoryId) {
+}
@@ -0,0 +1,18 @@
+package com.soulconnect.backend.repository;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+// Cita pendiente a recordar con los datos de contacto del paciente, leida en una sola consulta con join
+public record ReminderCandidate(
+    UUID appointmentId,
+    LocalDate date,
+    LocalTime time,
+    String specialty,
+    UUID patientId,
+    String patientName,
+    String email,
+    String phoneNumber
+) {
+}
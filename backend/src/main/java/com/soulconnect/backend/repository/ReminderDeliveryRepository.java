@@ -0,0 +1,10 @@
+package com.soulconnect.backend.repository;
+
+import com.soulconnect.backend.model.AppointmentReminder;
+import java.util.List;
+
+public interface ReminderDeliveryRepository {
+
+    // Guarda el estado de un lote: UPDATE por lotes y INSERT solo de las filas que aun no existian
+    void recordAll(List<AppointmentReminder> reminders);
+}
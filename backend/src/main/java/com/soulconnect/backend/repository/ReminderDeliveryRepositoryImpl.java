@@ -0,0 +1,73 @@
+package com.soulconnect.backend.repository;
+
+import com.soulconnect.backend.model.AppointmentReminder;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.transaction.annotation.Transactional;
+
+public class ReminderDeliveryRepositoryImpl implements ReminderDeliveryRepository {
+
+    private static final String UPDATE_SQL = """
+        UPDATE appointment_reminders
+        SET channel = :channel, recipient = :recipient, status = :status, attempts = attempts + :attempts,
+            last_error = :lastError, sent_at = :sentAt, updated_at = :updatedAt
+        WHERE appointment_id = :appointmentId AND appointment_date = :appointmentDate
+        """;
+
+    private static final String INSERT_SQL = """
+        INSERT INTO appointment_reminders (appointment_id, appointment_date, channel, recipient, status, attempts,
+            last_error, sent_at, updated_at)
+        VALUES (:appointmentId, :appointmentDate, :channel, :recipient, :status, :attempts,
+            :lastError, :sentAt, :updatedAt)
+        """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public ReminderDeliveryRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional
+    public void recordAll(List<AppointmentReminder> reminders) {
+        if (reminders.isEmpty()) {
+            return;
+        }
+        SqlParameterSource[] params = reminders.stream().map(ReminderDeliveryRepositoryImpl::params)
+            .toArray(SqlParameterSource[]::new);
+        int[] updated = jdbcTemplate.batchUpdate(UPDATE_SQL, params);
+
+        List<SqlParameterSource> missing = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                missing.add(params[i]);
+            }
+        }
+        if (!missing.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, missing.toArray(SqlParameterSource[]::new));
+        }
+    }
+
+    private static SqlParameterSource params(AppointmentReminder r) {
+        return new MapSqlParameterSource()
+            .addValue("appointmentId", r.getAppointmentId())
+            .addValue("appointmentDate", r.getAppointmentDate())
+            .addValue("channel", r.getChannel() != null ? r.getChannel().name() : null)
+            .addValue("recipient", r.getRecipient())
+            .addValue("status", r.getStatus().name())
+            .addValue("attempts", r.getAttempts())
+            .addValue("lastError", r.getLastError())
+            .addValue("sentAt", utc(r.getSentAt()))
+            .addValue("updatedAt", utc(r.getUpdatedAt()));
+    }
+
+    private static OffsetDateTime utc(Instant instant) {
+        return instant != null ? instant.atOffset(ZoneOffset.UTC) : null;
+    }
+}
@@ -0,0 +1,24 @@
+package com.soulconnect.backend.repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+// Borrado logico en cascada y depuracion con SQL directo; deben llamarse dentro de una transaccion.
+// Como el SQL directo no pasa por Hibernate, la implementacion invalida el cache de segundo nivel
+public interface SoftDeleteRepository {
+
+    // Marca el paciente y todas sus citas vigentes (dos UPDATE); 0 si no existia o ya estaba borrado
+    int softDeletePatient(UUID patientId, Instant at);
+
+    // Citas borradas antes de la fecha, bloqueadas para la depuracion (en PostgreSQL salta las bloqueadas por otros)
+    List<UUID> lockExpiredAppointments(Instant before, int limit);
+
+    int purgeAppointments(Collection<UUID> ids);
+
+    List<PurgeablePatient> lockExpiredPatients(Instant before, int limit);
+
+    // Elimina los pacientes con sus citas, recordatorios, serie de signos vitales, vitales e historia clinica
+    int purgePatients(Collection<PurgeablePatient> patients);
+}
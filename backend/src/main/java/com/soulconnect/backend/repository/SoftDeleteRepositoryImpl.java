@@ -0,0 +1,162 @@
+package com.soulconnect.backend.repository;
+
+import com.soulconnect.backend.config.DatabaseDialect;
+import com.soulconnect.backend.model.Patient;
+import com.soulconnect.backend.model.PatientClinicalHistory;
+import com.soulconnect.backend.model.PatientVitals;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class SoftDeleteRepositoryImpl implements SoftDeleteRepository {
+
+    private static final String DELETE_PATIENT_SQL = """
+        UPDATE patients SET deleted_at = :at, version = version + 1
+        WHERE id = :id AND deleted_at IS NULL
+        """;
+
+    // Igual que una cancelacion, slot_active NULL libera el cupo en los UNIQUE
+    private static final String DELETE_PATIENT_APPOINTMENTS_SQL = """
+        UPDATE appointments SET deleted_at = :at, slot_active = NULL, version = version + 1
+        WHERE patient_id = :id AND deleted_at IS NULL
+        """;
+
+    // Usan los indices parciales idx_*_deleted_at
+    private static final String EXPIRED_APPOINTMENTS_SQL = """
+        SELECT id FROM appointments
+        WHERE deleted_at < :before
+        ORDER BY deleted_at
+        LIMIT :limit
+        FOR UPDATE
+        """;
+
+    private static final String EXPIRED_PATIENTS_SQL = """
+        SELECT id, vitals_id, clinical_history_id FROM patients
+        WHERE deleted_at < :before
+        ORDER BY deleted_at
+        LIMIT :limit
+        FOR UPDATE
+        """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final DatabaseDialect dialect;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public SoftDeleteRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate, DatabaseDialect dialect,
+                                    EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dialect = dialect;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public int softDeletePatient(UUID patientId, Instant at) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("id", patientId)
+            .addValue("at", utc(at));
+        int deleted = jdbcTemplate.update(DELETE_PATIENT_SQL, params);
+        if (deleted > 0) {
+            jdbcTemplate.update(DELETE_PATIENT_APPOINTMENTS_SQL, params);
+            // El cache serviria al paciente por id y por documento aunque la fila ya este marcada.
+            // Se invalida ya y otra vez tras el commit: una lectura concurrente pudo volver a cachearlo
+            evictPatient(patientId);
+            afterCommit(() -> evictPatient(patientId));
+        }
+        return deleted;
+    }
+
+    @Override
+    public List<UUID> lockExpiredAppointments(Instant before, int limit) {
+        return jdbcTemplate.query(skipLocked(EXPIRED_APPOINTMENTS_SQL), expiredParams(before, limit),
+            (rs, rowNum) -> rs.getObject("id", UUID.class));
+    }
+
+    @Override
+    public int purgeAppointments(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", ids);
+        jdbcTemplate.update("DELETE FROM appointment_reminders WHERE appointment_id IN (:ids)", params);
+        return jdbcTemplate.update("DELETE FROM appointments WHERE id IN (:ids)", params);
+    }
+
+    @Override
+    public List<PurgeablePatient> lockExpiredPatients(Instant before, int limit) {
+        return jdbcTemplate.query(skipLocked(EXPIRED_PATIENTS_SQL), expiredParams(before, limit),
+            (rs, rowNum) -> new PurgeablePatient(rs.getObject("id", UUID.class),
+                rs.getObject("vitals_id", UUID.class), rs.getObject("clinical_history_id", UUID.class)));
+    }
+
+    @Override
+    public int purgePatients(Collection<PurgeablePatient> patients) {
+        if (patients.isEmpty()) {
+            return 0;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("ids", patients.stream().map(PurgeablePatient::id).toList())
+            .addValue("vitalsIds", patients.stream().map(PurgeablePatient::vitalsId).toList())
+            .addValue("historyIds", patients.stream().map(PurgeablePatient::clinicalHistoryId).toList());
+        // Hijos primero y por lotes explicitos: sin depender del ON DELETE CASCADE, que no tiene limite
+        jdbcTemplate.update("""
+            DELETE FROM appointment_reminders
+            WHERE appointment_id IN (SELECT id FROM appointments WHERE patient_id IN (:ids))
+            """, params);
+        jdbcTemplate.update("DELETE FROM appointments WHERE patient_id IN (:ids)", params);
+        jdbcTemplate.update("DELETE FROM vital_measurements WHERE patient_id IN (:ids)", params);
+        int purged = jdbcTemplate.update("DELETE FROM patients WHERE id IN (:ids)", params);
+        jdbcTemplate.update("DELETE FROM patient_vitals WHERE id IN (:vitalsIds)", params);
+        jdbcTemplate.update("DELETE FROM patient_clinical_history WHERE id IN (:historyIds)", params);
+
+        jakarta.persistence.Cache cache = entityManagerFactory.getCache();
+        for (PurgeablePatient patient : patients) {
+            cache.evict(Patient.class, patient.id());
+            cache.evict(PatientVitals.class, patient.vitalsId());
+            cache.evict(PatientClinicalHistory.class, patient.clinicalHistoryId());
+        }
+        return purged;
+    }
+
+    private void evictPatient(UUID patientId) {
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        cache.evict(Patient.class, patientId);
+        // No hay invalidacion por documento en la API publica; los borrados son raros y la region se repuebla sola
+        cache.evictNaturalIdData(Patient.class);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        }
+    }
+
+    private static MapSqlParameterSource expiredParams(Instant before, int limit) {
+        return new MapSqlParameterSource()
+            .addValue("before", utc(before))
+            .addValue("limit", limit);
+    }
+
+    // SKIP LOCKED: una fila que otra transaccion tiene bloqueada se deja para la siguiente corrida
+    private String skipLocked(String sql) {
+        return dialect.isPostgres() ? sql.strip() + " SKIP LOCKED" : sql;
+    }
+
+    private static OffsetDateTime utc(Instant instant) {
+        return instant.atOffset(ZoneOffset.UTC);
+    }
+}
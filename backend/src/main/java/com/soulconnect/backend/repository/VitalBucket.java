@@ -0,0 +1,7 @@
+package com.soulconnect.backend.repository;
+
+import java.time.Instant;
+
+// Resumen de una metrica en un intervalo [start, start + bucket)
+public record VitalBucket(Instant start, long count, Double min, Double max, Double avg) {
+}
@@ -0,0 +1,25 @@
+package com.soulconnect.backend.repository;
+
+import com.soulconnect.backend.model.VitalMeasurement;
+import com.soulconnect.backend.model.VitalMeasurementId;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface VitalMeasurementRepository extends JpaRepository<VitalMeasurement, VitalMeasurementId>, VitalSeriesRepository {
+
+    // Linea de tiempo de un paciente: un recorrido por rango sobre la clave primaria
+    @Query("""
+        select m from VitalMeasurement m
+        where m.patientId = :patientId and m.measuredAt >= :from and m.measuredAt < :to
+        order by m.measuredAt
+        """)
+    List<VitalMeasurement> findTimeline(@Param("patientId") UUID patientId,
+                                        @Param("from") Instant from,
+                                        @Param("to") Instant to,
+                                        Limit limit);
+}
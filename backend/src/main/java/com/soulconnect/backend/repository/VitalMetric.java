@@ -0,0 +1,37 @@
+package com.soulconnect.backend.repository;
+
+import java.util.Arrays;
+
+// Metricas agregables de la serie de signos vitales: nombre publico -> columna SQL (lista blanca)
+public enum VitalMetric {
+    HEART_RATE_BPM("heartRateBpm", "heart_rate_bpm"),
+    RESPIRATORY_RATE_RPM("respiratoryRateRpm", "respiratory_rate_rpm"),
+    BLOOD_PRESSURE_SYS("bloodPressureSys", "blood_pressure_sys"),
+    BLOOD_PRESSURE_DIA("bloodPressureDia", "blood_pressure_dia"),
+    TEMPERATURE_C("temperatureC", "temperature_c"),
+    SPO2("spo2", "spo2"),
+    WEIGHT_KG("weightKg", "weight_kg");
+
+    private final String property;
+    private final String column;
+
+    VitalMetric(String property, String column) {
+        this.property = property;
+        this.column = column;
+    }
+
+    public String property() {
+        return property;
+    }
+
+    String column() {
+        return column;
+    }
+
+    public static VitalMetric fromProperty(String property) {
+        return Arrays.stream(values())
+            .filter(metric -> metric.property.equals(property))
+            .findFirst()
+            .orElseThrow(() -> new IllegalArgumentException("Metrica desconocida: " + property));
+    }
+}
@@ -0,0 +1,16 @@
+package com.soulconnect.backend.repository;
+
+import com.soulconnect.backend.model.VitalMeasurement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+public interface VitalSeriesRepository {
+
+    // INSERT por lotes; las lecturas repetidas (mismo paciente e instante) se ignoran
+    void appendAll(List<VitalMeasurement> measurements);
+
+    // Min/max/promedio por intervalo; una sola lectura por rango de la clave (patient_id, measured_at)
+    List<VitalBucket> findBuckets(UUID patientId, VitalMetric metric, Instant from, Instant to, Duration bucket);
+}
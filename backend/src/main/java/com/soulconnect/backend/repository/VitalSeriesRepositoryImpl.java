@@ -0,0 +1,89 @@
+package com.soulconnect.backend.repository;
+
+import com.soulconnect.backend.model.VitalMeasurement;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+public class VitalSeriesRepositoryImpl implements VitalSeriesRepository {
+
+    private static final String INSERT_SQL = """
+        INSERT INTO vital_measurements (patient_id, measured_at, heart_rate_bpm, respiratory_rate_rpm,
+            blood_pressure_sys, blood_pressure_dia, temperature_c, spo2, weight_kg, source, received_at)
+        VALUES (:patientId, :measuredAt, :heartRateBpm, :respiratoryRateRpm,
+            :bloodPressureSys, :bloodPressureDia, :temperatureC, :spo2, :weightKg, :source, :receivedAt)
+        ON CONFLICT DO NOTHING
+        """;
+
+    // El intervalo se calcula en una subconsulta: agrupar por la misma expresion con dos parametros
+    // distintos no es valido en PostgreSQL
+    private static final String BUCKETS_SQL = """
+        SELECT bucket, COUNT(val) AS samples, MIN(val) AS min_value, MAX(val) AS max_value, AVG(val) AS avg_value
+        FROM (
+            SELECT FLOOR(EXTRACT(EPOCH FROM measured_at) / :bucketSeconds) AS bucket, %s AS val
+            FROM vital_measurements
+            WHERE patient_id = :patientId
+              AND measured_at >= :from
+              AND measured_at < :to
+              AND %s IS NOT NULL
+        ) samples
+        GROUP BY bucket
+        ORDER BY bucket
+        """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public VitalSeriesRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void appendAll(List<VitalMeasurement> measurements) {
+        if (measurements.isEmpty()) {
+            return;
+        }
+        SqlParameterSource[] batch = measurements.stream()
+            .map(m -> new MapSqlParameterSource()
+                .addValue("patientId", m.getPatientId())
+                .addValue("measuredAt", utc(m.getMeasuredAt()))
+                .addValue("heartRateBpm", m.getHeartRateBpm())
+                .addValue("respiratoryRateRpm", m.getRespiratoryRateRpm())
+                .addValue("bloodPressureSys", m.getBloodPressureSys())
+                .addValue("bloodPressureDia", m.getBloodPressureDia())
+                .addValue("temperatureC", m.getTemperatureC())
+                .addValue("spo2", m.getSpo2())
+                .addValue("weightKg", m.getWeightKg())
+                .addValue("source", m.getSource())
+                .addValue("receivedAt", utc(m.getReceivedAt())))
+            .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+    }
+
+    @Override
+    public List<VitalBucket> findBuckets(UUID patientId, VitalMetric metric, Instant from, Instant to, Duration bucket) {
+        long bucketSeconds = bucket.toSeconds();
+        MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("patientId", patientId)
+            .addValue("from", utc(from))
+            .addValue("to", utc(to))
+            .addValue("bucketSeconds", bucketSeconds);
+        // La columna sale de la lista blanca del enum, nunca del request
+        String sql = BUCKETS_SQL.formatted(metric.column(), metric.column());
+        return jdbcTemplate.query(sql, params, (rs, rowNum) -> new VitalBucket(
+            Instant.ofEpochSecond(rs.getLong("bucket") * bucketSeconds),
+            rs.getLong("samples"),
+            rs.getObject("min_value", Double.class),
+            rs.getObject("max_value", Double.class),
+            rs.getObject("avg_value", Double.class)));
+    }
+
+    private static OffsetDateTime utc(Instant instant) {
+        return instant == null ? null : instant.atOffset(ZoneOffset.UTC);
+    }
+}
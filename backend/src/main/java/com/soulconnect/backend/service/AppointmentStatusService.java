@@ -0,0 +1,170 @@
+package com.soulconnect.backend.service;
+
+import com.soulconnect.backend.model.AppointmentStatus;
+import com.soulconnect.backend.model.ChangeType;
+import com.soulconnect.backend.repository.AppointmentRepository;
+import com.soulconnect.backend.repository.AppointmentView;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Cambios de estado de muchas citas a la vez. Por lote: un SELECT ... FOR UPDATE de los ids, una consulta de
+// las vistas (estado previo y payload del outbox) y un solo UPDATE; los rollups se ajustan por bucket y cada
+// cita deja su evento. El cierre diario cancela las PENDING vencidas en tramos, cada uno en su transaccion
+@Service
+public class AppointmentStatusService {
+
+    private static final Logger log = LoggerFactory.getLogger(AppointmentStatusService.class);
+
+    private final AppointmentRepository repository;
+    private final SlotAvailabilityService availabilityService;
+    private final DashboardAggregateService aggregateService;
+    private final ChangeFeedService changeFeed;
+    private final TransactionTemplate transactionTemplate;
+    private final int closeOutChunk;
+    private final int closeOutGraceDays;
+    private final Clock clock;
+
+    @Autowired
+    public AppointmentStatusService(AppointmentRepository repository,
+                                    SlotAvailabilityService availabilityService,
+                                    DashboardAggregateService aggregateService,
+                                    ChangeFeedService changeFeed,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${soulconnect.closeout.chunk-size:200}") int closeOutChunk,
+                                    @Value("${soulconnect.closeout.grace-days:0}") int closeOutGraceDays) {
+        this(repository, availabilityService, aggregateService, changeFeed, transactionManager, closeOutChunk,
+            closeOutGraceDays, Clock.systemDefaultZone());
+    }
+
+    AppointmentStatusService(AppointmentRepository repository, SlotAvailabilityService availabilityService,
+                             DashboardAggregateService aggregateService, ChangeFeedService changeFeed,
+                             PlatformTransactionManager transactionManager, int closeOutChunk, int closeOutGraceDays,
+                             Clock clock) {
+        this.repository = repository;
+        this.availabilityService = availabilityService;
+        this.aggregateService = aggregateService;
+        this.changeFeed = changeFeed;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.closeOutChunk = closeOutChunk;
+        this.closeOutGraceDays = closeOutGraceDays;
+        this.clock = clock;
+    }
+
+    public enum Outcome {
+        UPDATED,
+        // La cita ya estaba en el estado pedido
+        UNCHANGED,
+        NOT_FOUND,
+        // Transicion no permitida (p. ej. una cita cancelada no se completa)
+        INVALID_TRANSITION
+    }
+
+    // previous es el estado antes del cambio (null si la cita no existe)
+    public record ItemResult(UUID id, Outcome outcome, AppointmentStatus previous) {
+    }
+
+    public record BulkResult(AppointmentStatus status, int updated, List<ItemResult> results) {
+    }
+
+    public record CloseOutReport(LocalDate before, int cancelled, int chunks) {
+    }
+
+    // Estado de las filas bloqueadas y vistas (previas al cambio) de las que efectivamente cambiaron
+    private record Applied(Map<UUID, AppointmentStatus> locked, List<AppointmentView> moved) {
+    }
+
+    public BulkResult transition(Collection<UUID> ids, AppointmentStatus to) {
+        if (to == null || to == AppointmentStatus.PENDING) {
+            throw new IllegalArgumentException("Solo se puede pasar a COMPLETED o CANCELLED");
+        }
+        Set<UUID> unique = new LinkedHashSet<>(ids);
+        Applied applied = transactionTemplate.execute(status -> apply(unique, to));
+        releaseSlots(applied.moved(), to);
+
+        List<ItemResult> results = new ArrayList<>(unique.size());
+        for (UUID id : unique) {
+            AppointmentStatus previous = applied.locked().get(id);
+            Outcome outcome;
+            if (previous == null) {
+                outcome = Outcome.NOT_FOUND;
+            } else if (previous == to) {
+                outcome = Outcome.UNCHANGED;
+            } else if (previous.canTransitionTo(to)) {
+                outcome = Outcome.UPDATED;
+            } else {
+                outcome = Outcome.INVALID_TRANSITION;
+            }
+            results.add(new ItemResult(id, outcome, previous));
+        }
+        return new BulkResult(to, applied.moved().size(), results);
+    }
+
+    // Cierre diario: las citas que siguen PENDING despues de su fecha (mas la gracia) se cancelan
+    @Scheduled(cron = "${soulconnect.closeout.cron:0 30 0 * * *}")
+    public CloseOutReport closeOut() {
+        LocalDate before = LocalDate.now(clock).minusDays(closeOutGraceDays);
+        int cancelled = 0;
+        int chunks = 0;
+        Applied applied;
+        do {
+            // Transacciones cortas: los bloqueos duran un tramo y no toda la corrida
+            applied = transactionTemplate.execute(status ->
+                apply(repository.lockStalePending(before, closeOutChunk), AppointmentStatus.CANCELLED));
+            releaseSlots(applied.moved(), AppointmentStatus.CANCELLED);
+            cancelled += applied.moved().size();
+            chunks++;
+        } while (applied.locked().size() == closeOutChunk && !applied.moved().isEmpty());
+        log.info("Cierre de agenda: {} citas PENDING anteriores a {} canceladas en {} tramos", cancelled, before, chunks);
+        return new CloseOutReport(before, cancelled, chunks);
+    }
+
+    private Applied apply(Collection<UUID> ids, AppointmentStatus to) {
+        Map<UUID, AppointmentStatus> locked = repository.lockStatuses(ids);
+        List<UUID> eligible = locked.entrySet().stream()
+            .filter(e -> e.getValue().canTransitionTo(to))
+            .map(Map.Entry::getKey)
+            .toList();
+        if (eligible.isEmpty()) {
+            return new Applied(locked, List.of());
+        }
+        // Con las filas bloqueadas, las elegibles siguen en PENDING hasta el UPDATE
+        List<AppointmentView> before = repository.findViewsByIdIn(eligible);
+        repository.transition(eligible, AppointmentStatus.PENDING, to);
+        aggregateService.appointmentsTransitioned(before, to);
+        for (AppointmentView view : before) {
+            changeFeed.recordAppointment(after(view, to), ChangeType.UPDATED);
+        }
+        return new Applied(locked, before);
+    }
+
+    // Despues del commit, igual que en AppointmentController: solo la cancelacion libera el cupo
+    private void releaseSlots(List<AppointmentView> moved, AppointmentStatus to) {
+        if (to != AppointmentStatus.CANCELLED) {
+            return;
+        }
+        for (AppointmentView view : moved) {
+            availabilityService.release(view.specialty(), view.date(), view.time());
+        }
+    }
+
+    // El UPDATE incrementa version igual que el bloqueo optimista de JPA
+    private static AppointmentView after(AppointmentView view, AppointmentStatus to) {
+        return new AppointmentView(view.id(), view.date(), view.time(), view.specialty(), to, view.patientId(),
+            view.patientName(), view.createdAt(), view.version() + 1);
+    }
+}
@@ -0,0 +1,110 @@
+package com.soulconnect.backend.service;
+
+import com.soulconnect.backend.model.AppointmentType;
+import com.soulconnect.backend.repository.AppointmentTypeRepository;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+// Cache en memoria del catalogo de tipos de cita (pocas filas que casi nunca cambian)
+@Component
+public class AppointmentTypeCatalog {
+
+    private final AppointmentTypeRepository repository;
+    private final Duration ttl;
+    private final Clock clock;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    private volatile Snapshot snapshot;
+
+    @Autowired
+    public AppointmentTypeCatalog(AppointmentTypeRepository repository,
+                                  @Value("${soulconnect.appointment-types.cache-ttl:PT10M}") Duration ttl) {
+        this(repository, ttl, Clock.systemUTC());
+    }
+
+    AppointmentTypeCatalog(AppointmentTypeRepository repository, Duration ttl, Clock clock) {
+        this.repository = repository;
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    public Snapshot get() {
+        Snapshot current = snapshot;
+        if (current != null && !isExpired(current)) {
+            hits.incrementAndGet();
+            return current;
+        }
+        return reload();
+    }
+
+    // Invalida el catalogo; la siguiente lectura vuelve a Postgres. Se conserva el snapshot (marcado como
+    // vencido) para comparar el contenido y no mover Last-Modified/ETag si nada cambio
+    public void invalidate() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            snapshot = new Snapshot(current.types(), current.etag(), current.lastModified(), Instant.EPOCH);
+        }
+    }
+
+    public Stats stats() {
+        Snapshot current = snapshot;
+        // Un snapshot invalidado no cuenta como cargado
+        Instant loadedAt = current != null && !Instant.EPOCH.equals(current.loadedAt()) ? current.loadedAt() : null;
+        return new Stats(hits.get(), misses.get(), loadedAt, ttl.toSeconds());
+    }
+
+    // Sincronizado para que varias peticiones con el cache vencido hagan una sola consulta
+    private synchronized Snapshot reload() {
+        Snapshot current = snapshot;
+        if (current != null && !isExpired(current)) {
+            hits.incrementAndGet();
+            return current;
+        }
+        misses.incrementAndGet();
+
+        List<AppointmentType> types = List.copyOf(repository.findAllByOrderByNameAsc());
+        String etag = computeEtag(types);
+        Instant now = clock.instant();
+        // Si el contenido no cambio conservamos Last-Modified para que los clientes sigan validando con 304
+        Instant lastModified = current != null && current.etag().equals(etag)
+            ? current.lastModified()
+            : now.truncatedTo(ChronoUnit.SECONDS);
+
+        Snapshot fresh = new Snapshot(types, etag, lastModified, now);
+        snapshot = fresh;
+        return fresh;
+    }
+
+    private boolean isExpired(Snapshot current) {
+        return !clock.instant().isBefore(current.loadedAt().plus(ttl));
+    }
+
+    private static String computeEtag(List<AppointmentType> types) {
+        StringBuilder content = new StringBuilder();
+        for (AppointmentType type : types) {
+            content.append(type.getId()).append('|')
+                .append(type.getCode()).append('|')
+                .append(type.getName()).append('|')
+                .append(type.getSpecialty()).append('|')
+                .append(type.getDescription()).append('\n');
+        }
+        return "\"" + DigestUtils.md5DigestAsHex(content.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    public record Snapshot(List<AppointmentType> types, String etag, Instant lastModified, Instant loadedAt) {
+    }
+
+    public record Stats(long hits, long misses, Instant loadedAt, long ttlSeconds) {
+    }
+}
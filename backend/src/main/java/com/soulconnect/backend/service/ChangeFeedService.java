@@ -0,0 +1,256 @@
+package com.soulconnect.backend.service;
+
+import com.soulconnect.backend.model.Appointment;
+import com.soulconnect.backend.model.ChangeEvent;
+import com.soulconnect.backend.model.ChangeType;
+import com.soulconnect.backend.model.Patient;
+import com.soulconnect.backend.repository.AppointmentView;
+import com.soulconnect.backend.repository.ChangeEventRepository;
+import com.soulconnect.backend.repository.PatientSummary;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import tools.jackson.databind.ObjectMapper;
+
+// Outbox de cambios de pacientes y citas. Los controladores llaman a record* dentro de la transaccion que
+// guarda la entidad; el relay programado numera los eventos confirmados (position) y los empuja a los
+// suscriptores SSE. /api/changes?since= lee el mismo orden, asi que SSE y feed por cursor coinciden
+@Service
+public class ChangeFeedService {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeFeedService.class);
+
+    private final ChangeEventRepository repository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int relayBatch;
+    private final int pageSize;
+    private final Duration retention;
+    private final Duration sseTimeout;
+    private final Clock clock;
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    public ChangeFeedService(ChangeEventRepository repository,
+                             ObjectMapper objectMapper,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${soulconnect.changes.relay-batch:500}") int relayBatch,
+                             @Value("${soulconnect.changes.page-size:500}") int pageSize,
+                             @Value("${soulconnect.changes.retention:P7D}") Duration retention,
+                             @Value("${soulconnect.changes.sse-timeout:PT30M}") Duration sseTimeout) {
+        this(repository, objectMapper, transactionManager, relayBatch, pageSize, retention, sseTimeout,
+            Clock.systemUTC());
+    }
+
+    ChangeFeedService(ChangeEventRepository repository, ObjectMapper objectMapper,
+                      PlatformTransactionManager transactionManager, int relayBatch, int pageSize,
+                      Duration retention, Duration sseTimeout, Clock clock) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.relayBatch = relayBatch;
+        this.pageSize = pageSize;
+        this.retention = retention;
+        this.sseTimeout = sseTimeout;
+        this.clock = clock;
+    }
+
+    // Pagina del feed: next es la ultima posicion entregada (o since si no hubo cambios)
+    public record ChangePage(List<ChangeEvent> items, long next, boolean hasMore) {
+    }
+
+    // El cursor apunta a eventos ya purgados: el consumidor debe resincronizar con una lectura completa
+    public static class CursorExpiredException extends RuntimeException {
+        public CursorExpiredException() {
+            super("El cursor es anterior a los cambios retenidos; se requiere una sincronizacion completa");
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordPatient(Patient patient, ChangeType type) {
+        // El feed no incluye historia clinica ni signos vitales: solo la vista de listados
+        Object payload = type == ChangeType.DELETED ? Map.of("id", patient.getId()) : PatientSummary.from(patient);
+        record(ChangeEvent.PATIENT, patient.getId(), type, payload);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAppointment(Appointment appointment, ChangeType type) {
+        Object payload = type == ChangeType.DELETED ? Map.of("id", appointment.getId()) : AppointmentView.from(appointment);
+        record(ChangeEvent.APPOINTMENT, appointment.getId(), type, payload);
+    }
+
+    // Para escrituras set-based que no cargan la entidad (cambios de estado masivos)
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAppointment(AppointmentView appointment, ChangeType type) {
+        Object payload = type == ChangeType.DELETED ? Map.of("id", appointment.id()) : appointment;
+        record(ChangeEvent.APPOINTMENT, appointment.id(), type, payload);
+    }
+
+    private void record(String aggregateType, UUID aggregateId, ChangeType type, Object payload) {
+        ChangeEvent event = new ChangeEvent();
+        event.setAggregateType(aggregateType);
+        event.setAggregateId(aggregateId);
+        event.setChangeType(type);
+        event.setPayload(objectMapper.writeValueAsString(payload));
+        event.setOccurredAt(clock.instant());
+        repository.save(event);
+    }
+
+    public ChangePage changesSince(long since, String aggregateType, int limit) {
+        Long first = repository.findFirstPosition();
+        if (since > 0 && first != null && since < first - 1) {
+            throw new CursorExpiredException();
+        }
+        List<ChangeEvent> rows = repository.findSince(since, aggregateType, Limit.of(limit + 1));
+        boolean hasMore = rows.size() > limit;
+        List<ChangeEvent> items = hasMore ? rows.subList(0, limit) : rows;
+        long next = items.isEmpty() ? since : items.get(items.size() - 1).getPosition();
+        return new ChangePage(items, next, hasMore);
+    }
+
+    // Relay: numera en una transaccion corta los eventos confirmados y, tras el commit, los difunde
+    @Scheduled(cron = "${soulconnect.changes.relay-cron:* * * * * *}")
+    public int relay() {
+        int total = 0;
+        List<ChangeEvent> published;
+        do {
+            published = transactionTemplate.execute(status -> publishBatch());
+            if (!published.isEmpty()) {
+                broadcast(published);
+                total += published.size();
+            }
+        } while (published.size() == relayBatch);
+        return total;
+    }
+
+    private List<ChangeEvent> publishBatch() {
+        if (!repository.tryLockRelay()) {
+            return List.of();
+        }
+        List<ChangeEvent> pending = repository.findUnpublished(Limit.of(relayBatch));
+        if (pending.isEmpty()) {
+            return pending;
+        }
+        long position = repository.findLastPosition();
+        Instant now = clock.instant();
+        for (ChangeEvent event : pending) {
+            event.setPosition(++position);
+            event.setPublishedAt(now);
+        }
+        return repository.saveAll(pending);
+    }
+
+    @Scheduled(cron = "${soulconnect.changes.purge-cron:0 30 3 * * *}")
+    public void purge() {
+        Integer deleted = transactionTemplate.execute(status ->
+            repository.deletePublishedBefore(clock.instant().minus(retention)));
+        log.info("Feed de cambios: {} eventos purgados (retencion {})", deleted, retention);
+    }
+
+    // SSE: primero se reenvia lo posterior a since (o Last-Event-ID) y luego los eventos en vivo
+    public SseEmitter subscribe(long since, String aggregateType) {
+        SseEmitter emitter = new SseEmitter(sseTimeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter, since, aggregateType);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        try {
+            subscriber.catchUp();
+        } catch (CursorExpiredException e) {
+            subscribers.remove(subscriber);
+            throw e;
+        }
+        return emitter;
+    }
+
+    private void broadcast(List<ChangeEvent> events) {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.deliver(events);
+        }
+    }
+
+    int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    void closeSubscribers() {
+        subscribers.forEach(s -> s.emitter.complete());
+        subscribers.clear();
+    }
+
+    // El cursor por suscriptor evita duplicados y huecos entre la reposicion inicial y los eventos en vivo
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final String aggregateType;
+        private long cursor;
+
+        Subscriber(SseEmitter emitter, long cursor, String aggregateType) {
+            this.emitter = emitter;
+            this.cursor = cursor;
+            this.aggregateType = aggregateType;
+        }
+
+        synchronized void catchUp() {
+            ChangePage page;
+            do {
+                // Sin filtro: el cursor avanza sobre todas las posiciones y send descarta los otros tipos
+                page = changesSince(cursor, null, pageSize);
+                if (!send(page.items())) {
+                    return;
+                }
+            } while (page.hasMore());
+        }
+
+        synchronized void deliver(List<ChangeEvent> events) {
+            // Si hay un hueco (p. ej. el relay de otra instancia publico antes) se completa desde la base
+            if (events.get(0).getPosition() > cursor + 1) {
+                catchUp();
+                return;
+            }
+            send(events);
+        }
+
+        private boolean send(List<ChangeEvent> events) {
+            try {
+                for (ChangeEvent event : events) {
+                    if (event.getPosition() <= cursor) {
+                        continue;
+                    }
+                    if (aggregateType == null || aggregateType.equals(event.getAggregateType())) {
+                        emitter.send(SseEmitter.event()
+                            .id(Long.toString(event.getPosition()))
+                            .name(event.getAggregateType())
+                            .data(event));
+                    }
+                    cursor = event.getPosition();
+                }
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                subscribers.remove(this);
+                emitter.completeWithError(e);
+                return false;
+            }
+        }
+    }
+}
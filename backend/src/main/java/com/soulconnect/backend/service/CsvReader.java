@@ -0,0 +1,92 @@
+package com.soulconnect.backend.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+// Lector CSV en streaming (RFC 4180): comillas dobles, comillas escapadas y saltos de linea dentro de campos
+public class CsvReader {
+
+    private final Reader reader;
+    private int pushback = -2;
+    private long line = 1;
+
+    public CsvReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    // Linea fisica donde empieza el siguiente registro
+    public long getLine() {
+        return line;
+    }
+
+    // Devuelve el siguiente registro o null al final del flujo
+    public List<String> next() throws IOException {
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Comillas sin cerrar en la linea " + line);
+                }
+                if (c == '"') {
+                    int peek = read();
+                    if (peek == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = peek;
+                        continue;
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r') {
+                int peek = read();
+                if (peek != '\n') {
+                    unread(peek);
+                }
+                line++;
+                break;
+            } else if (c == '\n') {
+                line++;
+                break;
+            } else if (c == -1) {
+                break;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private int read() throws IOException {
+        if (pushback != -2) {
+            int c = pushback;
+            pushback = -2;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private void unread(int c) {
+        pushback = c;
+    }
+}
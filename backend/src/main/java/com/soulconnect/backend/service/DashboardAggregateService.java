@@ -0,0 +1,112 @@
+package com.soulconnect.backend.service;
+
+import com.soulconnect.backend.model.Appointment;
+import com.soulconnect.backend.model.AppointmentDailyCount;
+import com.soulconnect.backend.model.AppointmentDailyCountId;
+import com.soulconnect.backend.model.AppointmentStatus;
+import com.soulconnect.backend.model.PatientSegmentCount;
+import com.soulconnect.backend.repository.AppointmentDailyCountRepository;
+import com.soulconnect.backend.repository.AppointmentView;
+import com.soulconnect.backend.repository.PatientSegmentCountRepository;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Agregados para tableros. Las citas se cuentan de forma incremental (los metodos appointment* deben
+// llamarse dentro de la transaccion que guarda la cita); los pacientes y cualquier desviacion se
+// corrigen con la reconstruccion programada
+@Service
+public class DashboardAggregateService {
+
+    public static final Set<String> PATIENT_DIMENSIONS =
+        Set.of(PatientSegmentCount.CITY, PatientSegmentCount.EPS, PatientSegmentCount.STRATUM);
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardAggregateService.class);
+
+    private final AppointmentDailyCountRepository appointmentCounts;
+    private final PatientSegmentCountRepository patientCounts;
+    private final TransactionTemplate transactionTemplate;
+
+    public DashboardAggregateService(AppointmentDailyCountRepository appointmentCounts,
+                                     PatientSegmentCountRepository patientCounts,
+                                     PlatformTransactionManager transactionManager) {
+        this.appointmentCounts = appointmentCounts;
+        this.patientCounts = patientCounts;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public static AppointmentDailyCountId bucketOf(Appointment appointment) {
+        return new AppointmentDailyCountId(appointment.getDate(), appointment.getSpecialty(), appointment.getStatus());
+    }
+
+    public void appointmentCreated(Appointment appointment) {
+        adjust(bucketOf(appointment), 1);
+    }
+
+    public void appointmentChanged(AppointmentDailyCountId before, Appointment after) {
+        AppointmentDailyCountId current = bucketOf(after);
+        if (!Objects.equals(before, current)) {
+            adjust(before, -1);
+            adjust(current, 1);
+        }
+    }
+
+    public void appointmentDeleted(Appointment appointment) {
+        adjust(bucketOf(appointment), -1);
+    }
+
+    // Cambio de estado masivo: un ajuste por bucket (fecha, especialidad) y no uno por cita
+    public void appointmentsTransitioned(List<AppointmentView> before, AppointmentStatus to) {
+        Map<AppointmentDailyCountId, Long> moved = before.stream().collect(Collectors.groupingBy(
+            view -> new AppointmentDailyCountId(view.date(), view.specialty(), view.status()),
+            Collectors.counting()));
+        moved.forEach((bucket, total) -> {
+            adjust(bucket, -total);
+            adjust(new AppointmentDailyCountId(bucket.getDate(), bucket.getSpecialty(), to), total);
+        });
+    }
+
+    // Borrado logico de varias citas (p. ej. todas las de un paciente): un ajuste por bucket
+    public void appointmentsDeleted(List<AppointmentView> deleted) {
+        deleted.stream()
+            .collect(Collectors.groupingBy(
+                view -> new AppointmentDailyCountId(view.date(), view.specialty(), view.status()),
+                Collectors.counting()))
+            .forEach((bucket, total) -> adjust(bucket, -total));
+    }
+
+    public List<AppointmentDailyCount> appointmentCounts(LocalDate from, LocalDate to, String specialty) {
+        return appointmentCounts.findRange(from, to, specialty);
+    }
+
+    public List<PatientSegmentCount> patientCounts(String dimension) {
+        if (!PATIENT_DIMENSIONS.contains(dimension)) {
+            throw new IllegalArgumentException("Dimension desconocida: " + dimension);
+        }
+        return patientCounts.findByDimensionOrderByTotalDescSegmentAsc(dimension);
+    }
+
+    // Reconstruccion completa en una transaccion: los lectores ven los rollups viejos hasta el commit
+    @Scheduled(cron = "${soulconnect.aggregates.rebuild-cron:0 0 * * * *}")
+    public void rebuild() {
+        long start = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> {
+            appointmentCounts.rebuildAppointmentCounts();
+            appointmentCounts.rebuildPatientSegments();
+        });
+        log.info("Agregados de tablero reconstruidos en {} ms", (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void adjust(AppointmentDailyCountId bucket, long delta) {
+        appointmentCounts.adjustAppointmentCount(bucket.getDate(), bucket.getSpecialty(), bucket.getStatus(), delta);
+    }
+}
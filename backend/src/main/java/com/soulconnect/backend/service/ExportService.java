@@ -0,0 +1,279 @@
+package com.soulconnect.backend.service;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.soulconnect.backend.model.Appointment;
+import com.soulconnect.backend.model.Patient;
+import com.soulconnect.backend.model.PatientClinicalHistory;
+import com.soulconnect.backend.model.PatientVitals;
+import jakarta.persistence.Column;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.OneToOne;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Exportacion en streaming: cursor JDBC de solo avance, memoria constante sin importar el tamano de la tabla
+@Service
+public class ExportService {
+
+    public enum Format { NDJSON, CSV }
+
+    // Columnas exportables por entidad: nombre de propiedad -> columna SQL, en orden de declaracion.
+    // El paciente esta partido en tres tablas (p, v, h); sus columnas van calificadas con el alias
+    static final Map<String, String> PATIENT_COLUMNS = patientColumns();
+    static final Map<String, String> APPOINTMENT_COLUMNS = columnsOf(Appointment.class, "");
+
+    private static final String VITALS_JOIN = " left join patient_vitals v on v.id = p.vitals_id";
+    private static final String HISTORY_JOIN = " left join patient_clinical_history h on h.id = p.clinical_history_id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ExportService(DataSource dataSource,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${soulconnect.export.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        // PostgreSQL solo usa un cursor (fetch-size) dentro de una transaccion sin autocommit
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public List<String> resolvePatientColumns(List<String> requested) {
+        return resolve(PATIENT_COLUMNS, requested);
+    }
+
+    public List<String> resolveAppointmentColumns(List<String> requested) {
+        return resolve(APPOINTMENT_COLUMNS, requested);
+    }
+
+    public void exportPatients(List<String> properties, DateRange created, DateRange updated, Format format, OutputStream out) {
+        List<Object> args = new ArrayList<>();
+        StringBuilder where = new StringBuilder(" where p.deleted_at is null");
+        appendRange(where, args, "p.created_at", created);
+        appendRange(where, args, "p.updated_at", updated);
+        // Solo se unen las tablas de vitales o historia si alguna columna pedida vive alli
+        StringBuilder from = new StringBuilder("patients p");
+        if (properties.stream().anyMatch(property -> PATIENT_COLUMNS.get(property).startsWith("v."))) {
+            from.append(VITALS_JOIN);
+        }
+        if (properties.stream().anyMatch(property -> PATIENT_COLUMNS.get(property).startsWith("h."))) {
+            from.append(HISTORY_JOIN);
+        }
+        stream(from.toString(), PATIENT_COLUMNS, properties, where + " order by p.created_at, p.id", args, format, out);
+    }
+
+    public void exportAppointments(List<String> properties, DateRange created, Format format, OutputStream out) {
+        List<Object> args = new ArrayList<>();
+        StringBuilder where = new StringBuilder(" where deleted_at is null");
+        appendRange(where, args, "created_at", created);
+        stream("appointments", APPOINTMENT_COLUMNS, properties, where + " order by date, time, id", args, format, out);
+    }
+
+    private void stream(String table, Map<String, String> columns, List<String> properties, String tail,
+                        List<Object> args, Format format, OutputStream out) {
+        // Los nombres de columna salen de la lista blanca, nunca del request
+        String select = "select " + String.join(", ", properties.stream().map(columns::get).toList()) + " from " + table + tail;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try {
+                if (format == Format.CSV) {
+                    writeCsvRow(writer, new ArrayList<>(properties));
+                }
+                jdbcTemplate.query(select, (RowCallbackHandler) rs -> {
+                    try {
+                        if (format == Format.CSV) {
+                            writeCsvRow(writer, readRow(rs, properties.size()));
+                        } else {
+                            writeJsonRow(writer, properties, readRow(rs, properties.size()));
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }, args.toArray());
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private static List<Object> readRow(ResultSet rs, int count) throws SQLException {
+        List<Object> values = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            values.add(normalize(rs.getObject(i)));
+        }
+        return values;
+    }
+
+    private static Object normalize(Object value) {
+        if (value instanceof Timestamp ts) {
+            return ts.toLocalDateTime();
+        }
+        if (value instanceof java.sql.Date date) {
+            return date.toLocalDate();
+        }
+        if (value instanceof Time time) {
+            return time.toLocalTime();
+        }
+        return value;
+    }
+
+    private static void writeCsvRow(Writer writer, List<Object> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object value = values.get(i);
+            if (value == null) {
+                continue;
+            }
+            String text = value.toString();
+            if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(text.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(text);
+            }
+        }
+        writer.write('\n');
+    }
+
+    private static void writeJsonRow(Writer writer, List<String> properties, List<Object> values) throws IOException {
+        writer.write('{');
+        for (int i = 0; i < properties.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writeJsonString(writer, properties.get(i));
+            writer.write(':');
+            Object value = values.get(i);
+            if (value == null) {
+                writer.write("null");
+            } else if (value instanceof Number || value instanceof Boolean) {
+                writer.write(value.toString());
+            } else {
+                writeJsonString(writer, value.toString());
+            }
+        }
+        writer.write("}\n");
+    }
+
+    private static void writeJsonString(Writer writer, String text) throws IOException {
+        writer.write('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '"' -> writer.write("\\\"");
+                case '\\' -> writer.write("\\\\");
+                case '\n' -> writer.write("\\n");
+                case '\r' -> writer.write("\\r");
+                case '\t' -> writer.write("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        writer.write(String.format("\\u%04x", (int) c));
+                    } else {
+                        writer.write(c);
+                    }
+                }
+            }
+        }
+        writer.write('"');
+    }
+
+    private static void appendRange(StringBuilder where, List<Object> args, String column, DateRange range) {
+        if (range == null) {
+            return;
+        }
+        if (range.from() != null) {
+            where.append(" and ").append(column).append(" >= ?");
+            args.add(Timestamp.valueOf(range.from().atStartOfDay()));
+        }
+        if (range.to() != null) {
+            where.append(" and ").append(column).append(" < ?");
+            args.add(Timestamp.valueOf(range.to().plusDays(1).atStartOfDay()));
+        }
+    }
+
+    private static List<String> resolve(Map<String, String> columns, List<String> requested) {
+        if (requested == null || requested.isEmpty()) {
+            return List.copyOf(columns.keySet());
+        }
+        List<String> resolved = new ArrayList<>(requested.size());
+        for (String property : requested) {
+            String name = property.trim();
+            if (!columns.containsKey(name)) {
+                throw new IllegalArgumentException("Columna no exportable: " + name);
+            }
+            if (!resolved.contains(name)) {
+                resolved.add(name);
+            }
+        }
+        return resolved;
+    }
+
+    private static Map<String, String> patientColumns() {
+        Map<String, String> columns = new LinkedHashMap<>(columnsOf(Patient.class, "p."));
+        columnsOf(PatientVitals.class, "v.").forEach((property, column) -> {
+            if (!property.equals("id")) {
+                columns.put(property, column);
+            }
+        });
+        columnsOf(PatientClinicalHistory.class, "h.").forEach((property, column) -> {
+            if (!property.equals("id")) {
+                columns.put(property, column);
+            }
+        });
+        return Collections.unmodifiableMap(columns);
+    }
+
+    private static Map<String, String> columnsOf(Class<?> entity, String alias) {
+        Map<String, String> columns = new LinkedHashMap<>();
+        for (Field field : entity.getDeclaredFields()) {
+            // Lo que la API no expone (p. ej. deleted_at) tampoco se exporta
+            if (field.isAnnotationPresent(JsonIgnore.class) && !field.isAnnotationPresent(OneToOne.class)) {
+                continue;
+            }
+            Column column = field.getAnnotation(Column.class);
+            JoinColumn joinColumn = field.getAnnotation(JoinColumn.class);
+            if (field.getName().equals("id")) {
+                columns.put("id", alias + "id");
+            } else if (column != null) {
+                columns.put(field.getName(), alias + (column.name().isEmpty() ? field.getName() : column.name()));
+            } else if (field.isAnnotationPresent(OneToOne.class)) {
+                continue;
+            } else if (joinColumn != null) {
+                columns.put(field.getName() + "Id", alias + joinColumn.name());
+            }
+        }
+        return Collections.unmodifiableMap(columns);
+    }
+
+    // Rango inclusivo de fechas; cualquiera de los extremos puede ser null
+    public record DateRange(LocalDate from, LocalDate to) {
+    }
+}
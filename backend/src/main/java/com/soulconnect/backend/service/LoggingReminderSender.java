@@ -0,0 +1,22 @@
+package com.soulconnect.backend.service;
+
+import java.util.Collections;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+// Emisor por defecto mientras no haya un proveedor configurado: solo deja constancia en el log
+@Component
+public class LoggingReminderSender implements ReminderSender {
+
+    private static final Logger log = LoggerFactory.getLogger(LoggingReminderSender.class);
+
+    @Override
+    public List<Result> send(List<Message> batch) {
+        if (log.isDebugEnabled()) {
+            batch.forEach(m -> log.debug("Recordatorio {} a {}: {}", m.channel(), m.recipient(), m.text()));
+        }
+        return Collections.nCopies(batch.size(), Result.ok());
+    }
+}
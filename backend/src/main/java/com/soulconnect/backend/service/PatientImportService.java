@@ -0,0 +1,315 @@
+package com.soulconnect.backend.service;
+
+import com.soulconnect.backend.model.ChangeType;
+import com.soulconnect.backend.model.Patient;
+import com.soulconnect.backend.repository.PatientRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.ObjectMapper;
+
+// Importacion masiva de pacientes: lectura en streaming, duplicados por lote y escrituras en batch JDBC
+@Service
+public class PatientImportService {
+
+    static final int MAX_REPORTED_ERRORS = 1_000;
+
+    // Limites de las columnas segun las migraciones (V1, V4, V5, V10): una fila que no cabe se rechaza
+    // aqui con su linea, en lugar de tumbar el INSERT del lote completo
+    private static final List<TextColumn> TEXT_COLUMNS = List.of(
+        new TextColumn("firstName", 50, Patient::getFirstName),
+        new TextColumn("lastName", 50, Patient::getLastName),
+        new TextColumn("identificationNumber", 20, Patient::getIdentificationNumber),
+        new TextColumn("identificationType", 10, Patient::getIdentificationType),
+        new TextColumn("email", 255, Patient::getEmail),
+        new TextColumn("phoneNumber", 50, Patient::getPhoneNumber),
+        new TextColumn("eps", 120, Patient::getEps),
+        new TextColumn("address", 200, Patient::getAddress),
+        new TextColumn("sexBiological", 20, Patient::getSexBiological),
+        new TextColumn("genderIdentity", 50, Patient::getGenderIdentity),
+        new TextColumn("maritalStatus", 30, Patient::getMaritalStatus),
+        new TextColumn("educationLevel", 50, Patient::getEducationLevel),
+        new TextColumn("occupation", 80, Patient::getOccupation),
+        new TextColumn("emergencyContactName", 100, Patient::getEmergencyContactName),
+        new TextColumn("emergencyContactPhone", 40, Patient::getEmergencyContactPhone),
+        new TextColumn("city", 80, Patient::getCity),
+        new TextColumn("municipality", 80, Patient::getMunicipality),
+        new TextColumn("neighborhood", 80, Patient::getNeighborhood),
+        new TextColumn("postalCode", 15, Patient::getPostalCode),
+        new TextColumn("housingType", 30, Patient::getHousingType),
+        new TextColumn("socioeconomicStratum", 10, Patient::getSocioeconomicStratum),
+        new TextColumn("bloodType", 8, Patient::getBloodType));
+
+    private static final List<NumericColumn> NUMERIC_COLUMNS = List.of(
+        new NumericColumn("heightCm", 5, 2, Patient::getHeightCm),
+        new NumericColumn("weightKg", 5, 2, Patient::getWeightKg),
+        new NumericColumn("abdominalCircumferenceCm", 6, 2, Patient::getAbdominalCircumferenceCm),
+        new NumericColumn("temperatureC", 4, 1, Patient::getTemperatureC),
+        new NumericColumn("spo2", 5, 2, Patient::getSpo2));
+
+    private final PatientRepository repository;
+    private final ChangeFeedService changeFeed;
+    private final VitalsService vitalsService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public PatientImportService(PatientRepository repository,
+                                ChangeFeedService changeFeed,
+                                VitalsService vitalsService,
+                                ObjectMapper objectMapper,
+                                TransactionTemplate transactionTemplate,
+                                @Value("${soulconnect.import.chunk-size:500}") int chunkSize) {
+        this.repository = repository;
+        this.changeFeed = changeFeed;
+        this.vitalsService = vitalsService;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+    }
+
+    public ImportReport importCsv(BufferedReader reader) throws IOException {
+        ImportRun run = new ImportRun();
+        CsvReader csv = new CsvReader(reader);
+        List<String> header = csv.next();
+        if (header == null) {
+            return run.finish();
+        }
+
+        long line = csv.getLine();
+        List<String> values;
+        while ((values = csv.next()) != null) {
+            long rowLine = line;
+            line = csv.getLine();
+            if (values.size() == 1 && values.get(0).isBlank()) {
+                continue;
+            }
+            if (values.size() != header.size()) {
+                run.reject(rowLine, null, "Se esperaban " + header.size() + " columnas y llegaron " + values.size());
+                continue;
+            }
+            Map<String, String> row = new LinkedHashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                String value = values.get(i).trim();
+                if (!value.isEmpty()) {
+                    row.put(header.get(i).trim(), value);
+                }
+            }
+            accept(run, rowLine, () -> objectMapper.convertValue(row, Patient.class));
+        }
+        return run.finish();
+    }
+
+    public ImportReport importNdjson(BufferedReader reader) throws IOException {
+        ImportRun run = new ImportRun();
+        long line = 0;
+        String text;
+        while ((text = reader.readLine()) != null) {
+            line++;
+            if (text.isBlank()) {
+                continue;
+            }
+            String json = text;
+            accept(run, line, () -> objectMapper.readValue(json, Patient.class));
+        }
+        return run.finish();
+    }
+
+    private void accept(ImportRun run, long line, RowParser parser) {
+        Patient patient;
+        try {
+            patient = parser.parse();
+        } catch (RuntimeException e) {
+            run.reject(line, null, "Fila con formato invalido");
+            return;
+        }
+
+        String error = validate(patient);
+        if (error != null) {
+            run.reject(line, patient.getIdentificationNumber(), error);
+            return;
+        }
+        if (!run.seen.add(patient.getIdentificationNumber())) {
+            run.reject(line, patient.getIdentificationNumber(), "Identificacion repetida en el archivo");
+            return;
+        }
+
+        // El id y las fechas de auditoria los asigna el servidor
+        patient.setId(null);
+        patient.setVersion(null);
+        run.pending.add(new PendingRow(line, patient));
+        if (run.pending.size() >= chunkSize) {
+            flush(run);
+        }
+    }
+
+    private void flush(ImportRun run) {
+        if (run.pending.isEmpty()) {
+            return;
+        }
+        List<PendingRow> chunk = new ArrayList<>(run.pending);
+        run.pending.clear();
+
+        List<PendingRow> duplicates;
+        try {
+            duplicates = transactionTemplate.execute(status -> persist(chunk));
+        } catch (RuntimeException e) {
+            // El error del lote no dice que fila lo causo (p. ej. otro proceso inserto la misma identificacion
+            // entre la verificacion y el INSERT): se reintenta fila por fila y el reporte nombra la linea real
+            for (PendingRow row : chunk) {
+                retry(run, row);
+            }
+            return;
+        }
+        record(run, chunk, duplicates);
+    }
+
+    private void retry(ImportRun run, PendingRow row) {
+        // El lote revertido dejo ids asignados en el paciente y sus partes
+        Patient patient = row.patient();
+        patient.setId(null);
+        patient.setVersion(null);
+        patient.getVitals().setId(null);
+        patient.getClinicalHistory().setId(null);
+        List<PendingRow> single = List.of(row);
+        try {
+            record(run, single, transactionTemplate.execute(status -> persist(single)));
+        } catch (RuntimeException e) {
+            run.reject(row.line(), patient.getIdentificationNumber(), "Fila rechazada por la base de datos");
+        }
+    }
+
+    // Devuelve las filas cuya identificacion ya estaba registrada
+    private List<PendingRow> persist(List<PendingRow> rows) {
+        // Un solo IN por lote en lugar de un findByIdentificationNumber por fila
+        Set<String> existing = new HashSet<>(repository.findExistingIdentificationNumbers(
+            rows.stream().map(r -> r.patient().getIdentificationNumber()).toList()));
+
+        List<PendingRow> duplicates = new ArrayList<>();
+        List<Patient> inserted = new ArrayList<>(rows.size());
+        for (PendingRow row : rows) {
+            if (existing.contains(row.patient().getIdentificationNumber())) {
+                duplicates.add(row);
+            } else {
+                entityManager.persist(row.patient());
+                inserted.add(row.patient());
+            }
+        }
+        entityManager.flush();
+        // Igual que el alta individual: lectura inicial de signos vitales y evento en el outbox, en la
+        // misma transaccion que los INSERT del lote
+        vitalsService.recordNewProfiles(inserted);
+        for (Patient patient : inserted) {
+            changeFeed.recordPatient(patient, ChangeType.CREATED);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return duplicates;
+    }
+
+    private static void record(ImportRun run, List<PendingRow> rows, List<PendingRow> duplicates) {
+        run.imported += rows.size() - duplicates.size();
+        for (PendingRow row : duplicates) {
+            run.reject(row.line(), row.patient().getIdentificationNumber(), "Identificacion ya registrada");
+        }
+    }
+
+    private static String validate(Patient patient) {
+        if (isBlank(patient.getFirstName()) || isBlank(patient.getLastName())) {
+            return "Nombre y apellido son obligatorios";
+        }
+        if (isBlank(patient.getIdentificationNumber()) || isBlank(patient.getIdentificationType())) {
+            return "Tipo y numero de identificacion son obligatorios";
+        }
+        if (patient.getDateOfBirth() == null) {
+            return "Fecha de nacimiento obligatoria";
+        }
+        for (TextColumn column : TEXT_COLUMNS) {
+            String value = column.value().apply(patient);
+            if (value != null && value.length() > column.length()) {
+                return "Campo " + column.name() + " supera " + column.length() + " caracteres";
+            }
+        }
+        for (NumericColumn column : NUMERIC_COLUMNS) {
+            Double value = column.value().apply(patient);
+            if (value != null && !column.fits(value)) {
+                return "Campo " + column.name() + " fuera de rango";
+            }
+        }
+        return null;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    @FunctionalInterface
+    private interface RowParser {
+        Patient parse();
+    }
+
+    private record PendingRow(long line, Patient patient) {
+    }
+
+    private record TextColumn(String name, int length, Function<Patient, String> value) {
+    }
+
+    // NUMERIC(precision, scale): el valor se redondea a la escala y no puede pasar de precision - scale enteros
+    private record NumericColumn(String name, int precision, int scale, Function<Patient, Double> value) {
+
+        boolean fits(double number) {
+            if (!Double.isFinite(number)) {
+                return false;
+            }
+            BigDecimal rounded = BigDecimal.valueOf(number).setScale(scale, RoundingMode.HALF_UP);
+            return rounded.precision() - rounded.scale() <= precision - scale;
+        }
+    }
+
+    private final class ImportRun {
+        private final long startedAt = System.nanoTime();
+        private final Set<String> seen = new HashSet<>();
+        private final List<PendingRow> pending = new ArrayList<>(chunkSize);
+        private final List<RowError> errors = new ArrayList<>();
+        private long rejected;
+        private long imported;
+
+        void reject(long line, String identificationNumber, String message) {
+            rejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new RowError(line, identificationNumber, message));
+            }
+        }
+
+        ImportReport finish() {
+            flush(this);
+            long elapsedMillis = (System.nanoTime() - startedAt) / 1_000_000;
+            double rowsPerSecond = elapsedMillis > 0 ? imported * 1000.0 / elapsedMillis : imported;
+            return new ImportReport(imported + rejected, imported, rejected, elapsedMillis, rowsPerSecond,
+                errors, rejected > errors.size());
+        }
+    }
+
+    public record RowError(long line, String identificationNumber, String message) {
+    }
+
+    public record ImportReport(long totalRows, long imported, long rejected, long elapsedMillis, double rowsPerSecond,
+                               List<RowError> errors, boolean errorsTruncated) {
+    }
+}
@@ -0,0 +1,30 @@
+package com.soulconnect.backend.service;
+
+import com.soulconnect.backend.model.ReminderChannel;
+import java.util.List;
+import java.util.UUID;
+
+// Punto de extension para el proveedor de correo/SMS. Recibe un lote y devuelve un resultado por mensaje,
+// en el mismo orden; una excepcion cuenta como fallo reintentable de todo el lote
+public interface ReminderSender {
+
+    List<Result> send(List<Message> batch);
+
+    record Message(UUID appointmentId, ReminderChannel channel, String recipient, String text) {
+    }
+
+    record Result(boolean delivered, boolean retryable, String error) {
+
+        public static Result ok() {
+            return new Result(true, false, null);
+        }
+
+        public static Result retry(String error) {
+            return new Result(false, true, error);
+        }
+
+        public static Result reject(String error) {
+            return new Result(false, false, error);
+        }
+    }
+}
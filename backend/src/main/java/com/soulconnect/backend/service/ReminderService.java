@@ -0,0 +1,369 @@
+package com.soulconnect.backend.service;
+
+import com.soulconnect.backend.model.AppointmentReminder;
+import com.soulconnect.backend.model.ReminderChannel;
+import com.soulconnect.backend.model.ReminderStatus;
+import com.soulconnect.backend.repository.AppointmentRepository;
+import com.soulconnect.backend.repository.AppointmentReminderRepository;
+import com.soulconnect.backend.repository.ReminderCandidate;
+import jakarta.annotation.PreDestroy;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+// Recordatorios del dia siguiente. Un productor pagina las citas PENDING (keyset) hacia una cola acotada;
+// varios trabajadores la vacian en lotes hacia el ReminderSender, reintentan con espera exponencial y
+// guardan el estado de cada lote. Todo corre en un pool propio: ni el scheduler ni las peticiones esperan.
+// Lo enviado queda en appointment_reminders por (cita, fecha), asi que repetir una corrida no reenvia.
+@Service
+public class ReminderService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReminderService.class);
+    private static final UUID MIN_ID = new UUID(0, 0);
+    private static final long POLL_MILLIS = 100;
+
+    private final AppointmentRepository appointments;
+    private final AppointmentReminderRepository reminders;
+    private final ReminderSender sender;
+    private final int pageSize;
+    private final int batchSize;
+    private final int workers;
+    private final int queueCapacity;
+    private final int maxAttempts;
+    private final Duration backoff;
+    private final Duration window;
+    private final Clock clock;
+
+    // Un hilo coordinador (productor) mas los trabajadores
+    private final ExecutorService executor;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile RunReport lastReport;
+
+    @Autowired
+    public ReminderService(AppointmentRepository appointments,
+                           AppointmentReminderRepository reminders,
+                           ReminderSender sender,
+                           @Value("${soulconnect.reminders.page-size:1000}") int pageSize,
+                           @Value("${soulconnect.reminders.batch-size:100}") int batchSize,
+                           @Value("${soulconnect.reminders.workers:4}") int workers,
+                           @Value("${soulconnect.reminders.queue-capacity:2000}") int queueCapacity,
+                           @Value("${soulconnect.reminders.max-attempts:3}") int maxAttempts,
+                           @Value("${soulconnect.reminders.backoff:PT1S}") Duration backoff,
+                           @Value("${soulconnect.reminders.window:PT2H}") Duration window) {
+        this(appointments, reminders, sender, pageSize, batchSize, workers, queueCapacity, maxAttempts,
+            backoff, window, Clock.systemDefaultZone());
+    }
+
+    ReminderService(AppointmentRepository appointments, AppointmentReminderRepository reminders, ReminderSender sender,
+                    int pageSize, int batchSize, int workers, int queueCapacity, int maxAttempts,
+                    Duration backoff, Duration window, Clock clock) {
+        if (pageSize <= 0 || batchSize <= 0 || workers <= 0 || queueCapacity < batchSize || maxAttempts <= 0) {
+            throw new IllegalArgumentException("Configuracion de recordatorios invalida");
+        }
+        this.appointments = appointments;
+        this.reminders = reminders;
+        this.sender = sender;
+        this.pageSize = pageSize;
+        this.batchSize = batchSize;
+        this.workers = workers;
+        this.queueCapacity = queueCapacity;
+        this.maxAttempts = maxAttempts;
+        this.backoff = backoff;
+        this.window = window;
+        this.clock = clock;
+        this.executor = Executors.newFixedThreadPool(workers + 1,
+            Thread.ofPlatform().name("reminder-", 0).daemon(true).factory());
+    }
+
+    public record RunReport(LocalDate date, int selected, int sent, int failed, int skipped,
+                            Duration elapsed, boolean completed) {
+    }
+
+    public static class AlreadyRunningException extends RuntimeException {
+        public AlreadyRunningException() {
+            super("Ya hay una corrida de recordatorios en curso");
+        }
+    }
+
+    @Scheduled(cron = "${soulconnect.reminders.cron:0 0 7 * * *}")
+    public void remindTomorrow() {
+        try {
+            submit(LocalDate.now(clock).plusDays(1));
+        } catch (AlreadyRunningException e) {
+            log.warn("Recordatorios: se omite la corrida programada, la anterior sigue en curso");
+        }
+    }
+
+    // Encola la corrida y vuelve de inmediato; una sola corrida a la vez por instancia
+    public CompletableFuture<RunReport> submit(LocalDate date) {
+        if (!running.compareAndSet(false, true)) {
+            throw new AlreadyRunningException();
+        }
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                RunReport report;
+                try {
+                    report = run(date);
+                } finally {
+                    running.set(false);
+                }
+                lastReport = report;
+                return report;
+            }, executor);
+        } catch (RuntimeException e) {
+            running.set(false);
+            throw e;
+        }
+    }
+
+    public RunReport getLastReport() {
+        return lastReport;
+    }
+
+    private RunReport run(LocalDate date) {
+        long start = System.nanoTime();
+        long deadline = start + window.toNanos();
+        BlockingQueue<ReminderCandidate> queue = new ArrayBlockingQueue<>(queueCapacity);
+        AtomicBoolean producerDone = new AtomicBoolean();
+        Counters counters = new Counters();
+
+        List<Future<?>> consumers = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            consumers.add(executor.submit(() -> consume(date, queue, producerDone, counters, deadline)));
+        }
+
+        boolean completed = false;
+        try {
+            completed = produce(date, queue, counters, deadline);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.error("Recordatorios {}: fallo la seleccion de citas", date, e);
+        } finally {
+            producerDone.set(true);
+        }
+        completed &= awaitConsumers(consumers, deadline);
+        // Lo que quedo en la cola al vencer la ventana no se marca: la siguiente corrida lo retoma
+        completed &= queue.isEmpty();
+
+        RunReport report = new RunReport(date, counters.selected.get(), counters.sent.get(), counters.failed.get(),
+            counters.skipped.get(), Duration.ofNanos(System.nanoTime() - start), completed);
+        log.info("Recordatorios {}: {} seleccionados, {} enviados, {} fallidos, {} sin contacto en {} ms{}",
+            date, report.selected(), report.sent(), report.failed(), report.skipped(), report.elapsed().toMillis(),
+            completed ? "" : " (incompleto)");
+        return report;
+    }
+
+    // Pagina por (time, id); offer con espera aplica contrapresion si los trabajadores van atrasados
+    private boolean produce(LocalDate date, BlockingQueue<ReminderCandidate> queue, Counters counters, long deadline)
+            throws InterruptedException {
+        LocalTime afterTime = LocalTime.MIN;
+        UUID afterId = MIN_ID;
+        while (true) {
+            List<ReminderCandidate> page = appointments.findReminderCandidates(date, afterTime, afterId, Limit.of(pageSize));
+            for (ReminderCandidate candidate : page) {
+                if (!queue.offer(candidate, remaining(deadline), TimeUnit.NANOSECONDS)) {
+                    return false;
+                }
+                counters.selected.incrementAndGet();
+            }
+            if (page.size() < pageSize) {
+                return true;
+            }
+            ReminderCandidate last = page.get(page.size() - 1);
+            afterTime = last.time();
+            afterId = last.appointmentId();
+        }
+    }
+
+    private void consume(LocalDate date, BlockingQueue<ReminderCandidate> queue, AtomicBoolean producerDone,
+                         Counters counters, long deadline) {
+        List<ReminderCandidate> batch = new ArrayList<>(batchSize);
+        try {
+            while (remaining(deadline) > 0) {
+                ReminderCandidate first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    if (producerDone.get() && queue.isEmpty()) {
+                        return;
+                    }
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                try {
+                    dispatch(batch, counters, deadline);
+                } catch (RuntimeException e) {
+                    // Sin estado guardado el lote se reintenta en la siguiente corrida
+                    log.error("Recordatorios {}: no se pudo registrar un lote de {}", date, batch.size(), e);
+                }
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void dispatch(List<ReminderCandidate> batch, Counters counters, long deadline) throws InterruptedException {
+        List<AppointmentReminder> records = new ArrayList<>(batch.size());
+        List<ReminderSender.Message> pending = new ArrayList<>(batch.size());
+        for (ReminderCandidate candidate : batch) {
+            ReminderSender.Message message = messageFor(candidate);
+            if (message == null) {
+                records.add(record(candidate.appointmentId(), candidate.date(), null, null, ReminderStatus.SKIPPED, 0, null));
+                counters.skipped.incrementAndGet();
+            } else {
+                pending.add(message);
+            }
+        }
+
+        LocalDate date = batch.get(0).date();
+        int attempt = 0;
+        while (!pending.isEmpty()) {
+            attempt++;
+            List<ReminderSender.Result> results = sendSafely(pending);
+            List<ReminderSender.Message> retry = new ArrayList<>();
+            for (int i = 0; i < pending.size(); i++) {
+                ReminderSender.Message message = pending.get(i);
+                ReminderSender.Result result = results.get(i);
+                if (result.delivered()) {
+                    records.add(record(message.appointmentId(), date, message.channel(), message.recipient(),
+                        ReminderStatus.SENT, attempt, null));
+                    counters.sent.incrementAndGet();
+                } else if (result.retryable() && attempt < maxAttempts) {
+                    retry.add(message);
+                } else {
+                    records.add(record(message.appointmentId(), date, message.channel(), message.recipient(),
+                        ReminderStatus.FAILED, attempt, result.error()));
+                    counters.failed.incrementAndGet();
+                }
+            }
+            pending = retry;
+            if (!pending.isEmpty()) {
+                long wait = backoff.toNanos() << (attempt - 1);
+                if (wait >= remaining(deadline)) {
+                    for (ReminderSender.Message message : pending) {
+                        records.add(record(message.appointmentId(), date, message.channel(), message.recipient(),
+                            ReminderStatus.FAILED, attempt, "Ventana de envio agotada"));
+                        counters.failed.incrementAndGet();
+                    }
+                    break;
+                }
+                TimeUnit.NANOSECONDS.sleep(wait);
+            }
+        }
+        reminders.recordAll(records);
+    }
+
+    private List<ReminderSender.Result> sendSafely(List<ReminderSender.Message> messages) {
+        try {
+            List<ReminderSender.Result> results = sender.send(messages);
+            if (results != null && results.size() == messages.size()) {
+                return results;
+            }
+            return failAll(messages.size(), "Respuesta del emisor incompleta");
+        } catch (RuntimeException e) {
+            log.warn("Recordatorios: fallo el envio de un lote de {}: {}", messages.size(), e.getMessage());
+            return failAll(messages.size(), e.getMessage());
+        }
+    }
+
+    private static List<ReminderSender.Result> failAll(int size, String error) {
+        List<ReminderSender.Result> results = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            results.add(ReminderSender.Result.retry(error));
+        }
+        return results;
+    }
+
+    // Correo si hay, si no SMS; sin ninguno no hay a quien avisar
+    static ReminderSender.Message messageFor(ReminderCandidate candidate) {
+        ReminderChannel channel;
+        String recipient;
+        if (candidate.email() != null && !candidate.email().isBlank()) {
+            channel = ReminderChannel.EMAIL;
+            recipient = candidate.email().trim();
+        } else if (candidate.phoneNumber() != null && !candidate.phoneNumber().isBlank()) {
+            channel = ReminderChannel.SMS;
+            recipient = candidate.phoneNumber().trim();
+        } else {
+            return null;
+        }
+        String text = "Hola " + candidate.patientName() + ", le recordamos su cita de " + candidate.specialty()
+            + " el " + candidate.date() + " a las " + candidate.time() + ".";
+        return new ReminderSender.Message(candidate.appointmentId(), channel, recipient, text);
+    }
+
+    private AppointmentReminder record(UUID appointmentId, LocalDate date, ReminderChannel channel, String recipient,
+                                       ReminderStatus status, int attempts, String error) {
+        Instant now = clock.instant();
+        AppointmentReminder reminder = new AppointmentReminder();
+        reminder.setAppointmentId(appointmentId);
+        reminder.setAppointmentDate(date);
+        reminder.setChannel(channel);
+        reminder.setRecipient(recipient);
+        reminder.setStatus(status);
+        reminder.setAttempts(attempts);
+        reminder.setLastError(error != null && error.length() > 500 ? error.substring(0, 500) : error);
+        reminder.setSentAt(status == ReminderStatus.SENT ? now : null);
+        reminder.setUpdatedAt(now);
+        return reminder;
+    }
+
+    private boolean awaitConsumers(List<Future<?>> consumers, long deadline) {
+        boolean completed = true;
+        for (Future<?> consumer : consumers) {
+            try {
+                // Margen para que el ultimo lote termine de guardarse aunque la ventana haya vencido
+                consumer.get(Math.max(remaining(deadline), 0) + TimeUnit.SECONDS.toNanos(30), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                consumer.cancel(true);
+                completed = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                consumer.cancel(true);
+                completed = false;
+            } catch (Exception e) {
+                completed = false;
+            }
+        }
+        return completed && remaining(deadline) > 0;
+    }
+
+    private static long remaining(long deadline) {
+        return deadline - System.nanoTime();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static final class Counters {
+        final AtomicInteger selected = new AtomicInteger();
+        final AtomicInteger sent = new AtomicInteger();
+        final AtomicInteger failed = new AtomicInteger();
+        final AtomicInteger skipped = new AtomicInteger();
+    }
+}
@@ -0,0 +1,223 @@
+package com.soulconnect.backend.service;
+
+import com.soulconnect.backend.model.AppointmentType;
+import com.soulconnect.backend.repository.AppointmentRepository;
+import com.soulconnect.backend.repository.BookedSlot;
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+// Cupos libres por especialidad y dia: horario laboral menos citas vigentes.
+// Cada dia consultado se guarda como un BitSet de ocupacion que el controlador de citas actualiza al crear,
+// mover o cancelar; el TTL acota la deriva frente a escrituras de otras instancias. Es informativo:
+// quien decide si un cupo se puede reservar es el UNIQUE de la base de datos.
+@Service
+public class SlotAvailabilityService {
+
+    static final int MAX_CACHED_DAYS = 20_000;
+
+    private final AppointmentRepository repository;
+    private final AppointmentTypeCatalog catalog;
+    private final LocalTime dayStart;
+    private final int slotMinutes;
+    private final int slotsPerDay;
+    private final Set<DayOfWeek> workingDays;
+    private final Duration cacheTtl;
+    private final Clock clock;
+
+    private final Map<DayKey, DayOccupancy> occupancy = new ConcurrentHashMap<>();
+
+    @Autowired
+    public SlotAvailabilityService(AppointmentRepository repository,
+                                   AppointmentTypeCatalog catalog,
+                                   @Value("${soulconnect.availability.day-start:08:00}") String dayStart,
+                                   @Value("${soulconnect.availability.day-end:17:00}") String dayEnd,
+                                   @Value("${soulconnect.availability.slot-minutes:20}") int slotMinutes,
+                                   @Value("${soulconnect.availability.working-days:MONDAY,TUESDAY,WEDNESDAY,THURSDAY,FRIDAY}") String workingDays,
+                                   @Value("${soulconnect.availability.cache-ttl:PT1M}") Duration cacheTtl) {
+        this(repository, catalog, LocalTime.parse(dayStart), LocalTime.parse(dayEnd), slotMinutes,
+            parseDays(workingDays), cacheTtl, Clock.systemDefaultZone());
+    }
+
+    SlotAvailabilityService(AppointmentRepository repository, AppointmentTypeCatalog catalog, LocalTime dayStart,
+                            LocalTime dayEnd, int slotMinutes, Set<DayOfWeek> workingDays, Duration cacheTtl, Clock clock) {
+        if (slotMinutes <= 0 || !dayEnd.isAfter(dayStart)) {
+            throw new IllegalArgumentException("Horario laboral o duracion de cupo invalidos");
+        }
+        this.repository = repository;
+        this.catalog = catalog;
+        this.dayStart = dayStart;
+        this.slotMinutes = slotMinutes;
+        this.slotsPerDay = (int) (Duration.between(dayStart, dayEnd).toMinutes() / slotMinutes);
+        this.workingDays = workingDays;
+        this.cacheTtl = cacheTtl;
+        this.clock = clock;
+    }
+
+    public int getSlotMinutes() {
+        return slotMinutes;
+    }
+
+    // La especialidad de una cita es el nombre o la especialidad de un tipo del catalogo
+    public boolean isKnownSpecialty(String specialty) {
+        for (AppointmentType type : catalog.get().types()) {
+            if (specialty.equals(type.getName()) || specialty.equals(type.getSpecialty())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public List<DayAvailability> findAvailability(String specialty, LocalDate from, LocalDate to) {
+        Instant now = clock.instant();
+        LocalDate firstMissing = null;
+        LocalDate lastMissing = null;
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            if (!workingDays.contains(day.getDayOfWeek())) {
+                continue;
+            }
+            DayOccupancy cached = occupancy.get(new DayKey(specialty, day));
+            if (cached == null || cached.isExpired(now, cacheTtl)) {
+                if (firstMissing == null) {
+                    firstMissing = day;
+                }
+                lastMissing = day;
+            }
+        }
+        // Una sola consulta por rango para todos los dias que faltan, nunca una por cupo o por dia
+        Map<LocalDate, DayOccupancy> loaded = firstMissing != null
+            ? load(specialty, firstMissing, lastMissing, now)
+            : Map.of();
+
+        LocalDateTime current = LocalDateTime.now(clock);
+        List<DayAvailability> result = new ArrayList<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            if (!workingDays.contains(day.getDayOfWeek())) {
+                continue;
+            }
+            DayOccupancy cachedDay = loaded.get(day);
+            if (cachedDay == null) {
+                cachedDay = occupancy.get(new DayKey(specialty, day));
+            }
+            BitSet busy = cachedDay != null ? cachedDay.snapshot() : new BitSet(slotsPerDay);
+
+            List<LocalTime> open = new ArrayList<>();
+            for (int slot = busy.nextClearBit(0); slot < slotsPerDay; slot = busy.nextClearBit(slot + 1)) {
+                LocalTime time = dayStart.plusMinutes((long) slot * slotMinutes);
+                if (day.atTime(time).isAfter(current)) {
+                    open.add(time);
+                }
+            }
+            result.add(new DayAvailability(day, open));
+        }
+        return result;
+    }
+
+    // Actualizacion incremental: solo toca dias que ya estan en memoria
+    public void occupy(String specialty, LocalDate date, LocalTime time) {
+        update(specialty, date, time, true);
+    }
+
+    public void release(String specialty, LocalDate date, LocalTime time) {
+        update(specialty, date, time, false);
+    }
+
+    public void invalidate() {
+        occupancy.clear();
+    }
+
+    private void update(String specialty, LocalDate date, LocalTime time, boolean busy) {
+        if (specialty == null || date == null || time == null) {
+            return;
+        }
+        DayOccupancy day = occupancy.get(new DayKey(specialty, date));
+        int slot = slotIndex(time);
+        if (day != null && slot >= 0) {
+            day.set(slot, busy);
+        }
+    }
+
+    private Map<LocalDate, DayOccupancy> load(String specialty, LocalDate from, LocalDate to, Instant now) {
+        Map<LocalDate, BitSet> bits = new HashMap<>();
+        for (BookedSlot booked : repository.findBookedSlots(specialty, from, to)) {
+            int slot = slotIndex(booked.time());
+            if (slot >= 0) {
+                bits.computeIfAbsent(booked.date(), d -> new BitSet(slotsPerDay)).set(slot);
+            }
+        }
+
+        if (occupancy.size() > MAX_CACHED_DAYS) {
+            occupancy.clear();
+        }
+        Map<LocalDate, DayOccupancy> loaded = new HashMap<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            DayOccupancy fresh = new DayOccupancy(bits.getOrDefault(day, new BitSet(slotsPerDay)), now);
+            occupancy.put(new DayKey(specialty, day), fresh);
+            loaded.put(day, fresh);
+        }
+        return loaded;
+    }
+
+    // Indice del cupo que contiene la hora, o -1 si cae fuera del horario laboral
+    private int slotIndex(LocalTime time) {
+        if (time.isBefore(dayStart)) {
+            return -1;
+        }
+        int slot = (int) (Duration.between(dayStart, time).toMinutes() / slotMinutes);
+        return slot < slotsPerDay ? slot : -1;
+    }
+
+    private static Set<DayOfWeek> parseDays(String value) {
+        Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+        for (String day : value.split(",")) {
+            if (!day.isBlank()) {
+                days.add(DayOfWeek.valueOf(day.trim().toUpperCase(Locale.ROOT)));
+            }
+        }
+        return days;
+    }
+
+    private record DayKey(String specialty, LocalDate date) {
+    }
+
+    private static final class DayOccupancy {
+        private final BitSet busy;
+        private final Instant loadedAt;
+
+        private DayOccupancy(BitSet busy, Instant loadedAt) {
+            this.busy = busy;
+            this.loadedAt = loadedAt;
+        }
+
+        boolean isExpired(Instant now, Duration ttl) {
+            return !now.isBefore(loadedAt.plus(ttl));
+        }
+
+        synchronized void set(int slot, boolean value) {
+            busy.set(slot, value);
+        }
+
+        synchronized BitSet snapshot() {
+            return (BitSet) busy.clone();
+        }
+    }
+
+    public record DayAvailability(LocalDate date, List<LocalTime> openSlots) {
+    }
+}
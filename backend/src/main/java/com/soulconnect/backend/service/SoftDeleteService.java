@@ -0,0 +1,208 @@
+package com.soulconnect.backend.service;
+
+import com.soulconnect.backend.model.AppointmentStatus;
+import com.soulconnect.backend.model.ChangeType;
+import com.soulconnect.backend.model.Patient;
+import com.soulconnect.backend.repository.AppointmentRepository;
+import com.soulconnect.backend.repository.AppointmentView;
+import com.soulconnect.backend.repository.PatientRepository;
+import com.soulconnect.backend.repository.PurgeablePatient;
+import jakarta.annotation.PreDestroy;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Borrado logico de pacientes y depuracion de lo vencido. Borrar marca deleted_at en el paciente y en sus
+// citas con dos UPDATE (sin cargar las citas ni depender del ON DELETE CASCADE); los datos se pueden
+// recuperar hasta que vence la retencion. La depuracion corre en un hilo propio, en lotes pequenos con
+// transacciones cortas y una pausa entre lotes, y salta las filas bloqueadas: nunca frena las reservas
+@Service
+public class SoftDeleteService {
+
+    private static final Logger log = LoggerFactory.getLogger(SoftDeleteService.class);
+
+    private final PatientRepository patients;
+    private final AppointmentRepository appointments;
+    private final DashboardAggregateService aggregateService;
+    private final ChangeFeedService changeFeed;
+    private final SlotAvailabilityService availabilityService;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration retention;
+    private final int batchSize;
+    private final Duration pause;
+    private final int maxBatches;
+    private final Clock clock;
+
+    private final ExecutorService executor =
+        Executors.newSingleThreadExecutor(Thread.ofPlatform().name("purge").daemon(true).factory());
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile PurgeReport lastReport;
+
+    @Autowired
+    public SoftDeleteService(PatientRepository patients,
+                             AppointmentRepository appointments,
+                             DashboardAggregateService aggregateService,
+                             ChangeFeedService changeFeed,
+                             SlotAvailabilityService availabilityService,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${soulconnect.purge.retention:P30D}") Duration retention,
+                             @Value("${soulconnect.purge.batch-size:100}") int batchSize,
+                             @Value("${soulconnect.purge.pause:PT0.2S}") Duration pause,
+                             @Value("${soulconnect.purge.max-batches:50}") int maxBatches) {
+        this(patients, appointments, aggregateService, changeFeed, availabilityService, transactionManager,
+            retention, batchSize, pause, maxBatches, Clock.systemUTC());
+    }
+
+    SoftDeleteService(PatientRepository patients, AppointmentRepository appointments,
+                      DashboardAggregateService aggregateService, ChangeFeedService changeFeed,
+                      SlotAvailabilityService availabilityService, PlatformTransactionManager transactionManager,
+                      Duration retention, int batchSize, Duration pause, int maxBatches, Clock clock) {
+        if (batchSize <= 0 || maxBatches <= 0 || retention.isNegative() || pause.isNegative()) {
+            throw new IllegalArgumentException("Configuracion de depuracion invalida");
+        }
+        this.patients = patients;
+        this.appointments = appointments;
+        this.aggregateService = aggregateService;
+        this.changeFeed = changeFeed;
+        this.availabilityService = availabilityService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retention = retention;
+        this.batchSize = batchSize;
+        this.pause = pause;
+        this.maxBatches = maxBatches;
+        this.clock = clock;
+    }
+
+    // completed es false si la corrida se corto por max-batches (lo que falta queda para la siguiente)
+    public record PurgeReport(Instant before, int appointments, int patients, int batches, boolean completed) {
+    }
+
+    private record Batch(int appointments, int patients, boolean full) {
+    }
+
+    // false si el paciente no existe o ya estaba borrado
+    public boolean deletePatient(UUID id) {
+        List<AppointmentView> deleted = transactionTemplate.execute(status -> {
+            Optional<Patient> patient = patients.findById(id);
+            if (patient.isEmpty()) {
+                return null;
+            }
+            List<AppointmentView> live = appointments.findViewsByPatientId(id);
+            if (patients.softDeletePatient(id, clock.instant()) == 0) {
+                return null;
+            }
+            aggregateService.appointmentsDeleted(live);
+            for (AppointmentView view : live) {
+                changeFeed.recordAppointment(view, ChangeType.DELETED);
+            }
+            changeFeed.recordPatient(patient.get(), ChangeType.DELETED);
+            return live;
+        });
+        if (deleted == null) {
+            return false;
+        }
+        // Despues del commit, igual que al borrar una cita
+        for (AppointmentView view : deleted) {
+            if (view.status() != AppointmentStatus.CANCELLED) {
+                availabilityService.release(view.specialty(), view.date(), view.time());
+            }
+        }
+        return true;
+    }
+
+    @Scheduled(cron = "${soulconnect.purge.cron:0 */5 * * * *}")
+    public void purgeExpired() {
+        // El scheduler tiene un solo hilo: la corrida va al executor propio y este metodo vuelve de inmediato
+        if (!running.compareAndSet(false, true)) {
+            log.debug("Depuracion: se omite la corrida programada, la anterior sigue en curso");
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    purgeNow();
+                } catch (RuntimeException e) {
+                    log.error("Depuracion de borrados logicos fallida", e);
+                } finally {
+                    running.set(false);
+                }
+            });
+        } catch (RuntimeException e) {
+            running.set(false);
+            throw e;
+        }
+    }
+
+    // Corrida sincrona: lotes hasta vaciar lo vencido o llegar a max-batches
+    PurgeReport purgeNow() {
+        Instant before = clock.instant().minus(retention);
+        int purgedAppointments = 0;
+        int purgedPatients = 0;
+        int batches = 0;
+        boolean more = true;
+        while (more && batches < maxBatches) {
+            Batch batch = transactionTemplate.execute(status -> purgeBatch(before));
+            purgedAppointments += batch.appointments();
+            purgedPatients += batch.patients();
+            batches++;
+            more = batch.full();
+            if (more && !sleep()) {
+                break;
+            }
+        }
+        PurgeReport report = new PurgeReport(before, purgedAppointments, purgedPatients, batches, !more);
+        if (purgedAppointments > 0 || purgedPatients > 0) {
+            log.info("Depuracion: {} citas y {} pacientes borrados antes de {} eliminados en {} lotes",
+                purgedAppointments, purgedPatients, before, batches);
+        }
+        lastReport = report;
+        return report;
+    }
+
+    public PurgeReport getLastReport() {
+        return lastReport;
+    }
+
+    // Primero las citas sueltas y luego los pacientes (que arrastran las suyas); cada parte con su limite
+    private Batch purgeBatch(Instant before) {
+        List<UUID> expiredAppointments = patients.lockExpiredAppointments(before, batchSize);
+        int purgedAppointments = patients.purgeAppointments(expiredAppointments);
+        List<PurgeablePatient> expiredPatients = patients.lockExpiredPatients(before, batchSize);
+        int purgedPatients = patients.purgePatients(expiredPatients);
+        boolean full = expiredAppointments.size() == batchSize || expiredPatients.size() == batchSize;
+        return new Batch(purgedAppointments, purgedPatients, full);
+    }
+
+    // Limita el ritmo: entre lotes la base atiende el trafico normal sin competir con la depuracion
+    private boolean sleep() {
+        if (pause.isZero()) {
+            return true;
+        }
+        try {
+            Thread.sleep(pause);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
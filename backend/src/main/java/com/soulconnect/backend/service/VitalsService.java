@@ -0,0 +1,169 @@
+package com.soulconnect.backend.service;
+
+import com.soulconnect.backend.model.Patient;
+import com.soulconnect.backend.model.VitalMeasurement;
+import com.soulconnect.backend.model.VitalMeasurementId;
+import com.soulconnect.backend.repository.PatientRepository;
+import com.soulconnect.backend.repository.VitalBucket;
+import com.soulconnect.backend.repository.VitalMeasurementRepository;
+import com.soulconnect.backend.repository.VitalMetric;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+// Ingesta y consulta de la serie temporal de signos vitales (tabla de solo agregado)
+@Service
+public class VitalsService {
+
+    static final String PROFILE_SOURCE = "perfil";
+
+    // Tolerancia para relojes de dispositivos adelantados
+    private static final Duration FUTURE_SKEW = Duration.ofMinutes(5);
+
+    private final VitalMeasurementRepository measurementRepository;
+    private final PatientRepository patientRepository;
+    private final int maxBatch;
+    private final int maxBuckets;
+    private final Clock clock;
+
+    @Autowired
+    public VitalsService(VitalMeasurementRepository measurementRepository,
+                         PatientRepository patientRepository,
+                         @Value("${soulconnect.vitals.max-batch:5000}") int maxBatch,
+                         @Value("${soulconnect.vitals.max-buckets:2000}") int maxBuckets) {
+        this(measurementRepository, patientRepository, maxBatch, maxBuckets, Clock.systemUTC());
+    }
+
+    VitalsService(VitalMeasurementRepository measurementRepository, PatientRepository patientRepository,
+                  int maxBatch, int maxBuckets, Clock clock) {
+        this.measurementRepository = measurementRepository;
+        this.patientRepository = patientRepository;
+        this.maxBatch = maxBatch;
+        this.maxBuckets = maxBuckets;
+        this.clock = clock;
+    }
+
+    // Lote de lecturas de uno o varios pacientes; todo o nada: un error de validacion rechaza el lote
+    public IngestResult ingest(List<VitalMeasurement> measurements) {
+        if (measurements == null || measurements.isEmpty()) {
+            throw new IllegalArgumentException("El lote esta vacio");
+        }
+        if (measurements.size() > maxBatch) {
+            throw new IllegalArgumentException("El lote supera el maximo de " + maxBatch + " mediciones");
+        }
+
+        Instant now = clock.instant();
+        Map<VitalMeasurementId, VitalMeasurement> unique = new LinkedHashMap<>();
+        for (int i = 0; i < measurements.size(); i++) {
+            VitalMeasurement m = measurements.get(i);
+            if (m == null || m.getPatientId() == null || m.getMeasuredAt() == null) {
+                throw new IllegalArgumentException("Medicion " + i + ": patientId y measuredAt son obligatorios");
+            }
+            if (m.getMeasuredAt().isAfter(now.plus(FUTURE_SKEW))) {
+                throw new IllegalArgumentException("Medicion " + i + ": measuredAt esta en el futuro");
+            }
+            if (!m.hasValues()) {
+                throw new IllegalArgumentException("Medicion " + i + ": no trae ningun valor");
+            }
+            m.setReceivedAt(now);
+            unique.putIfAbsent(new VitalMeasurementId(m.getPatientId(), m.getMeasuredAt()), m);
+        }
+
+        Set<UUID> patientIds = new HashSet<>();
+        unique.keySet().forEach(id -> patientIds.add(id.getPatientId()));
+        Set<UUID> missing = new HashSet<>(patientIds);
+        patientRepository.findExistingIds(patientIds).forEach(missing::remove);
+        if (!missing.isEmpty()) {
+            throw new UnknownPatientException(missing);
+        }
+
+        measurementRepository.appendAll(new ArrayList<>(unique.values()));
+        return new IngestResult(measurements.size(), unique.size());
+    }
+
+    public List<VitalMeasurement> timeline(UUID patientId, Instant from, Instant to, int limit) {
+        return measurementRepository.findTimeline(patientId, from, to, Limit.of(limit));
+    }
+
+    public List<VitalBucket> buckets(UUID patientId, VitalMetric metric, Instant from, Instant to, Duration bucket) {
+        if (bucket.compareTo(Duration.ofMinutes(1)) < 0) {
+            throw new IllegalArgumentException("El intervalo minimo es de un minuto");
+        }
+        if (Duration.between(from, to).dividedBy(bucket) > maxBuckets) {
+            throw new IllegalArgumentException("El rango pedido genera mas de " + maxBuckets + " intervalos");
+        }
+        return measurementRepository.findBuckets(patientId, metric, from, to, bucket);
+    }
+
+    // Lectura actual del perfil del paciente (los campos de Patient guardan solo el ultimo valor)
+    public static VitalMeasurement snapshotOf(Patient patient) {
+        VitalMeasurement m = new VitalMeasurement();
+        m.setPatientId(patient.getId());
+        m.setHeartRateBpm(patient.getHeartRateBpm());
+        m.setRespiratoryRateRpm(patient.getRespiratoryRateRpm());
+        m.setBloodPressureSys(patient.getBloodPressureSys());
+        m.setBloodPressureDia(patient.getBloodPressureDia());
+        m.setTemperatureC(patient.getTemperatureC());
+        m.setSpo2(patient.getSpo2());
+        m.setWeightKg(patient.getWeightKg());
+        m.setSource(PROFILE_SOURCE);
+        return m;
+    }
+
+    // Al editar el perfil se agrega una medicion si los signos vitales cambiaron, asi no se pierde el historico
+    public void recordProfileChange(VitalMeasurement before, Patient saved) {
+        VitalMeasurement after = snapshotOf(saved);
+        if (!after.hasValues() || (before != null && sameValues(before, after))) {
+            return;
+        }
+        Instant now = clock.instant();
+        after.setMeasuredAt(now);
+        after.setReceivedAt(now);
+        measurementRepository.appendAll(List.of(after));
+    }
+
+    // Importacion masiva: la lectura inicial de cada paciente nuevo va en un solo batch
+    public void recordNewProfiles(List<Patient> saved) {
+        Instant now = clock.instant();
+        List<VitalMeasurement> readings = saved.stream()
+            .map(VitalsService::snapshotOf)
+            .filter(VitalMeasurement::hasValues)
+            .toList();
+        for (VitalMeasurement reading : readings) {
+            reading.setMeasuredAt(now);
+            reading.setReceivedAt(now);
+        }
+        measurementRepository.appendAll(readings);
+    }
+
+    private static boolean sameValues(VitalMeasurement a, VitalMeasurement b) {
+        return Objects.equals(a.getHeartRateBpm(), b.getHeartRateBpm())
+            && Objects.equals(a.getRespiratoryRateRpm(), b.getRespiratoryRateRpm())
+            && Objects.equals(a.getBloodPressureSys(), b.getBloodPressureSys())
+            && Objects.equals(a.getBloodPressureDia(), b.getBloodPressureDia())
+            && Objects.equals(a.getTemperatureC(), b.getTemperatureC())
+            && Objects.equals(a.getSpo2(), b.getSpo2())
+            && Objects.equals(a.getWeightKg(), b.getWeightKg());
+    }
+
+    public record IngestResult(int received, int accepted) {
+    }
+
+    public static class UnknownPatientException extends RuntimeException {
+        public UnknownPatientException(Set<UUID> ids) {
+            super("Pacientes no encontrados: " + ids);
+        }
+    }
+}
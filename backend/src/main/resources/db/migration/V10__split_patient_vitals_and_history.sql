@@ -0,0 +1,72 @@
+-- Particion vertical de patients: la fila nucleo queda angosta (datos de identificacion, contacto y residencia)
+-- y los signos vitales y la historia clinica (siete TEXT) pasan a tablas propias que se cargan solo cuando
+-- se piden. Los ids de las tablas nuevas reutilizan el id del paciente para los datos existentes.
+
+CREATE TABLE patient_vitals (
+    id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
+    blood_type VARCHAR(8),
+    height_cm NUMERIC(5,2),
+    weight_kg NUMERIC(5,2),
+    abdominal_circumference_cm NUMERIC(6,2),
+    heart_rate_bpm INTEGER,
+    respiratory_rate_rpm INTEGER,
+    blood_pressure_sys INTEGER,
+    blood_pressure_dia INTEGER,
+    temperature_c NUMERIC(4,1),
+    spo2 NUMERIC(5,2)
+);
+
+CREATE TABLE patient_clinical_history (
+    id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
+    allergies TEXT,
+    medications TEXT,
+    surgeries TEXT,
+    family_history TEXT,
+    habits TEXT,
+    vaccines TEXT,
+    chronic_conditions TEXT
+);
+
+INSERT INTO patient_vitals (id, blood_type, height_cm, weight_kg, abdominal_circumference_cm, heart_rate_bpm,
+                            respiratory_rate_rpm, blood_pressure_sys, blood_pressure_dia, temperature_c, spo2)
+SELECT id, blood_type, height_cm, weight_kg, abdominal_circumference_cm, heart_rate_bpm,
+       respiratory_rate_rpm, blood_pressure_sys, blood_pressure_dia, temperature_c, spo2
+FROM patients;
+
+INSERT INTO patient_clinical_history (id, allergies, medications, surgeries, family_history, habits, vaccines,
+                                      chronic_conditions)
+SELECT id, allergies, medications, surgeries, family_history, habits, vaccines, chronic_conditions
+FROM patients;
+
+-- Se eliminan las columnas antes del UPDATE: las tuplas reescritas ya no arrastran los valores viejos.
+-- Ejecutar VACUUM (ANALYZE) patients al terminar para recuperar el espacio y el TOAST liberados.
+ALTER TABLE patients
+    DROP COLUMN blood_type,
+    DROP COLUMN height_cm,
+    DROP COLUMN weight_kg,
+    DROP COLUMN abdominal_circumference_cm,
+    DROP COLUMN heart_rate_bpm,
+    DROP COLUMN respiratory_rate_rpm,
+    DROP COLUMN blood_pressure_sys,
+    DROP COLUMN blood_pressure_dia,
+    DROP COLUMN temperature_c,
+    DROP COLUMN spo2,
+    DROP COLUMN allergies,
+    DROP COLUMN medications,
+    DROP COLUMN surgeries,
+    DROP COLUMN family_history,
+    DROP COLUMN habits,
+    DROP COLUMN vaccines,
+    DROP COLUMN chronic_conditions,
+    ADD COLUMN vitals_id UUID,
+    ADD COLUMN clinical_history_id UUID;
+
+UPDATE patients SET vitals_id = id, clinical_history_id = id;
+
+ALTER TABLE patients
+    ALTER COLUMN vitals_id SET NOT NULL,
+    ALTER COLUMN clinical_history_id SET NOT NULL,
+    ADD CONSTRAINT uq_patients_vitals UNIQUE (vitals_id),
+    ADD CONSTRAINT uq_patients_clinical_history UNIQUE (clinical_history_id),
+    ADD CONSTRAINT fk_patients_vitals FOREIGN KEY (vitals_id) REFERENCES patient_vitals(id),
+    ADD CONSTRAINT fk_patients_clinical_history FOREIGN KEY (clinical_history_id) REFERENCES patient_clinical_history(id);
@@ -0,0 +1,33 @@
+-- Serie temporal de signos vitales: solo se agregan filas. La clave primaria (patient_id, measured_at) guarda
+-- la linea de tiempo de cada paciente contigua en el indice, asi un rango se lee con un solo recorrido.
+-- Las filas llegan casi en orden de tiempo, por eso un indice BRIN sobre measured_at (pocas paginas) basta
+-- para los recorridos globales por rango (tableros, depuracion, archivado).
+
+CREATE TABLE vital_measurements (
+    patient_id UUID NOT NULL REFERENCES patients(id) ON DELETE CASCADE,
+    measured_at TIMESTAMPTZ NOT NULL,
+    heart_rate_bpm INTEGER,
+    respiratory_rate_rpm INTEGER,
+    blood_pressure_sys INTEGER,
+    blood_pressure_dia INTEGER,
+    temperature_c NUMERIC(4,1),
+    spo2 NUMERIC(5,2),
+    weight_kg NUMERIC(5,2),
+    source VARCHAR(40),
+    received_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (patient_id, measured_at)
+);
+
+CREATE INDEX idx_vital_measurements_measured_at_brin
+    ON vital_measurements USING BRIN (measured_at) WITH (pages_per_range = 32);
+
+-- El ultimo valor de cada perfil pasa a ser el primer punto de su serie
+INSERT INTO vital_measurements (patient_id, measured_at, heart_rate_bpm, respiratory_rate_rpm, blood_pressure_sys,
+                                blood_pressure_dia, temperature_c, spo2, weight_kg, source)
+SELECT p.id, COALESCE(p.updated_at, p.created_at, CURRENT_TIMESTAMP), v.heart_rate_bpm, v.respiratory_rate_rpm,
+       v.blood_pressure_sys, v.blood_pressure_dia, v.temperature_c, v.spo2, v.weight_kg, 'perfil'
+FROM patients p
+JOIN patient_vitals v ON v.id = p.vitals_id
+WHERE v.heart_rate_bpm IS NOT NULL OR v.respiratory_rate_rpm IS NOT NULL OR v.blood_pressure_sys IS NOT NULL
+   OR v.blood_pressure_dia IS NOT NULL OR v.temperature_c IS NOT NULL OR v.spo2 IS NOT NULL
+   OR v.weight_kg IS NOT NULL;
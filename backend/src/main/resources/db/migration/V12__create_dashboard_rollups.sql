@@ -0,0 +1,30 @@
+-- Rollups para tableros: el costo de una consulta depende del numero de buckets, no de filas.
+-- appointment_daily_counts se ajusta en la misma transaccion que cada cambio de cita;
+-- patient_segment_counts y ambos en conjunto se reconstruyen periodicamente desde las tablas base.
+
+CREATE TABLE appointment_daily_counts (
+    date DATE NOT NULL,
+    specialty VARCHAR(80) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    total BIGINT NOT NULL,
+    PRIMARY KEY (date, specialty, status)
+);
+
+CREATE TABLE patient_segment_counts (
+    dimension VARCHAR(20) NOT NULL,
+    segment VARCHAR(255) NOT NULL,
+    total BIGINT NOT NULL,
+    PRIMARY KEY (dimension, segment)
+);
+
+INSERT INTO appointment_daily_counts (date, specialty, status, total)
+SELECT date, specialty, status, COUNT(*)
+FROM appointments
+GROUP BY date, specialty, status;
+
+INSERT INTO patient_segment_counts (dimension, segment, total)
+SELECT 'city', COALESCE(city, ''), COUNT(*) FROM patients GROUP BY COALESCE(city, '')
+UNION ALL
+SELECT 'eps', COALESCE(eps, ''), COUNT(*) FROM patients GROUP BY COALESCE(eps, '')
+UNION ALL
+SELECT 'stratum', COALESCE(socioeconomic_stratum, ''), COUNT(*) FROM patients GROUP BY COALESCE(socioeconomic_stratum, '');
@@ -0,0 +1,18 @@
+-- Estado de entrega de los recordatorios de citas: una fila por (cita, fecha de la cita).
+-- La clave hace idempotente el envio: una cita ya avisada para esa fecha no se vuelve a seleccionar,
+-- y si se reprograma a otra fecha recibe un recordatorio nuevo.
+
+CREATE TABLE appointment_reminders (
+    appointment_id UUID NOT NULL REFERENCES appointments(id) ON DELETE CASCADE,
+    appointment_date DATE NOT NULL,
+    channel VARCHAR(10),
+    recipient VARCHAR(255),
+    status VARCHAR(10) NOT NULL,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    last_error VARCHAR(500),
+    sent_at TIMESTAMPTZ,
+    updated_at TIMESTAMPTZ NOT NULL,
+    PRIMARY KEY (appointment_id, appointment_date)
+);
+
+CREATE INDEX idx_appointment_reminders_date_status ON appointment_reminders(appointment_date, status);
@@ -0,0 +1,17 @@
+-- Outbox de cambios de pacientes y citas. Los controladores insertan en la misma transaccion que el cambio;
+-- el relay asigna position (orden de publicacion) y published_at. El feed /api/changes?since= y el stream
+-- SSE recorren position; el indice parcial deja barata la busqueda de pendientes.
+
+CREATE TABLE change_events (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    position BIGINT UNIQUE,
+    aggregate_type VARCHAR(20) NOT NULL,
+    aggregate_id UUID NOT NULL,
+    change_type VARCHAR(10) NOT NULL,
+    payload TEXT NOT NULL,
+    occurred_at TIMESTAMPTZ NOT NULL,
+    published_at TIMESTAMPTZ
+);
+
+CREATE INDEX idx_change_events_unpublished ON change_events(id) WHERE position IS NULL;
+CREATE INDEX idx_change_events_published_at ON change_events(published_at) WHERE position IS NOT NULL;
@@ -0,0 +1,56 @@
+-- Borrado logico de pacientes y citas: deleted_at marca la fila y un trabajo en segundo plano la elimina
+-- al vencer la retencion. Los indices de las consultas frecuentes pasan a ser parciales (deleted_at IS NULL):
+-- las filas borradas no ocupan espacio en ellos y el planificador los usa porque Hibernate agrega el mismo
+-- predicado a cada consulta. idx_appointments_patient queda completo: lo usan la FK y la depuracion.
+
+ALTER TABLE patients ADD COLUMN IF NOT EXISTS deleted_at TIMESTAMPTZ;
+ALTER TABLE appointments ADD COLUMN IF NOT EXISTS deleted_at TIMESTAMPTZ;
+
+-- El documento es unico solo entre pacientes vigentes: uno borrado no bloquea un registro nuevo
+ALTER TABLE patients DROP CONSTRAINT IF EXISTS patients_identification_number_key;
+DROP INDEX IF EXISTS idx_patients_identification;
+CREATE UNIQUE INDEX uq_patients_identification_live ON patients(identification_number) WHERE deleted_at IS NULL;
+
+DROP INDEX IF EXISTS idx_patients_created_id;
+DROP INDEX IF EXISTS idx_patients_city_created_id;
+DROP INDEX IF EXISTS idx_patients_eps_created_id;
+DROP INDEX IF EXISTS idx_patients_dob;
+DROP INDEX IF EXISTS idx_patients_first_name_lower;
+DROP INDEX IF EXISTS idx_patients_last_name_lower;
+CREATE INDEX idx_patients_created_id ON patients(created_at, id) WHERE deleted_at IS NULL;
+CREATE INDEX idx_patients_city_created_id ON patients(city, created_at, id) WHERE deleted_at IS NULL;
+CREATE INDEX idx_patients_eps_created_id ON patients(eps, created_at, id) WHERE deleted_at IS NULL;
+CREATE INDEX idx_patients_dob ON patients(date_of_birth) WHERE deleted_at IS NULL;
+CREATE INDEX idx_patients_first_name_lower ON patients(lower(first_name) text_pattern_ops) WHERE deleted_at IS NULL;
+CREATE INDEX idx_patients_last_name_lower ON patients(lower(last_name) text_pattern_ops) WHERE deleted_at IS NULL;
+
+DROP INDEX IF EXISTS idx_patients_full_name_trgm;
+DROP INDEX IF EXISTS idx_patients_last_name_trgm;
+DROP INDEX IF EXISTS idx_patients_email_trgm;
+DROP INDEX IF EXISTS idx_patients_phone_trgm;
+DROP INDEX IF EXISTS idx_patients_identification_trgm;
+CREATE INDEX idx_patients_full_name_trgm
+    ON patients USING gin (f_unaccent(lower(first_name || ' ' || last_name)) gin_trgm_ops) WHERE deleted_at IS NULL;
+CREATE INDEX idx_patients_last_name_trgm
+    ON patients USING gin (f_unaccent(lower(last_name)) gin_trgm_ops) WHERE deleted_at IS NULL;
+CREATE INDEX idx_patients_email_trgm
+    ON patients USING gin (lower(email) gin_trgm_ops) WHERE deleted_at IS NULL;
+CREATE INDEX idx_patients_phone_trgm
+    ON patients USING gin (phone gin_trgm_ops) WHERE deleted_at IS NULL;
+CREATE INDEX idx_patients_identification_trgm
+    ON patients USING gin (identification_number gin_trgm_ops) WHERE deleted_at IS NULL;
+
+DROP INDEX IF EXISTS idx_appointments_date_time;
+DROP INDEX IF EXISTS idx_appointments_specialty_date_time;
+DROP INDEX IF EXISTS idx_appointments_status_date_time;
+DROP INDEX IF EXISTS idx_appointments_pending_specialty_date_time;
+CREATE INDEX idx_appointments_date_time ON appointments(date, time, id) WHERE deleted_at IS NULL;
+CREATE INDEX idx_appointments_specialty_date_time ON appointments(specialty, date, time) WHERE deleted_at IS NULL;
+CREATE INDEX idx_appointments_status_date_time ON appointments(status, date, time) WHERE deleted_at IS NULL;
+CREATE INDEX idx_appointments_pending_specialty_date_time
+    ON appointments(specialty, date, time)
+    WHERE status = 'PENDING' AND deleted_at IS NULL;
+
+-- La depuracion recorre solo las filas borradas, en orden de borrado
+CREATE INDEX idx_patients_deleted_at ON patients(deleted_at) WHERE deleted_at IS NOT NULL;
+CREATE INDEX idx_appointments_deleted_at ON appointments(deleted_at) WHERE deleted_at IS NOT NULL;
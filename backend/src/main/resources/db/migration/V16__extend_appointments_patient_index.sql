@@ -0,0 +1,7 @@
+-- Resumen del paciente: historial paginado por fecha y conteo por estado salen del mismo indice.
+-- idx_appointments_patient pasa de (patient_id) a (patient_id, date, time, id): el historial se lee en orden
+-- sin ordenar en memoria, y status/deleted_at incluidos permiten contar y filtrar sin ir a la tabla.
+-- Sigue siendo completo (no parcial) y con patient_id al inicio: lo usan la FK y la depuracion.
+
+DROP INDEX IF EXISTS idx_appointments_patient;
+CREATE INDEX idx_appointments_patient ON appointments(patient_id, date, time, id) INCLUDE (status, deleted_at);
@@ -0,0 +1,12 @@
+-- Indices compuestos para el listado keyset de pacientes (seek sobre created_at, id)
+
+-- Filas antiguas sin created_at quedarian fuera del orden del cursor
+UPDATE patients SET created_at = CURRENT_TIMESTAMP WHERE created_at IS NULL;
+ALTER TABLE patients ALTER COLUMN created_at SET NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_patients_created_id ON patients(created_at, id);
+CREATE INDEX IF NOT EXISTS idx_patients_city_created_id ON patients(city, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_patients_eps_created_id ON patients(eps, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_patients_dob ON patients(date_of_birth);
+CREATE INDEX IF NOT EXISTS idx_patients_first_name_lower ON patients(lower(first_name) text_pattern_ops);
+CREATE INDEX IF NOT EXISTS idx_patients_last_name_lower ON patients(lower(last_name) text_pattern_ops);
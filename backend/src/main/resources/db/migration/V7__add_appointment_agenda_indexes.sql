@@ -0,0 +1,10 @@
+-- Indices compuestos para la agenda de citas (filtros por fecha, especialidad y estado ordenados por date, time)
+
+CREATE INDEX IF NOT EXISTS idx_appointments_date_time ON appointments(date, time, id);
+CREATE INDEX IF NOT EXISTS idx_appointments_specialty_date_time ON appointments(specialty, date, time);
+CREATE INDEX IF NOT EXISTS idx_appointments_status_date_time ON appointments(status, date, time);
+
+-- La consulta mas frecuente del dia: pendientes por especialidad
+CREATE INDEX IF NOT EXISTS idx_appointments_pending_specialty_date_time
+    ON appointments(specialty, date, time)
+    WHERE status = 'PENDING';
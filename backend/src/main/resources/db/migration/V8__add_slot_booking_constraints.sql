@@ -0,0 +1,30 @@
+-- Reserva de cupos sin choques: un cupo (especialidad, fecha, hora) y un horario de paciente solo pueden tener
+-- una cita activa. slot_active es TRUE para citas vigentes y NULL para canceladas; como UNIQUE ignora NULL,
+-- cancelar libera el cupo. Ademas se agrega la columna version para el bloqueo optimista.
+
+ALTER TABLE appointments
+    ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS slot_active BOOLEAN;
+
+ALTER TABLE patients
+    ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+-- Marca como activa solo la primera cita vigente de cada cupo. Los choques ya existentes quedan con
+-- slot_active NULL: siguen visibles y cualquier edicion posterior exigira moverlos a un cupo libre.
+UPDATE appointments a
+SET slot_active = TRUE
+WHERE a.status <> 'CANCELLED'
+  AND NOT EXISTS (
+      SELECT 1 FROM appointments b
+      WHERE b.status <> 'CANCELLED'
+        AND b.id <> a.id
+        AND ((b.specialty = a.specialty AND b.date = a.date AND b.time = a.time)
+             OR (b.patient_id = a.patient_id AND b.date = a.date AND b.time = a.time))
+        AND (COALESCE(b.created_at, '-infinity'), b.id) < (COALESCE(a.created_at, '-infinity'), a.id)
+  );
+
+ALTER TABLE appointments
+    ADD CONSTRAINT uq_appointments_specialty_slot UNIQUE (specialty, date, time, slot_active);
+
+ALTER TABLE appointments
+    ADD CONSTRAINT uq_appointments_patient_slot UNIQUE (patient_id, date, time, slot_active);
@@ -0,0 +1,20 @@
+-- Busqueda difusa de pacientes: trigramas (pg_trgm) sin tildes (unaccent) sobre nombre, correo y telefono
+
+CREATE EXTENSION IF NOT EXISTS unaccent;
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- unaccent() no es IMMUTABLE y no se puede usar en un indice; este envoltorio fija el diccionario
+CREATE OR REPLACE FUNCTION f_unaccent(text) RETURNS text
+    LANGUAGE sql IMMUTABLE PARALLEL SAFE STRICT
+    AS $$ SELECT public.unaccent('public.unaccent'::regdictionary, $1) $$;
+
+CREATE INDEX IF NOT EXISTS idx_patients_full_name_trgm
+    ON patients USING gin (f_unaccent(lower(first_name || ' ' || last_name)) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_patients_last_name_trgm
+    ON patients USING gin (f_unaccent(lower(last_name)) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_patients_email_trgm
+    ON patients USING gin (lower(email) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_patients_phone_trgm
+    ON patients USING gin (phone gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_patients_identification_trgm
+    ON patients USING gin (identification_number gin_trgm_ops);
@@ -0,0 +1,48 @@
+package com.soulconnect.backend.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ConcurrencyLimitedDataSourceTest {
+
+    private ConcurrencyLimitedDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:limiter;DB_CLOSE_DELAY=-1");
+        dataSource = new ConcurrencyLimitedDataSource(h2, 2, Duration.ofMillis(50));
+    }
+
+    @Test
+    void getConnection_failsFastWhenAllPermitsAreInUse() throws Exception {
+        Connection first = dataSource.getConnection();
+        Connection second = dataSource.getConnection();
+
+        assertEquals(0, dataSource.availablePermits());
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+
+        first.close();
+        try (Connection third = dataSource.getConnection()) {
+            assertEquals(0, dataSource.availablePermits());
+        }
+        second.close();
+        assertEquals(2, dataSource.availablePermits());
+    }
+
+    @Test
+    void close_releasesThePermitOnlyOnce() throws Exception {
+        Connection connection = dataSource.getConnection();
+        connection.close();
+        connection.close();
+
+        assertEquals(2, dataSource.availablePermits());
+    }
+}
@@ -0,0 +1,153 @@
+package com.soulconnect.backend.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import jakarta.servlet.http.Cookie;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.sql.DataSource;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Dos bases H2 embebidas hacen de primario y replica; cada una responde con su propio nombre
+class ReplicaRoutingDataSourceTest {
+
+    private static final String WHO = "select name from node";
+
+    private final AtomicReference<Duration> replicaLag = new AtomicReference<>(Duration.ZERO);
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = node("primary");
+        DataSource replica = node("replica");
+        jdbcTemplate = routed(primary, List.of(replica));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        ReplicaRoutingContext.clear();
+    }
+
+    @Test
+    void readOnlyTransactions_goToReplica_writesAndPlainCallsToPrimary() {
+        assertEquals("replica", readOnly.execute(status -> jdbcTemplate.queryForObject(WHO, String.class)));
+        assertEquals("primary", readWrite.execute(status -> jdbcTemplate.queryForObject(WHO, String.class)));
+        assertEquals("primary", jdbcTemplate.queryForObject(WHO, String.class));
+    }
+
+    @Test
+    void laggingReplica_fallsBackToPrimaryUntilItCatchesUp() {
+        replicaLag.set(Duration.ofSeconds(30));
+        assertEquals("primary", readOnly.execute(status -> jdbcTemplate.queryForObject(WHO, String.class)));
+
+        replicaLag.set(Duration.ofMillis(100));
+        assertEquals("replica", readOnly.execute(status -> jdbcTemplate.queryForObject(WHO, String.class)));
+    }
+
+    @Test
+    void unreachableReplica_fallsBackToPrimary() {
+        jdbcTemplate = routed(node("primary"), List.of(new AbstractDataSource() {
+            @Override
+            public java.sql.Connection getConnection() throws SQLException {
+                throw new SQLException("replica caida");
+            }
+
+            @Override
+            public java.sql.Connection getConnection(String username, String password) throws SQLException {
+                return getConnection();
+            }
+        }));
+
+        assertEquals("primary", readOnly.execute(status -> jdbcTemplate.queryForObject(WHO, String.class)));
+    }
+
+    @Test
+    void primaryRequired_overridesReadOnlyRouting() {
+        ReplicaRoutingContext.requirePrimary();
+
+        assertEquals("primary", readOnly.execute(status -> jdbcTemplate.queryForObject(WHO, String.class)));
+    }
+
+    @Test
+    void explicitCredentials_goToPrimary() throws SQLException {
+        ReplicaRoutingDataSource router = new ReplicaRoutingDataSource(node("primary"), List.of(node("replica")),
+            connection -> Duration.ZERO, Duration.ofSeconds(5), Duration.ZERO);
+
+        try (Connection connection = router.getConnection("", "");
+             ResultSet rs = connection.createStatement().executeQuery(WHO)) {
+            assertTrue(rs.next());
+            assertEquals("primary", rs.getString(1));
+        }
+    }
+
+    @Test
+    void filter_writeSetsCookieAndLaterReadsStickToPrimary() throws Exception {
+        Clock clock = Clock.fixed(Instant.parse("2026-10-01T12:00:00Z"), ZoneOffset.UTC);
+        ReadYourWritesFilter filter = new ReadYourWritesFilter(Duration.ofSeconds(5), clock);
+        AtomicBoolean primaryDuringRequest = new AtomicBoolean();
+
+        MockHttpServletResponse postResponse = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/appointments"), postResponse,
+            (req, res) -> primaryDuringRequest.set(ReplicaRoutingContext.isPrimaryRequired()));
+        assertTrue(primaryDuringRequest.get());
+        Cookie cookie = postResponse.getCookie(ReadYourWritesFilter.COOKIE);
+        assertNotNull(cookie);
+        assertFalse(ReplicaRoutingContext.isPrimaryRequired());
+
+        MockHttpServletRequest sticky = new MockHttpServletRequest("GET", "/api/appointments");
+        sticky.setCookies(new Cookie(ReadYourWritesFilter.COOKIE, cookie.getValue()));
+        filter.doFilter(sticky, new MockHttpServletResponse(),
+            (req, res) -> primaryDuringRequest.set(ReplicaRoutingContext.isPrimaryRequired()));
+        assertTrue(primaryDuringRequest.get());
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/appointments"), new MockHttpServletResponse(),
+            (req, res) -> primaryDuringRequest.set(ReplicaRoutingContext.isPrimaryRequired()));
+        assertFalse(primaryDuringRequest.get());
+    }
+
+    private JdbcTemplate routed(DataSource primary, List<DataSource> replicas) {
+        ReplicaRoutingDataSource router = new ReplicaRoutingDataSource(primary, replicas,
+            connection -> replicaLag.get(), Duration.ofSeconds(5), Duration.ZERO);
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primary);
+        proxy.setReadOnlyDataSource(router);
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(proxy);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+        return new JdbcTemplate(proxy);
+    }
+
+    private static DataSource node(String name) {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:routing_" + name + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbc = new JdbcTemplate(h2);
+        jdbc.execute("create table if not exists node (name varchar(20))");
+        jdbc.execute("delete from node");
+        jdbc.update("insert into node (name) values (?)", name);
+        return h2;
+    }
+}
@@ -0,0 +1,113 @@
+package com.soulconnect.backend.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.soulconnect.backend.model.Patient;
+import com.soulconnect.backend.repository.PatientRepository;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class WireFormatConfigTest {
+
+    private static final TypeReference<Map<String, Object>> MAP = new TypeReference<>() {
+    };
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    private final JsonMapper mapper = JsonMapper.builder().build();
+    private MockMvc mockMvc;
+    private Patient patient;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+        Patient p = new Patient();
+        p.setFirstName("Lucia");
+        p.setLastName("Rojas");
+        p.setIdentificationNumber("WIRE-1");
+        p.setIdentificationType("CC");
+        p.setDateOfBirth(LocalDate.of(1985, 5, 20));
+        patient = patientRepository.save(p);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        patientRepository.deleteAll();
+    }
+
+    @Test
+    void json_keepsNullFieldsOnEntityAndLastPageCursor() throws Exception {
+        MvcResult detail = mockMvc.perform(get("/api/patients/{id}", patient.getId()).accept("application/json"))
+            .andExpect(status().isOk())
+            .andReturn();
+        Map<String, Object> body = mapper.readValue(detail.getResponse().getContentAsString(), MAP);
+        assertEquals("Lucia", body.get("firstName"));
+        assertTrue(body.containsKey("bloodType"));
+        assertNull(body.get("bloodType"));
+
+        // Ultima pagina: next viaja como null, no desaparece
+        MvcResult page = mockMvc.perform(get("/api/patients").accept("application/json"))
+            .andExpect(status().isOk())
+            .andReturn();
+        Map<String, Object> pageBody = mapper.readValue(page.getResponse().getContentAsString(), MAP);
+        assertTrue(pageBody.containsKey("next"));
+        assertNull(pageBody.get("next"));
+    }
+
+    @Test
+    void json_listSummariesOmitNullFields() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/patients").accept("application/json"))
+            .andExpect(status().isOk())
+            .andReturn();
+
+        Map<String, Object> body = mapper.readValue(result.getResponse().getContentAsString(), MAP);
+        @SuppressWarnings("unchecked")
+        Map<String, Object> item = ((List<Map<String, Object>>) body.get("items")).get(0);
+        assertEquals("WIRE-1", item.get("identificationNumber"));
+        assertFalse(item.containsKey("email"));
+        assertFalse(item.containsKey("city"));
+    }
+
+    @Test
+    void cborAndSmile_areNegotiatedByAcceptHeader() throws Exception {
+        MvcResult cbor = mockMvc.perform(get("/api/patients/{id}", patient.getId()).accept("application/cbor"))
+            .andExpect(status().isOk())
+            .andReturn();
+        assertEquals("application/cbor", cbor.getResponse().getContentType());
+        Map<String, Object> decoded = CBORMapper.builder().build().readValue(cbor.getResponse().getContentAsByteArray(), MAP);
+        assertEquals("Lucia", decoded.get("firstName"));
+        assertTrue(decoded.containsKey("bloodType"));
+
+        MvcResult smile = mockMvc.perform(get("/api/patients/{id}", patient.getId()).accept("application/x-jackson-smile"))
+            .andExpect(status().isOk())
+            .andReturn();
+        Map<String, Object> fromSmile = SmileMapper.builder().build().readValue(smile.getResponse().getContentAsByteArray(), MAP);
+        assertEquals("WIRE-1", fromSmile.get("identificationNumber"));
+    }
+}
@@ -2,15 +2,26 @@ package com.soulconnect.backend.controller;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.soulconnect.backend.model.Appointment;
 import com.soulconnect.backend.model.AppointmentStatus;
+import com.soulconnect.backend.model.ChangeType;
 import com.soulconnect.backend.model.Patient;
+import com.soulconnect.backend.repository.AgendaFilter;
 import com.soulconnect.backend.repository.AppointmentRepository;
+import com.soulconnect.backend.repository.AppointmentView;
 import com.soulconnect.backend.repository.PatientRepository;
+import com.soulconnect.backend.service.AppointmentStatusService;
+import com.soulconnect.backend.service.ChangeFeedService;
+import com.soulconnect.backend.service.DashboardAggregateService;
+import com.soulconnect.backend.service.SlotAvailabilityService;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.List;
@@ -19,13 +30,19 @@ import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.web.server.ResponseStatusException;
 
 class AppointmentControllerTest {
 
     private AppointmentRepository appointmentRepository;
     private PatientRepository patientRepository;
+    private SlotAvailabilityService availabilityService;
+    private DashboardAggregateService aggregateService;
+    private ChangeFeedService changeFeed;
+    private AppointmentStatusService statusService;
     private AppointmentController controller;
 
     private Patient patient;
@@ -35,7 +52,12 @@ class AppointmentControllerTest {
     void setUp() {
         appointmentRepository = Mockito.mock(AppointmentRepository.class);
         patientRepository = Mockito.mock(PatientRepository.class);
-        controller = new AppointmentController(appointmentRepository, patientRepository);
+        availabilityService = Mockito.mock(SlotAvailabilityService.class);
+        aggregateService = Mockito.mock(DashboardAggregateService.class);
+        changeFeed = Mockito.mock(ChangeFeedService.class);
+        statusService = Mockito.mock(AppointmentStatusService.class);
+        controller = new AppointmentController(appointmentRepository, patientRepository, availabilityService,
+            aggregateService, changeFeed, statusService, Mockito.mock(PlatformTransactionManager.class));
 
         patient = new Patient();
         patient.setId(UUID.randomUUID());
@@ -56,28 +78,68 @@ class AppointmentControllerTest {
 
     @Test
     void getAppointments_byPatient() {
-        when(appointmentRepository.findByPatientId(patient.getId())).thenReturn(List.of(appointment));
+        when(appointmentRepository.findViewsByPatientId(patient.getId())).thenReturn(List.of(AppointmentView.from(appointment)));
 
-        List<Appointment> result = controller.getAppointments(patient.getId());
+        List<AppointmentView> result = controller.getAppointments(patient.getId());
 
         assertEquals(1, result.size());
-        assertEquals("Cardiologia", result.get(0).getSpecialty());
+        assertEquals("Cardiologia", result.get(0).specialty());
+        assertEquals("John Doe", result.get(0).patientName());
     }
 
     @Test
     void getAppointments_all() {
-        when(appointmentRepository.findAll()).thenReturn(List.of(appointment));
+        when(appointmentRepository.findAllViews()).thenReturn(List.of(AppointmentView.from(appointment)));
 
-        List<Appointment> result = controller.getAppointments(null);
+        List<AppointmentView> result = controller.getAppointments(null);
 
         assertEquals(1, result.size());
-        assertEquals(AppointmentStatus.PENDING, result.get(0).getStatus());
+        assertEquals(AppointmentStatus.PENDING, result.get(0).status());
+    }
+
+    @Test
+    void getAgenda_passesFiltersAndDetectsNextPage() {
+        LocalDate from = LocalDate.of(2026, 1, 5);
+        LocalDate to = LocalDate.of(2026, 1, 11);
+        AgendaFilter filter = new AgendaFilter(from, to, "Cardiologia", AppointmentStatus.PENDING, null);
+        AppointmentView view = AppointmentView.from(appointment);
+        when(appointmentRepository.findAgenda(eq(filter), eq(2), eq(3))).thenReturn(List.of(view, view, view));
+
+        AppointmentController.AgendaPage result = controller.getAgenda(from, to, "Cardiologia", AppointmentStatus.PENDING, null, 1, 2);
+
+        assertEquals(2, result.getItems().size());
+        assertTrue(result.isHasMore());
+    }
+
+    @Test
+    void getAgenda_lastPageHasNoMore() {
+        LocalDate day = LocalDate.of(2026, 1, 5);
+        when(appointmentRepository.findAgenda(any(AgendaFilter.class), eq(0), eq(101)))
+            .thenReturn(List.of(AppointmentView.from(appointment)));
+
+        AppointmentController.AgendaPage result = controller.getAgenda(day, day, null, null, null, 0, 100);
+
+        assertEquals(1, result.getItems().size());
+        assertFalse(result.isHasMore());
+    }
+
+    @Test
+    void getAgenda_badRequestOnInvalidRange() {
+        LocalDate from = LocalDate.of(2026, 1, 5);
+
+        ResponseStatusException reversed = assertThrows(ResponseStatusException.class,
+            () -> controller.getAgenda(from, from.minusDays(1), null, null, null, 0, 100));
+        assertEquals(HttpStatus.BAD_REQUEST, reversed.getStatusCode());
+
+        ResponseStatusException tooWide = assertThrows(ResponseStatusException.class,
+            () -> controller.getAgenda(from, from.plusYears(1), null, null, null, 0, 100));
+        assertEquals(HttpStatus.BAD_REQUEST, tooWide.getStatusCode());
     }
 
     @Test
     void createAppointment_persistsAndReturns() {
         when(patientRepository.findById(patient.getId())).thenReturn(Optional.of(patient));
-        when(appointmentRepository.save(any(Appointment.class))).thenAnswer(invocation -> {
+        when(appointmentRepository.saveAndFlush(any(Appointment.class))).thenAnswer(invocation -> {
             Appointment appt = invocation.getArgument(0);
             appt.setId(UUID.randomUUID());
             return appt;
@@ -90,11 +152,13 @@ class AppointmentControllerTest {
         request.setStatus(AppointmentStatus.PENDING);
         request.setPatientId(patient.getId());
 
-        Appointment created = controller.createAppointment(request);
+        AppointmentView created = controller.createAppointment(request);
 
-        verify(appointmentRepository).save(any(Appointment.class));
-        assertEquals("Cardiologia", created.getSpecialty());
-        assertEquals(patient.getId(), created.getPatient().getId());
+        verify(appointmentRepository).saveAndFlush(any(Appointment.class));
+        verify(aggregateService).appointmentCreated(any(Appointment.class));
+        verify(availabilityService).occupy("Cardiologia", appointment.getDate(), appointment.getTime());
+        assertEquals("Cardiologia", created.specialty());
+        assertEquals(patient.getId(), created.patientId());
     }
 
     @Test
@@ -113,11 +177,90 @@ class AppointmentControllerTest {
     }
 
     @Test
-    void deleteAppointment_deletesAndReturnsOk() {
+    void createAppointment_conflictWhenSlotTaken() {
+        when(patientRepository.findById(patient.getId())).thenReturn(Optional.of(patient));
+        when(appointmentRepository.saveAndFlush(any(Appointment.class)))
+            .thenThrow(new DataIntegrityViolationException("uq_appointments_specialty_slot"));
+
+        AppointmentController.AppointmentRequest request = new AppointmentController.AppointmentRequest();
+        request.setDate(appointment.getDate());
+        request.setTime(appointment.getTime());
+        request.setSpecialty(appointment.getSpecialty());
+        request.setPatientId(patient.getId());
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class, () -> controller.createAppointment(request));
+        assertEquals(HttpStatus.CONFLICT, ex.getStatusCode());
+    }
+
+    @Test
+    void updateAppointment_conflictOnStaleVersion() {
+        appointment.setVersion(3L);
+        when(appointmentRepository.findById(appointment.getId())).thenReturn(Optional.of(appointment));
+
+        AppointmentController.AppointmentRequest request = new AppointmentController.AppointmentRequest();
+        request.setStatus(AppointmentStatus.COMPLETED);
+        request.setVersion(2L);
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+            () -> controller.updateAppointment(appointment.getId(), request));
+        assertEquals(HttpStatus.CONFLICT, ex.getStatusCode());
+    }
+
+    @Test
+    void deleteAppointment_deletesAndReleasesSlot() {
+        UUID id = appointment.getId();
+        when(appointmentRepository.findById(id)).thenReturn(Optional.of(appointment));
+        when(appointmentRepository.softDelete(eq(List.of(id)), any())).thenReturn(1);
+
+        controller.deleteAppointment(id);
+
+        verify(appointmentRepository).softDelete(eq(List.of(id)), any());
+        verify(appointmentRepository, never()).delete(any(Appointment.class));
+        verify(aggregateService).appointmentDeleted(appointment);
+        verify(changeFeed).recordAppointment(appointment, ChangeType.DELETED);
+        verify(availabilityService).release("Cardiologia", appointment.getDate(), appointment.getTime());
+    }
+
+    @Test
+    void deleteAppointment_alreadyDeletedChangesNothing() {
         UUID id = appointment.getId();
+        when(appointmentRepository.findById(id)).thenReturn(Optional.of(appointment));
+        when(appointmentRepository.softDelete(eq(List.of(id)), any())).thenReturn(0);
 
         controller.deleteAppointment(id);
 
-        verify(appointmentRepository).deleteById(id);
+        verify(changeFeed, never()).recordAppointment(any(Appointment.class), any());
+        verify(availabilityService, never()).release(any(), any(), any());
+    }
+
+    @Test
+    void updateAppointment_movesSlotInAvailability() {
+        when(appointmentRepository.findById(appointment.getId())).thenReturn(Optional.of(appointment));
+        when(appointmentRepository.saveAndFlush(any(Appointment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        AppointmentController.AppointmentRequest request = new AppointmentController.AppointmentRequest();
+        request.setTime(LocalTime.of(11, 0));
+
+        controller.updateAppointment(appointment.getId(), request);
+
+        verify(availabilityService).release("Cardiologia", appointment.getDate(), LocalTime.of(10, 30));
+        verify(availabilityService).occupy("Cardiologia", appointment.getDate(), LocalTime.of(11, 0));
+    }
+
+    @Test
+    void changeStatus_badRequestOnPendingTargetOrEmptyIds() {
+        AppointmentController.StatusChangeRequest toPending = new AppointmentController.StatusChangeRequest();
+        toPending.setIds(List.of(appointment.getId()));
+        toPending.setStatus(AppointmentStatus.PENDING);
+        ResponseStatusException pending = assertThrows(ResponseStatusException.class, () -> controller.changeStatus(toPending));
+        assertEquals(HttpStatus.BAD_REQUEST, pending.getStatusCode());
+
+        AppointmentController.StatusChangeRequest empty = new AppointmentController.StatusChangeRequest();
+        empty.setIds(List.of());
+        empty.setStatus(AppointmentStatus.COMPLETED);
+        ResponseStatusException noIds = assertThrows(ResponseStatusException.class, () -> controller.changeStatus(empty));
+        assertEquals(HttpStatus.BAD_REQUEST, noIds.getStatusCode());
+
+        verify(statusService, never()).transition(any(), any());
     }
 }
@@ -1,14 +1,36 @@
 package com.soulconnect.backend.controller;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.soulconnect.backend.model.AppointmentStatus;
+import com.soulconnect.backend.model.ChangeType;
 import com.soulconnect.backend.model.Patient;
+import com.soulconnect.backend.repository.AppointmentHistoryItem;
+import com.soulconnect.backend.repository.AppointmentRepository;
+import com.soulconnect.backend.repository.AppointmentStatusCount;
+import com.soulconnect.backend.repository.PatientCursor;
+import com.soulconnect.backend.repository.PatientFilter;
 import com.soulconnect.backend.repository.PatientRepository;
+import com.soulconnect.backend.repository.PatientSummary;
+import com.soulconnect.backend.service.ChangeFeedService;
+import com.soulconnect.backend.service.SoftDeleteService;
+import com.soulconnect.backend.service.VitalsService;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -16,19 +38,31 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.web.server.ResponseStatusException;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
 
 class PatientControllerTest {
 
     private PatientRepository patientRepository;
+    private AppointmentRepository appointmentRepository;
+    private ChangeFeedService changeFeed;
+    private SoftDeleteService softDeleteService;
     private PatientController controller;
+    private final ObjectMapper objectMapper = JsonMapper.builder().build();
 
     private Patient samplePatient;
 
     @BeforeEach
     void setUp() {
         patientRepository = Mockito.mock(PatientRepository.class);
-        controller = new PatientController(patientRepository);
+        appointmentRepository = Mockito.mock(AppointmentRepository.class);
+        changeFeed = Mockito.mock(ChangeFeedService.class);
+        softDeleteService = Mockito.mock(SoftDeleteService.class);
+        controller = new PatientController(patientRepository, appointmentRepository, objectMapper,
+            Mockito.mock(VitalsService.class), changeFeed, softDeleteService, Mockito.mock(PlatformTransactionManager.class));
 
         samplePatient = new Patient();
         samplePatient.setId(UUID.randomUUID());
@@ -37,16 +71,97 @@ class PatientControllerTest {
         samplePatient.setIdentificationNumber("123");
         samplePatient.setIdentificationType("CC");
         samplePatient.setDateOfBirth(LocalDate.of(1990, 1, 1));
+        samplePatient.setCreatedAt(LocalDateTime.of(2026, 1, 1, 8, 0));
     }
 
     @Test
-    void getAllPatients_returnsList() {
-        when(patientRepository.findAll()).thenReturn(List.of(samplePatient));
+    void getAllPatients_returnsFirstPageWithoutCursor() {
+        when(patientRepository.findPage(any(PatientFilter.class), isNull(), eq(PatientController.DEFAULT_PAGE_SIZE + 1)))
+            .thenReturn(List.of(PatientSummary.from(samplePatient)));
 
-        List<Patient> result = controller.getAllPatients();
+        PatientController.PatientPage result = controller.getAllPatients(null, null, null, null, null, null, null);
+
+        assertEquals(1, result.getItems().size());
+        assertEquals("John", result.getItems().get(0).firstName());
+        assertNull(result.getNext());
+    }
+
+    @Test
+    void getAllPatients_returnsNextCursorWhenMoreRows() {
+        Patient second = new Patient();
+        second.setId(UUID.randomUUID());
+        second.setFirstName("Jane");
+        second.setCreatedAt(LocalDateTime.of(2026, 1, 2, 8, 0));
+        when(patientRepository.findPage(any(PatientFilter.class), isNull(), eq(2)))
+            .thenReturn(List.of(PatientSummary.from(samplePatient), PatientSummary.from(second)));
+
+        PatientController.PatientPage result = controller.getAllPatients(null, 1, "Bogota", null, null, null, null);
+
+        assertEquals(1, result.getItems().size());
+        assertNotNull(result.getNext());
+        PatientCursor cursor = PatientCursor.decode(result.getNext());
+        assertEquals(samplePatient.getId(), cursor.id());
+        assertEquals(samplePatient.getCreatedAt(), cursor.createdAt());
+    }
+
+    @Test
+    void getAllPatients_passesDecodedCursorToRepository() {
+        PatientCursor cursor = new PatientCursor(samplePatient.getCreatedAt(), samplePatient.getId());
+        when(patientRepository.findPage(any(PatientFilter.class), eq(cursor), eq(11))).thenReturn(List.of());
+
+        PatientController.PatientPage result = controller.getAllPatients(cursor.encode(), 10, null, null, null, null, null);
+
+        assertEquals(0, result.getItems().size());
+        assertNull(result.getNext());
+    }
+
+    @Test
+    void getAllPatients_badRequestOnInvalidLimitOrCursor() {
+        ResponseStatusException tooBig = assertThrows(ResponseStatusException.class,
+            () -> controller.getAllPatients(null, PatientController.MAX_PAGE_SIZE + 1, null, null, null, null, null));
+        assertEquals(HttpStatus.BAD_REQUEST, tooBig.getStatusCode());
+
+        ResponseStatusException badCursor = assertThrows(ResponseStatusException.class,
+            () -> controller.getAllPatients("no-es-un-cursor", null, null, null, null, null, null));
+        assertEquals(HttpStatus.BAD_REQUEST, badCursor.getStatusCode());
+    }
+
+    @Test
+    void getByIdentificationNumber_returnsSummary() {
+        when(patientRepository.findByIdentificationNumber("123")).thenReturn(Optional.of(samplePatient));
+
+        PatientSummary result = controller.getByIdentificationNumber("123");
+
+        assertEquals(samplePatient.getId(), result.id());
+        assertEquals("Doe", result.lastName());
+    }
+
+    @Test
+    void getByIdentificationNumber_notFound() {
+        when(patientRepository.findByIdentificationNumber("999")).thenReturn(Optional.empty());
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class, () -> controller.getByIdentificationNumber("999"));
+        assertEquals(HttpStatus.NOT_FOUND, ex.getStatusCode());
+    }
+
+    @Test
+    void lookup_trimsQueryAndDelegatesWithLimit() {
+        when(patientRepository.searchSummaries("doe", 5)).thenReturn(List.of(PatientSummary.from(samplePatient)));
+
+        List<PatientSummary> result = controller.lookup("  doe ", 5);
 
         assertEquals(1, result.size());
-        assertEquals("John", result.get(0).getFirstName());
+        assertEquals("123", result.get(0).identificationNumber());
+    }
+
+    @Test
+    void lookup_badRequestOnShortQueryOrLargeLimit() {
+        ResponseStatusException shortQuery = assertThrows(ResponseStatusException.class, () -> controller.lookup(" a ", 10));
+        assertEquals(HttpStatus.BAD_REQUEST, shortQuery.getStatusCode());
+
+        ResponseStatusException largeLimit = assertThrows(ResponseStatusException.class,
+            () -> controller.lookup("doe", PatientController.MAX_LOOKUP_LIMIT + 1));
+        assertEquals(HttpStatus.BAD_REQUEST, largeLimit.getStatusCode());
     }
 
     @Test
@@ -61,6 +176,7 @@ class PatientControllerTest {
         Patient created = controller.createPatient(samplePatient);
 
         verify(patientRepository).save(any(Patient.class));
+        verify(changeFeed).recordPatient(created, ChangeType.CREATED);
         assertEquals("John", created.getFirstName());
     }
 
@@ -77,7 +193,7 @@ class PatientControllerTest {
         UUID id = samplePatient.getId();
         when(patientRepository.findById(id)).thenReturn(Optional.of(samplePatient));
         when(patientRepository.findByIdentificationNumber("123")).thenReturn(Optional.of(samplePatient));
-        when(patientRepository.save(any(Patient.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(patientRepository.saveAndFlush(any(Patient.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         Patient payload = new Patient();
         payload.setFirstName("Jane");
@@ -90,6 +206,63 @@ class PatientControllerTest {
 
         assertEquals("Jane", updated.getFirstName());
         assertEquals("Smith", updated.getLastName());
+        // El documento no cambio: no hace falta validar unicidad
+        verify(patientRepository, never()).findByIdentificationNumber(anyString());
+    }
+
+    @Test
+    void patchPatient_appliesOnlyPresentFieldsAndClearsNulls() {
+        UUID id = samplePatient.getId();
+        samplePatient.setVersion(2L);
+        samplePatient.setEmail("john@correo.co");
+        samplePatient.setAllergies("Penicilina");
+        when(patientRepository.findById(id)).thenReturn(Optional.of(samplePatient));
+        when(patientRepository.saveAndFlush(any(Patient.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Patient patched = controller.patchPatient(id, json("{\"email\": \"nuevo@correo.co\", \"allergies\": null, \"version\": 2}"));
+
+        assertEquals("nuevo@correo.co", patched.getEmail());
+        assertNull(patched.getAllergies());
+        assertEquals("John", patched.getFirstName());
+        assertEquals(LocalDate.of(1990, 1, 1), patched.getDateOfBirth());
+        verify(patientRepository, never()).findByIdentificationNumber(anyString());
+    }
+
+    @Test
+    void patchPatient_checksUniquenessOnlyWhenIdentificationChanges() {
+        UUID id = samplePatient.getId();
+        Patient other = new Patient();
+        other.setId(UUID.randomUUID());
+        when(patientRepository.findById(id)).thenReturn(Optional.of(samplePatient));
+        when(patientRepository.findByIdentificationNumber("456")).thenReturn(Optional.of(other));
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+            () -> controller.patchPatient(id, json("{\"identificationNumber\": \"456\"}")));
+        assertEquals(HttpStatus.CONFLICT, ex.getStatusCode());
+    }
+
+    @Test
+    void patchPatient_rejectsStaleVersionReadOnlyAndRequiredFields() {
+        UUID id = samplePatient.getId();
+        samplePatient.setVersion(5L);
+        when(patientRepository.findById(id)).thenReturn(Optional.of(samplePatient));
+
+        ResponseStatusException stale = assertThrows(ResponseStatusException.class,
+            () -> controller.patchPatient(id, json("{\"email\": \"x@correo.co\", \"version\": 4}")));
+        assertEquals(HttpStatus.CONFLICT, stale.getStatusCode());
+
+        ResponseStatusException readOnly = assertThrows(ResponseStatusException.class,
+            () -> controller.patchPatient(id, json("{\"createdAt\": \"2020-01-01T00:00:00\"}")));
+        assertEquals(HttpStatus.BAD_REQUEST, readOnly.getStatusCode());
+
+        ResponseStatusException required = assertThrows(ResponseStatusException.class,
+            () -> controller.patchPatient(id, json("{\"firstName\": null}")));
+        assertEquals(HttpStatus.BAD_REQUEST, required.getStatusCode());
+
+        ResponseStatusException unknown = assertThrows(ResponseStatusException.class,
+            () -> controller.patchPatient(id, json("{\"noExiste\": 1}")));
+        assertEquals(HttpStatus.BAD_REQUEST, unknown.getStatusCode());
+        verify(patientRepository, never()).saveAndFlush(any(Patient.class));
     }
 
     @Test
@@ -97,21 +270,89 @@ class PatientControllerTest {
         UUID id = samplePatient.getId();
         Patient other = new Patient();
         other.setId(UUID.randomUUID());
-        other.setIdentificationNumber("123");
+        other.setIdentificationNumber("456");
 
         when(patientRepository.findById(id)).thenReturn(Optional.of(samplePatient));
-        when(patientRepository.findByIdentificationNumber("123")).thenReturn(Optional.of(other));
+        when(patientRepository.findByIdentificationNumber("456")).thenReturn(Optional.of(other));
+
+        Patient payload = new Patient();
+        payload.setIdentificationNumber("456");
 
-        ResponseStatusException ex = assertThrows(ResponseStatusException.class, () -> controller.updatePatient(id, samplePatient));
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class, () -> controller.updatePatient(id, payload));
         assertEquals(HttpStatus.CONFLICT, ex.getStatusCode());
     }
 
     @Test
-    void deletePatient_deletesAndReturnsOk() {
+    void updatePatient_conflictOnStaleVersion() {
+        UUID id = samplePatient.getId();
+        samplePatient.setVersion(5L);
+        when(patientRepository.findById(id)).thenReturn(Optional.of(samplePatient));
+
+        Patient payload = new Patient();
+        payload.setIdentificationNumber("123");
+        payload.setVersion(4L);
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class, () -> controller.updatePatient(id, payload));
+        assertEquals(HttpStatus.CONFLICT, ex.getStatusCode());
+    }
+
+    @Test
+    void deletePatient_delegatesToSoftDelete() {
         UUID id = samplePatient.getId();
 
         controller.deletePatient(id);
 
-        verify(patientRepository).deleteById(id);
+        verify(softDeleteService).deletePatient(id);
+        verify(patientRepository, never()).delete(any());
+    }
+
+    @Test
+    void getOverview_returnsPageAndCountsForEveryStatus() {
+        UUID id = samplePatient.getId();
+        AppointmentHistoryItem latest = new AppointmentHistoryItem(UUID.randomUUID(), LocalDate.of(2026, 9, 1),
+            LocalTime.of(9, 0), "Cardiologia", AppointmentStatus.PENDING, LocalDateTime.of(2026, 8, 1, 8, 0), 0L);
+        when(patientRepository.findById(id)).thenReturn(Optional.of(samplePatient));
+        when(appointmentRepository.countByStatusForPatient(id)).thenReturn(List.of(
+            new AppointmentStatusCount(AppointmentStatus.PENDING, 1L),
+            new AppointmentStatusCount(AppointmentStatus.COMPLETED, 2L)));
+        when(appointmentRepository.findHistory(id, 0, 1)).thenReturn(List.of(latest));
+
+        PatientController.PatientOverview overview = controller.getOverview(id, 0, 1);
+
+        assertEquals(samplePatient, overview.getPatient());
+        assertEquals(List.of(latest), overview.getAppointments());
+        assertEquals(3, overview.getTotal());
+        assertTrue(overview.isHasMore());
+        assertEquals(0L, overview.getCounts().get(AppointmentStatus.CANCELLED));
+        assertEquals(2L, overview.getCounts().get(AppointmentStatus.COMPLETED));
+    }
+
+    @Test
+    void getOverview_skipsHistoryQueryPastTheLastPage() {
+        UUID id = samplePatient.getId();
+        when(patientRepository.findById(id)).thenReturn(Optional.of(samplePatient));
+        when(appointmentRepository.countByStatusForPatient(id))
+            .thenReturn(List.of(new AppointmentStatusCount(AppointmentStatus.PENDING, 2L)));
+
+        PatientController.PatientOverview overview = controller.getOverview(id, 1, 20);
+
+        assertTrue(overview.getAppointments().isEmpty());
+        assertFalse(overview.isHasMore());
+        verify(appointmentRepository, never()).findHistory(any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void getOverview_rejectsInvalidPagingAndMissingPatient() {
+        UUID id = UUID.randomUUID();
+        when(patientRepository.findById(id)).thenReturn(Optional.empty());
+
+        assertEquals(HttpStatus.BAD_REQUEST, assertThrows(ResponseStatusException.class,
+            () -> controller.getOverview(id, 0, PatientController.MAX_HISTORY_SIZE + 1)).getStatusCode());
+        assertEquals(HttpStatus.NOT_FOUND, assertThrows(ResponseStatusException.class,
+            () -> controller.getOverview(id, 0, 20)).getStatusCode());
+    }
+
+    private JsonNode json(String body) {
+        return objectMapper.readTree(body);
     }
 }
@@ -0,0 +1,87 @@
+package com.soulconnect.backend.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.soulconnect.backend.model.Patient;
+import com.soulconnect.backend.repository.PatientRepository;
+import java.time.LocalDate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+// GET, PUT y PATCH devuelven la entidad completa y se serializan sin transaccion ni open-in-view
+@SpringBootTest
+@ActiveProfiles("test")
+class PatientDetailResponseTest {
+
+    @Autowired
+    private PatientController controller;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Patient saved;
+
+    @BeforeEach
+    void setUp() {
+        Patient p = new Patient();
+        p.setFirstName("Ana");
+        p.setLastName("Rojas");
+        p.setIdentificationNumber("DETAIL-1");
+        p.setIdentificationType("CC");
+        p.setDateOfBirth(LocalDate.of(1990, 1, 1));
+        p.setHeartRateBpm(72);
+        p.setAllergies("Penicilina");
+        saved = patientRepository.save(p);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        patientRepository.deleteAll();
+        jdbcTemplate.update("delete from vital_measurements");
+        jdbcTemplate.update("delete from change_events");
+    }
+
+    @Test
+    void getPatient_serializesPartsAfterTheTransaction() {
+        JsonNode patient = objectMapper.valueToTree(controller.getPatient(saved.getId()));
+
+        assertEquals("Penicilina", patient.get("allergies").asString());
+        assertEquals(72, patient.get("heartRateBpm").asInt());
+    }
+
+    @Test
+    void updatePatient_editsAndSerializesPartsAfterTheTransaction() {
+        Patient payload = controller.getPatient(saved.getId());
+        payload.setCity("Cali");
+        payload.setHeartRateBpm(80);
+
+        JsonNode patient = objectMapper.valueToTree(controller.updatePatient(saved.getId(), payload));
+
+        assertEquals("Cali", patient.get("city").asString());
+        assertEquals(80, patient.get("heartRateBpm").asInt());
+        assertEquals("Penicilina", patient.get("allergies").asString());
+    }
+
+    @Test
+    void patchPatient_editsAndSerializesPartsAfterTheTransaction() {
+        JsonNode patch = objectMapper.readTree("{\"allergies\":\"Ninguna\"}");
+
+        JsonNode patient = objectMapper.valueToTree(controller.patchPatient(saved.getId(), patch));
+
+        assertEquals("Ninguna", patient.get("allergies").asString());
+        assertEquals(72, patient.get("heartRateBpm").asInt());
+    }
+}
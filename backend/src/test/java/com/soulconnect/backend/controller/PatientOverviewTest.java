@@ -0,0 +1,54 @@
+package com.soulconnect.backend.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.soulconnect.backend.model.Patient;
+import com.soulconnect.backend.repository.PatientRepository;
+import java.time.LocalDate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+// La ficha se serializa fuera de la transaccion de lectura (sin open-in-view): las partes ya vienen cargadas
+@SpringBootTest
+@ActiveProfiles("test")
+class PatientOverviewTest {
+
+    @Autowired
+    private PatientController controller;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @AfterEach
+    void cleanUp() {
+        patientRepository.deleteAll();
+    }
+
+    @Test
+    void overview_serializesVitalsAndClinicalHistoryAfterTheTransaction() {
+        Patient p = new Patient();
+        p.setFirstName("Ana");
+        p.setLastName("Rojas");
+        p.setIdentificationNumber("OVERVIEW-1");
+        p.setIdentificationType("CC");
+        p.setDateOfBirth(LocalDate.of(1990, 1, 1));
+        p.setHeartRateBpm(72);
+        p.setAllergies("Penicilina");
+        Patient saved = patientRepository.save(p);
+
+        PatientController.PatientOverview overview = controller.getOverview(saved.getId(), 0, 20);
+        JsonNode patient = objectMapper.valueToTree(overview).get("patient");
+
+        assertEquals("Penicilina", patient.get("allergies").asString());
+        assertEquals(72, patient.get("heartRateBpm").asInt());
+        assertEquals(0, overview.getTotal());
+    }
+}
@@ -0,0 +1,138 @@
+package com.soulconnect.backend.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.soulconnect.backend.model.AppointmentStatus;
+import com.soulconnect.backend.model.Patient;
+import com.soulconnect.backend.repository.AppointmentRepository;
+import com.soulconnect.backend.repository.AppointmentView;
+import com.soulconnect.backend.repository.PatientRepository;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.server.ResponseStatusException;
+
+// Varios hilos reservan el mismo cupo a la vez: exactamente uno gana, el resto recibe 409
+@SpringBootTest
+@ActiveProfiles("test")
+class SlotBookingConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final LocalDate DAY = LocalDate.of(2026, 6, 1);
+    private static final LocalTime TIME = LocalTime.of(10, 0);
+
+    @Autowired
+    private AppointmentController controller;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    private final List<Patient> patients = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < THREADS; i++) {
+            Patient patient = new Patient();
+            patient.setFirstName("Paciente" + i);
+            patient.setLastName("Concurrente");
+            patient.setIdentificationNumber("SLOT-" + i);
+            patient.setIdentificationType("CC");
+            patient.setDateOfBirth(LocalDate.of(1990, 1, 1));
+            patients.add(patientRepository.save(patient));
+        }
+    }
+
+    @AfterEach
+    void cleanUp() {
+        appointmentRepository.deleteAll();
+        patientRepository.deleteAll();
+    }
+
+    @Test
+    void sameSlot_exactlyOneBookingWins() throws Exception {
+        List<Outcome> outcomes = hammer(i -> request(patients.get(i), "Cardiologia", TIME));
+
+        assertEquals(1, outcomes.stream().filter(o -> o == Outcome.BOOKED).count());
+        assertEquals(THREADS - 1, outcomes.stream().filter(o -> o == Outcome.CONFLICT).count());
+        assertEquals(1, appointmentRepository.count());
+    }
+
+    @Test
+    void distinctSlots_allBookingsSucceedConcurrently() throws Exception {
+        List<Outcome> outcomes = hammer(i -> request(patients.get(i), "Cardiologia", TIME.plusMinutes(20L * i)));
+
+        assertTrue(outcomes.stream().allMatch(o -> o == Outcome.BOOKED));
+        assertEquals(THREADS, appointmentRepository.count());
+    }
+
+    @Test
+    void cancelledSlot_canBeBookedAgain() {
+        AppointmentView first = controller.createAppointment(request(patients.get(0), "Pediatria", TIME));
+
+        AppointmentController.AppointmentRequest cancel = new AppointmentController.AppointmentRequest();
+        cancel.setStatus(AppointmentStatus.CANCELLED);
+        cancel.setVersion(first.version());
+        controller.updateAppointment(first.id(), cancel);
+
+        AppointmentView second = controller.createAppointment(request(patients.get(1), "Pediatria", TIME));
+        assertEquals(AppointmentStatus.PENDING, second.status());
+    }
+
+    private List<Outcome> hammer(IntFunction<AppointmentController.AppointmentRequest> requests) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Outcome>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                AppointmentController.AppointmentRequest request = requests.apply(i);
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        controller.createAppointment(request);
+                        return Outcome.BOOKED;
+                    } catch (ResponseStatusException e) {
+                        return e.getStatusCode() == HttpStatus.CONFLICT ? Outcome.CONFLICT : Outcome.FAILED;
+                    }
+                }));
+            }
+            start.countDown();
+
+            List<Outcome> outcomes = new ArrayList<>();
+            for (Future<Outcome> future : futures) {
+                outcomes.add(future.get(30, TimeUnit.SECONDS));
+            }
+            return outcomes;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static AppointmentController.AppointmentRequest request(Patient patient, String specialty, LocalTime time) {
+        AppointmentController.AppointmentRequest request = new AppointmentController.AppointmentRequest();
+        request.setDate(DAY);
+        request.setTime(time);
+        request.setSpecialty(specialty);
+        request.setPatientId(patient.getId());
+        return request;
+    }
+
+    private enum Outcome { BOOKED, CONFLICT, FAILED }
+}
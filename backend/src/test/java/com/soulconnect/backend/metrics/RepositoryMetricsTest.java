@@ -0,0 +1,48 @@
+package com.soulconnect.backend.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.soulconnect.backend.controller.PatientController;
+import com.soulconnect.backend.repository.PatientRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class RepositoryMetricsTest {
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Test
+    void repositoryInvocations_areTimedPerMethod() {
+        patientRepository.findById(UUID.randomUUID());
+        patientRepository.findById(UUID.randomUUID());
+
+        Timer timer = registry.find(RepositoryTimingListener.METRIC_NAME)
+            .tag("repository", "PatientRepository")
+            .tag("method", "findById")
+            .timer();
+
+        assertNotNull(timer);
+        assertTrue(timer.count() >= 2);
+    }
+
+    @Test
+    void countRows_understandsListsAndPages() {
+        assertEquals(3, ResponseRowsAdvice.countRows(List.of(1, 2, 3)));
+        assertEquals(0, ResponseRowsAdvice.countRows(new PatientController.PatientPage(List.of(), null)));
+        assertEquals(-1, ResponseRowsAdvice.countRows("texto"));
+    }
+}
@@ -0,0 +1,102 @@
+package com.soulconnect.backend.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.soulconnect.backend.model.Appointment;
+import com.soulconnect.backend.model.AppointmentStatus;
+import com.soulconnect.backend.model.Patient;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class AppointmentRepositoryTest {
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @Test
+    void findAllViews_usesOneStatementRegardlessOfResultSize() {
+        seed(3);
+        assertEquals(1, statementsFor(() -> assertEquals(3, appointmentRepository.findAllViews().size())));
+
+        seed(30);
+        assertEquals(1, statementsFor(() -> assertEquals(33, appointmentRepository.findAllViews().size())));
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void findViewsByPatientId_usesOneStatementAndFlattensPatient() {
+        List<Patient> patients = seed(5);
+        Patient target = patients.get(2);
+
+        AtomicReference<List<AppointmentView>> result = new AtomicReference<>();
+        assertEquals(1, statementsFor(() -> result.set(appointmentRepository.findViewsByPatientId(target.getId()))));
+
+        assertEquals(1, result.get().size());
+        assertEquals(target.getId(), result.get().get(0).patientId());
+        assertEquals(target.getFirstName() + " " + target.getLastName(), result.get().get(0).patientName());
+    }
+
+    private long statementsFor(Runnable action) {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private List<Patient> seed(int count) {
+        long offset = appointmentRepository.count();
+        List<Patient> patients = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Patient patient = new Patient();
+            patient.setFirstName("Paciente" + (offset + i));
+            patient.setLastName("Prueba");
+            patient.setIdentificationNumber("DOC-" + (offset + i));
+            patient.setIdentificationType("CC");
+            patient.setDateOfBirth(LocalDate.of(1990, 1, 1));
+            entityManager.persist(patient);
+
+            Appointment appointment = new Appointment();
+            // Un cupo distinto por cita: (especialidad, fecha, hora) es unico mientras la cita ocupa el cupo
+            appointment.setDate(LocalDate.of(2026, 3, 1).plusDays(offset + i));
+            appointment.setTime(LocalTime.of(9, 0));
+            appointment.setSpecialty("Cardiologia");
+            appointment.setStatus(AppointmentStatus.PENDING);
+            appointment.setPatient(patient);
+            entityManager.persist(appointment);
+            patients.add(patient);
+        }
+        entityManager.flush();
+        return patients;
+    }
+}
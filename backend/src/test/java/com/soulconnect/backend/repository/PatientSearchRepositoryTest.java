@@ -0,0 +1,75 @@
+package com.soulconnect.backend.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.soulconnect.backend.model.Patient;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+// Ejercita la ruta de respaldo (H2); en PostgreSQL la misma interfaz usa los indices de trigramas
+@SpringBootTest
+@ActiveProfiles("test")
+class PatientSearchRepositoryTest {
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @BeforeEach
+    void setUp() {
+        patientRepository.save(patient("Maria", "Gomez", "1001", "maria.gomez@correo.co", "3001112233"));
+        patientRepository.save(patient("Mario", "Lopez", "1002", "mlopez@correo.co", "3104445566"));
+        patientRepository.save(patient("Ana", "Gomezjurado", "1003", null, null));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        patientRepository.deleteAll();
+    }
+
+    @Test
+    void searchSummaries_matchesNamePrefixAndRespectsLimit() {
+        List<PatientSummary> result = patientRepository.searchSummaries("gome", 10);
+        assertEquals(2, result.size());
+
+        assertEquals(1, patientRepository.searchSummaries("gome", 1).size());
+    }
+
+    @Test
+    void searchSummaries_ranksPrefixMatchesFirst() {
+        List<PatientSummary> result = patientRepository.searchSummaries("mari", 10);
+
+        assertEquals("Maria", result.get(0).firstName());
+    }
+
+    @Test
+    void searchSummaries_matchesPhoneEmailAndDocument() {
+        assertEquals("Lopez", patientRepository.searchSummaries("310444", 10).get(0).lastName());
+        assertEquals("Gomez", patientRepository.searchSummaries("maria.gomez@", 10).get(0).lastName());
+        assertEquals("Gomezjurado", patientRepository.searchSummaries("1003", 10).get(0).lastName());
+    }
+
+    @Test
+    void normalize_foldsAccentsCaseAndSpaces() {
+        assertEquals("jose nunez", PatientSearchRepositoryImpl.normalize("  José   NÚÑEZ "));
+        assertTrue(patientRepository.searchSummaries("GÓMEZ", 10).size() >= 1);
+    }
+
+    private static Patient patient(String firstName, String lastName, String document, String email, String phone) {
+        Patient patient = new Patient();
+        patient.setFirstName(firstName);
+        patient.setLastName(lastName);
+        patient.setIdentificationNumber(document);
+        patient.setIdentificationType("CC");
+        patient.setDateOfBirth(LocalDate.of(1990, 1, 1));
+        patient.setEmail(email);
+        patient.setPhoneNumber(phone);
+        return patient;
+    }
+}
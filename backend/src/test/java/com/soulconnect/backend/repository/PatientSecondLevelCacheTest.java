@@ -0,0 +1,96 @@
+package com.soulconnect.backend.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.soulconnect.backend.model.Patient;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+// Sin @Transactional: cada llamada abre su propia sesion, asi que solo el cache de segundo nivel evita la base
+@SpringBootTest
+@ActiveProfiles("test")
+class PatientSecondLevelCacheTest {
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private SessionFactory sessionFactory;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        statistics = sessionFactory.getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        patientRepository.deleteAll();
+        sessionFactory.getCache().evictAllRegions();
+    }
+
+    @Test
+    void repeatedLookupByDocument_isServedFromMemory() {
+        patientRepository.save(patient("CACHE-1"));
+        sessionFactory.getCache().evictAllRegions();
+
+        statistics.clear();
+        assertTrue(patientRepository.findByIdentificationNumber("CACHE-1").isPresent());
+        assertTrue(statistics.getPrepareStatementCount() > 0);
+
+        statistics.clear();
+        for (int i = 0; i < 5; i++) {
+            assertEquals("CACHE-1", patientRepository.findByIdentificationNumber("CACHE-1").orElseThrow().getIdentificationNumber());
+        }
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(5, statistics.getNaturalIdCacheHitCount());
+        assertTrue(statistics.getSecondLevelCacheHitCount() >= 5);
+    }
+
+    @Test
+    void documentChange_invalidatesOldNaturalId() {
+        Patient saved = patientRepository.save(patient("CACHE-2"));
+        assertTrue(patientRepository.findByIdentificationNumber("CACHE-2").isPresent());
+
+        saved.setIdentificationNumber("CACHE-3");
+        saved.setCity("Cali");
+        patientRepository.save(saved);
+
+        assertTrue(patientRepository.findByIdentificationNumber("CACHE-2").isEmpty());
+        assertEquals("Cali", patientRepository.findByIdentificationNumber("CACHE-3").orElseThrow().getCity());
+    }
+
+    @Test
+    void delete_evictsCachedPatient() {
+        Patient saved = patientRepository.save(patient("CACHE-4"));
+        assertTrue(patientRepository.findByIdentificationNumber("CACHE-4").isPresent());
+
+        patientRepository.deleteById(saved.getId());
+
+        assertTrue(patientRepository.findByIdentificationNumber("CACHE-4").isEmpty());
+        assertTrue(patientRepository.findById(saved.getId()).isEmpty());
+    }
+
+    private static Patient patient(String document) {
+        Patient p = new Patient();
+        p.setFirstName("Nombre");
+        p.setLastName("Apellido");
+        p.setIdentificationNumber(document);
+        p.setIdentificationType("CC");
+        p.setDateOfBirth(LocalDate.of(1990, 1, 1));
+        return p;
+    }
+}
@@ -0,0 +1,75 @@
+package com.soulconnect.backend.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.soulconnect.backend.model.Patient;
+import jakarta.persistence.EntityManager;
+import java.time.LocalDate;
+import java.util.UUID;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+// La fila nucleo se lee sola; vitales e historia clinica solo se consultan cuando se usan
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class PatientStorageSplitTest {
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void findById_loadsCoreOnlyAndPartsOnDemand() {
+        UUID id = patientRepository.saveAndFlush(patient()).getId();
+        entityManager.clear();
+
+        Patient loaded = patientRepository.findById(id).orElseThrow();
+
+        assertFalse(Hibernate.isInitialized(loaded.getVitals()));
+        assertFalse(Hibernate.isInitialized(loaded.getClinicalHistory()));
+        assertEquals("Ana", loaded.getFirstName());
+
+        assertEquals("Penicilina", loaded.getAllergies());
+        assertTrue(Hibernate.isInitialized(loaded.getClinicalHistory()));
+        assertFalse(Hibernate.isInitialized(loaded.getVitals()));
+        assertEquals(72, loaded.getHeartRateBpm());
+    }
+
+    @Test
+    void delete_removesAllParts() {
+        Patient saved = patientRepository.saveAndFlush(patient());
+        UUID vitalsId = saved.getVitals().getId();
+        UUID historyId = saved.getClinicalHistory().getId();
+
+        patientRepository.delete(saved);
+        patientRepository.flush();
+
+        assertEquals(0L, count("select count(v) from PatientVitals v where v.id = :id", vitalsId));
+        assertEquals(0L, count("select count(h) from PatientClinicalHistory h where h.id = :id", historyId));
+    }
+
+    private long count(String jpql, UUID id) {
+        return entityManager.createQuery(jpql, Long.class).setParameter("id", id).getSingleResult();
+    }
+
+    private static Patient patient() {
+        Patient p = new Patient();
+        p.setFirstName("Ana");
+        p.setLastName("Rojas");
+        p.setIdentificationNumber("SPLIT-1");
+        p.setIdentificationType("CC");
+        p.setDateOfBirth(LocalDate.of(1990, 1, 1));
+        p.setHeartRateBpm(72);
+        p.setAllergies("Penicilina");
+        return p;
+    }
+}
@@ -0,0 +1,98 @@
+package com.soulconnect.backend.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.soulconnect.backend.model.Patient;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+// Forma del payload de listados: el resumen lleva solo las columnas de la fila nucleo, nunca las partes pesadas
+class PatientSummaryPayloadTest {
+
+    private static final Set<String> SUMMARY_FIELDS = Set.of("id", "firstName", "lastName", "identificationNumber",
+        "identificationType", "dateOfBirth", "email", "phoneNumber", "city", "eps", "createdAt");
+
+    private static final Set<String> CLINICAL_AND_VITALS = Set.of("allergies", "medications", "surgeries",
+        "familyHistory", "habits", "vaccines", "chronicConditions", "bloodType", "heightCm", "weightKg",
+        "heartRateBpm", "bloodPressureSys", "bloodPressureDia", "temperatureC", "spo2");
+
+    private final JsonMapper mapper = JsonMapper.builder().build();
+
+    @Test
+    void summaryCarriesOnlyListingColumns() {
+        Patient patient = fullPatient(1);
+
+        Set<String> summary = fieldsOf(mapper.valueToTree(PatientSummary.from(patient)));
+        Set<String> full = fieldsOf(mapper.valueToTree(patient));
+
+        assertEquals(SUMMARY_FIELDS, summary);
+        // La entidad completa si los expone: el resumen los deja fuera a proposito
+        assertTrue(full.containsAll(CLINICAL_AND_VITALS));
+        assertTrue(full.containsAll(SUMMARY_FIELDS));
+    }
+
+    @Test
+    void summaryRowsKeepValuesAndShape() {
+        List<PatientSummary> summaries = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            summaries.add(PatientSummary.from(fullPatient(i)));
+        }
+
+        JsonNode rows = mapper.valueToTree(summaries);
+
+        assertEquals(3, rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            JsonNode row = rows.get(i);
+            assertEquals(SUMMARY_FIELDS, fieldsOf(row));
+            assertEquals(String.valueOf(1_000_000 + i), row.get("identificationNumber").asString());
+            assertEquals("Bogota", row.get("city").asString());
+        }
+    }
+
+    private static Set<String> fieldsOf(JsonNode node) {
+        return new HashSet<>(node.propertyNames());
+    }
+
+    private static Patient fullPatient(int i) {
+        String history = "Paciente con antecedentes registrados en consulta de control numero " + i + ". ";
+        Patient p = new Patient();
+        p.setId(UUID.randomUUID());
+        p.setFirstName("Nombre" + i);
+        p.setLastName("Apellido" + i);
+        p.setIdentificationNumber(String.valueOf(1_000_000 + i));
+        p.setIdentificationType("CC");
+        p.setDateOfBirth(LocalDate.of(1980, 1, 1).plusDays(i));
+        p.setEmail("paciente" + i + "@correo.co");
+        p.setPhoneNumber("300" + (1_000_000 + i));
+        p.setEps("Nueva EPS");
+        p.setAddress("Calle " + i + " # 10-20");
+        p.setBloodType("O+");
+        p.setHeightCm(170.0);
+        p.setWeightKg(70.0);
+        p.setCity("Bogota");
+        p.setHeartRateBpm(72);
+        p.setBloodPressureSys(120);
+        p.setBloodPressureDia(80);
+        p.setTemperatureC(36.5);
+        p.setSpo2(98.0);
+        p.setAllergies(history);
+        p.setMedications(history);
+        p.setSurgeries(history);
+        p.setFamilyHistory(history);
+        p.setHabits(history);
+        p.setVaccines(history);
+        p.setChronicConditions(history);
+        p.setCreatedAt(LocalDateTime.of(2026, 1, 1, 8, 0).plusMinutes(i));
+        p.setUpdatedAt(p.getCreatedAt());
+        return p;
+    }
+}
@@ -0,0 +1,206 @@
+package com.soulconnect.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.soulconnect.backend.controller.AppointmentController;
+import com.soulconnect.backend.model.Appointment;
+import com.soulconnect.backend.model.AppointmentDailyCount;
+import com.soulconnect.backend.model.AppointmentStatus;
+import com.soulconnect.backend.model.ChangeType;
+import com.soulconnect.backend.model.Patient;
+import com.soulconnect.backend.repository.AppointmentDailyCountRepository;
+import com.soulconnect.backend.repository.AppointmentRepository;
+import com.soulconnect.backend.repository.AppointmentView;
+import com.soulconnect.backend.repository.ChangeEventRepository;
+import com.soulconnect.backend.repository.PatientRepository;
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class AppointmentStatusServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 8, 3);
+
+    @Autowired
+    private AppointmentStatusService statusService;
+
+    @Autowired
+    private AppointmentController appointmentController;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private AppointmentDailyCountRepository appointmentCounts;
+
+    @Autowired
+    private ChangeEventRepository changeEvents;
+
+    @Autowired
+    private DashboardAggregateService aggregateService;
+
+    @Autowired
+    private ChangeFeedService changeFeed;
+
+    @Autowired
+    private SlotAvailabilityService availabilityService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Patient patient;
+
+    @BeforeEach
+    void setUp() {
+        patient = patientRepository.save(patient("BULK-1"));
+        changeEvents.deleteAllInBatch();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        appointmentRepository.deleteAll();
+        patientRepository.deleteAll();
+        appointmentCounts.deleteAllInBatch();
+        changeEvents.deleteAllInBatch();
+    }
+
+    @Test
+    void transition_updatesValidIdsAndReportsEachOutcome() {
+        AppointmentView first = create(DAY, LocalTime.of(9, 0));
+        AppointmentView second = create(DAY, LocalTime.of(9, 20));
+        AppointmentView cancelled = create(DAY, LocalTime.of(9, 40));
+        statusService.transition(List.of(cancelled.id()), AppointmentStatus.CANCELLED);
+        changeFeed.relay();
+        UUID missing = UUID.randomUUID();
+
+        AppointmentStatusService.BulkResult result = statusService.transition(
+            List.of(first.id(), second.id(), cancelled.id(), missing, first.id()), AppointmentStatus.COMPLETED);
+
+        assertEquals(2, result.updated());
+        assertEquals(List.of(AppointmentStatusService.Outcome.UPDATED, AppointmentStatusService.Outcome.UPDATED,
+                AppointmentStatusService.Outcome.INVALID_TRANSITION, AppointmentStatusService.Outcome.NOT_FOUND),
+            result.results().stream().map(AppointmentStatusService.ItemResult::outcome).toList());
+        assertEquals(AppointmentStatus.CANCELLED, result.results().get(2).previous());
+        assertNull(result.results().get(3).previous());
+
+        Appointment completed = appointmentRepository.findById(first.id()).orElseThrow();
+        assertEquals(AppointmentStatus.COMPLETED, completed.getStatus());
+        assertEquals(first.version() + 1, completed.getVersion());
+        assertEquals(Boolean.TRUE, completed.getSlotActive());
+
+        // Un evento por cita cambiada, con el estado nuevo en el payload
+        assertEquals(2, changeFeed.relay());
+        assertTrue(changeEvents.findAll().stream()
+            .filter(e -> e.getAggregateId().equals(second.id()) && e.getChangeType() == ChangeType.UPDATED)
+            .allMatch(e -> e.getPayload().contains("COMPLETED")));
+
+        assertEquals(AppointmentStatusService.Outcome.UNCHANGED,
+            statusService.transition(List.of(first.id()), AppointmentStatus.COMPLETED).results().get(0).outcome());
+        assertThrows(IllegalArgumentException.class,
+            () -> statusService.transition(List.of(first.id()), AppointmentStatus.PENDING));
+    }
+
+    @Test
+    void transition_keepsRollupsInStepWithRebuild() {
+        create(DAY, LocalTime.of(10, 0));
+        AppointmentView second = create(DAY, LocalTime.of(10, 20));
+        AppointmentView third = create(DAY, LocalTime.of(10, 40));
+
+        statusService.transition(List.of(second.id(), third.id()), AppointmentStatus.CANCELLED);
+
+        Map<AppointmentStatus, Long> incremental = byStatus();
+        assertEquals(Map.of(AppointmentStatus.PENDING, 1L, AppointmentStatus.CANCELLED, 2L), incremental);
+        aggregateService.rebuild();
+        assertEquals(incremental, byStatus());
+    }
+
+    @Test
+    void cancellation_releasesSlotForNewBooking() {
+        // Dia futuro: la disponibilidad no ofrece cupos que ya pasaron
+        LocalDate monday = LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+        AppointmentView booked = create(monday, LocalTime.of(11, 0));
+        assertFalse(availabilityService.findAvailability("Cardiologia", monday, monday).get(0).openSlots()
+            .contains(LocalTime.of(11, 0)));
+
+        statusService.transition(List.of(booked.id()), AppointmentStatus.CANCELLED);
+
+        assertNull(appointmentRepository.findById(booked.id()).orElseThrow().getSlotActive());
+        assertTrue(availabilityService.findAvailability("Cardiologia", monday, monday).get(0).openSlots()
+            .contains(LocalTime.of(11, 0)));
+        AppointmentView rebooked = create(monday, LocalTime.of(11, 0));
+        assertEquals(AppointmentStatus.PENDING, rebooked.status());
+    }
+
+    @Test
+    void closeOut_cancelsStalePendingInChunks() {
+        for (int i = 0; i < 5; i++) {
+            create(DAY.minusDays(1), LocalTime.of(8, 0).plusMinutes(20L * i));
+        }
+        AppointmentView done = create(DAY.minusDays(2), LocalTime.of(8, 0));
+        statusService.transition(List.of(done.id()), AppointmentStatus.COMPLETED);
+        AppointmentView today = create(DAY, LocalTime.of(8, 0));
+
+        Clock clock = Clock.fixed(DAY.atTime(0, 30).atZone(ZoneId.systemDefault()).toInstant(), ZoneId.systemDefault());
+        AppointmentStatusService job = new AppointmentStatusService(appointmentRepository, availabilityService,
+            aggregateService, changeFeed, transactionManager, 2, 0, clock);
+
+        AppointmentStatusService.CloseOutReport report = job.closeOut();
+
+        assertEquals(5, report.cancelled());
+        assertEquals(3, report.chunks());
+        Map<AppointmentStatus, Long> statuses = appointmentRepository.findAll().stream()
+            .collect(Collectors.groupingBy(Appointment::getStatus, Collectors.counting()));
+        assertEquals(Map.of(AppointmentStatus.CANCELLED, 5L, AppointmentStatus.COMPLETED, 1L,
+            AppointmentStatus.PENDING, 1L), statuses);
+        assertEquals(AppointmentStatus.PENDING, appointmentRepository.findById(today.id()).orElseThrow().getStatus());
+        assertEquals(0, job.closeOut().cancelled());
+    }
+
+    private Map<AppointmentStatus, Long> byStatus() {
+        return aggregateService.appointmentCounts(DAY, DAY, "Cardiologia").stream()
+            .filter(count -> count.getTotal() > 0)
+            .collect(Collectors.toMap(AppointmentDailyCount::getStatus, AppointmentDailyCount::getTotal));
+    }
+
+    private AppointmentView create(LocalDate date, LocalTime time) {
+        AppointmentController.AppointmentRequest request = new AppointmentController.AppointmentRequest();
+        request.setDate(date);
+        request.setTime(time);
+        request.setSpecialty("Cardiologia");
+        request.setPatientId(patient.getId());
+        return appointmentController.createAppointment(request);
+    }
+
+    private static Patient patient(String document) {
+        Patient p = new Patient();
+        p.setFirstName("Nombre");
+        p.setLastName("Apellido");
+        p.setIdentificationNumber(document);
+        p.setIdentificationType("CC");
+        p.setDateOfBirth(LocalDate.of(1990, 1, 1));
+        return p;
+    }
+}
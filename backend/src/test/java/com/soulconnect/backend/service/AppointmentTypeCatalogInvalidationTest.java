@@ -0,0 +1,53 @@
+package com.soulconnect.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import com.soulconnect.backend.model.AppointmentType;
+import com.soulconnect.backend.repository.AppointmentTypeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+// Un cambio hecho directo en la tabla se ve tras invalidar: ningun cache de Hibernate responde la recarga
+@SpringBootTest
+@ActiveProfiles("test")
+class AppointmentTypeCatalogInvalidationTest {
+
+    @Autowired
+    private AppointmentTypeCatalog catalog;
+
+    @Autowired
+    private AppointmentTypeRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        repository.deleteAll();
+        catalog.invalidate();
+    }
+
+    @Test
+    void invalidate_reloadsRowsEditedInTheDatabase() {
+        AppointmentType type = new AppointmentType();
+        type.setCode("CARD");
+        type.setName("Consulta cardiologica");
+        type.setSpecialty("Cardiologia");
+        repository.save(type);
+        catalog.invalidate();
+        AppointmentTypeCatalog.Snapshot before = catalog.get();
+        assertEquals("Consulta cardiologica", before.types().get(0).getName());
+
+        jdbcTemplate.update("update appointment_types set name = 'Control cardiologico' where code = 'CARD'");
+        catalog.invalidate();
+        AppointmentTypeCatalog.Snapshot after = catalog.get();
+
+        assertEquals("Control cardiologico", after.types().get(0).getName());
+        assertNotEquals(before.etag(), after.etag());
+    }
+}
@@ -0,0 +1,122 @@
+package com.soulconnect.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.soulconnect.backend.model.AppointmentType;
+import com.soulconnect.backend.repository.AppointmentTypeRepository;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class AppointmentTypeCatalogTest {
+
+    private AppointmentTypeRepository repository;
+    private MutableClock clock;
+    private AppointmentTypeCatalog catalog;
+
+    private AppointmentType cardiology;
+
+    @BeforeEach
+    void setUp() {
+        repository = Mockito.mock(AppointmentTypeRepository.class);
+        clock = new MutableClock(Instant.parse("2026-01-05T08:00:00Z"));
+        catalog = new AppointmentTypeCatalog(repository, Duration.ofMinutes(10), clock);
+
+        cardiology = new AppointmentType();
+        cardiology.setId(UUID.randomUUID());
+        cardiology.setCode("CARD");
+        cardiology.setName("Consulta cardiologica");
+        cardiology.setSpecialty("Cardiologia");
+    }
+
+    @Test
+    void get_servesFromMemoryUntilTtlExpires() {
+        when(repository.findAllByOrderByNameAsc()).thenReturn(List.of(cardiology));
+
+        catalog.get();
+        catalog.get();
+        clock.advance(Duration.ofMinutes(9));
+        catalog.get();
+
+        verify(repository, times(1)).findAllByOrderByNameAsc();
+        assertEquals(2, catalog.stats().hits());
+        assertEquals(1, catalog.stats().misses());
+
+        clock.advance(Duration.ofMinutes(1));
+        catalog.get();
+
+        verify(repository, times(2)).findAllByOrderByNameAsc();
+        assertEquals(2, catalog.stats().misses());
+    }
+
+    @Test
+    void invalidate_forcesReloadAndKeepsValidatorsWhenContentUnchanged() {
+        when(repository.findAllByOrderByNameAsc()).thenReturn(List.of(cardiology));
+
+        AppointmentTypeCatalog.Snapshot first = catalog.get();
+        clock.advance(Duration.ofMinutes(1));
+        catalog.invalidate();
+        AppointmentTypeCatalog.Snapshot second = catalog.get();
+
+        verify(repository, times(2)).findAllByOrderByNameAsc();
+        assertEquals(first.etag(), second.etag());
+        assertEquals(first.lastModified(), second.lastModified());
+    }
+
+    @Test
+    void get_changesEtagWhenCatalogChanges() {
+        when(repository.findAllByOrderByNameAsc()).thenReturn(List.of(cardiology));
+        AppointmentTypeCatalog.Snapshot first = catalog.get();
+
+        AppointmentType renamed = new AppointmentType();
+        renamed.setId(cardiology.getId());
+        renamed.setCode("CARD");
+        renamed.setName("Cardiologia adultos");
+        renamed.setSpecialty("Cardiologia");
+        when(repository.findAllByOrderByNameAsc()).thenReturn(List.of(renamed));
+        clock.advance(Duration.ofSeconds(5));
+        catalog.invalidate();
+        AppointmentTypeCatalog.Snapshot second = catalog.get();
+
+        assertNotEquals(first.etag(), second.etag());
+        assertNotEquals(first.lastModified(), second.lastModified());
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.soulconnect.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.soulconnect.backend.controller.AppointmentController;
+import com.soulconnect.backend.controller.PatientController;
+import com.soulconnect.backend.model.ChangeEvent;
+import com.soulconnect.backend.model.ChangeType;
+import com.soulconnect.backend.model.Patient;
+import com.soulconnect.backend.repository.AppointmentRepository;
+import com.soulconnect.backend.repository.AppointmentView;
+import com.soulconnect.backend.repository.ChangeEventRepository;
+import com.soulconnect.backend.repository.PatientRepository;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.web.server.ResponseStatusException;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ChangeFeedServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 9, 14);
+
+    @Autowired
+    private ChangeFeedService changeFeed;
+
+    @Autowired
+    private PatientController patientController;
+
+    @Autowired
+    private AppointmentController appointmentController;
+
+    @Autowired
+    private ChangeEventRepository changeEvents;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @BeforeEach
+    void setUp() {
+        changeEvents.deleteAllInBatch();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        appointmentRepository.deleteAll();
+        patientRepository.deleteAll();
+        changeEvents.deleteAllInBatch();
+    }
+
+    @Test
+    void writes_areRelayedInOrderAndReadByCursor() {
+        Patient patient = patientController.createPatient(patient("FEED-1"));
+        AppointmentView appointment = appointmentController.createAppointment(request(patient, LocalTime.of(9, 0)));
+        AppointmentController.AppointmentRequest move = new AppointmentController.AppointmentRequest();
+        move.setTime(LocalTime.of(10, 0));
+        appointmentController.updateAppointment(appointment.id(), move);
+
+        // Antes del relay nada es visible en el feed
+        assertTrue(changeFeed.changesSince(0, null, 10).items().isEmpty());
+        assertEquals(3, changeFeed.relay());
+
+        ChangeFeedService.ChangePage page = changeFeed.changesSince(0, null, 2);
+        assertEquals(List.of(1L, 2L), page.items().stream().map(ChangeEvent::getPosition).toList());
+        assertEquals(ChangeEvent.PATIENT, page.items().get(0).getAggregateType());
+        assertEquals(ChangeType.CREATED, page.items().get(1).getChangeType());
+        assertTrue(page.hasMore());
+
+        ChangeFeedService.ChangePage rest = changeFeed.changesSince(page.next(), null, 2);
+        assertEquals(1, rest.items().size());
+        assertEquals(ChangeType.UPDATED, rest.items().get(0).getChangeType());
+        assertTrue(rest.items().get(0).getPayload().contains("10:00"));
+        assertFalse(rest.hasMore());
+        assertEquals(3, rest.next());
+
+        assertEquals(1, changeFeed.changesSince(0, ChangeEvent.PATIENT, 10).items().size());
+        assertEquals(0, changeFeed.relay());
+    }
+
+    @Test
+    void rolledBackWrite_leavesNoEvent() {
+        Patient patient = patientController.createPatient(patient("FEED-2"));
+        appointmentController.createAppointment(request(patient, LocalTime.of(11, 0)));
+
+        // Mismo cupo: el UNIQUE rechaza la cita y el evento se deshace con ella
+        assertThrows(ResponseStatusException.class,
+            () -> appointmentController.createAppointment(request(patient, LocalTime.of(11, 0))));
+
+        assertEquals(2, changeFeed.relay());
+    }
+
+    @Test
+    void record_requiresSurroundingTransaction() {
+        Patient patient = patientRepository.save(patient("FEED-3"));
+
+        assertThrows(IllegalTransactionStateException.class, () -> changeFeed.recordPatient(patient, ChangeType.UPDATED));
+    }
+
+    private static AppointmentController.AppointmentRequest request(Patient patient, LocalTime time) {
+        AppointmentController.AppointmentRequest request = new AppointmentController.AppointmentRequest();
+        request.setDate(DAY);
+        request.setTime(time);
+        request.setSpecialty("Cardiologia");
+        request.setPatientId(patient.getId());
+        return request;
+    }
+
+    private static Patient patient(String document) {
+        Patient p = new Patient();
+        p.setFirstName("Nombre");
+        p.setLastName("Apellido");
+        p.setIdentificationNumber(document);
+        p.setIdentificationType("CC");
+        p.setDateOfBirth(LocalDate.of(1990, 1, 1));
+        return p;
+    }
+}
@@ -0,0 +1,42 @@
+package com.soulconnect.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class CsvReaderTest {
+
+    @Test
+    void next_handlesQuotesEscapesAndEmbeddedNewlines() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader(
+            "firstName,allergies\r\nAna,\"Penicilina, polen\"\nLuis,\"Dice \"\"ninguna\"\"\nrevisar\"\n"));
+
+        assertEquals(List.of("firstName", "allergies"), reader.next());
+        assertEquals(List.of("Ana", "Penicilina, polen"), reader.next());
+        assertEquals(3, reader.getLine());
+        assertEquals(List.of("Luis", "Dice \"ninguna\"\nrevisar"), reader.next());
+        assertEquals(5, reader.getLine());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void next_keepsEmptyTrailingFieldAndLastLineWithoutNewline() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("a,,\nb,c"));
+
+        assertEquals(List.of("a", "", ""), reader.next());
+        assertEquals(List.of("b", "c"), reader.next());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void next_failsOnUnterminatedQuote() {
+        CsvReader reader = new CsvReader(new StringReader("\"abierto,sin cerrar\n"));
+
+        assertThrows(IOException.class, reader::next);
+    }
+}
@@ -0,0 +1,129 @@
+package com.soulconnect.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.soulconnect.backend.controller.AppointmentController;
+import com.soulconnect.backend.model.AppointmentDailyCount;
+import com.soulconnect.backend.model.AppointmentStatus;
+import com.soulconnect.backend.model.Patient;
+import com.soulconnect.backend.model.PatientSegmentCount;
+import com.soulconnect.backend.repository.AppointmentDailyCountRepository;
+import com.soulconnect.backend.repository.AppointmentView;
+import com.soulconnect.backend.repository.PatientRepository;
+import com.soulconnect.backend.repository.PatientSegmentCountRepository;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class DashboardAggregateServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 7, 1);
+
+    @Autowired
+    private DashboardAggregateService aggregateService;
+
+    @Autowired
+    private AppointmentController appointmentController;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private AppointmentDailyCountRepository appointmentCounts;
+
+    @Autowired
+    private PatientSegmentCountRepository patientCounts;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Patient patient;
+
+    @BeforeEach
+    void setUp() {
+        patient = patientRepository.save(patient("DASH-1", "Bogota"));
+        patientRepository.save(patient("DASH-2", "Bogota"));
+        patientRepository.save(patient("DASH-3", null));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        // deleteAll no ve las citas con borrado logico; se eliminan con SQL directo
+        jdbcTemplate.update("delete from appointments");
+        patientRepository.deleteAll();
+        appointmentCounts.deleteAllInBatch();
+        patientCounts.deleteAllInBatch();
+    }
+
+    @Test
+    void appointmentWrites_keepDailyCountsInStepWithRebuild() {
+        AppointmentView first = appointmentController.createAppointment(request(LocalTime.of(9, 0), AppointmentStatus.PENDING));
+        appointmentController.createAppointment(request(LocalTime.of(9, 20), AppointmentStatus.PENDING));
+        AppointmentView third = appointmentController.createAppointment(request(LocalTime.of(9, 40), AppointmentStatus.PENDING));
+
+        AppointmentController.AppointmentRequest complete = new AppointmentController.AppointmentRequest();
+        complete.setStatus(AppointmentStatus.COMPLETED);
+        AppointmentView updated = appointmentController.updateAppointment(first.id(), complete);
+        appointmentController.deleteAppointment(third.id());
+
+        // Las vistas salen completas de la transaccion, sin open-in-view
+        assertEquals("Nombre Apellido", first.patientName());
+        assertEquals("Nombre Apellido", updated.patientName());
+        assertEquals(AppointmentStatus.COMPLETED, updated.status());
+
+        Map<AppointmentStatus, Long> incremental = byStatus();
+        assertEquals(Map.of(AppointmentStatus.PENDING, 1L, AppointmentStatus.COMPLETED, 1L), incremental);
+
+        aggregateService.rebuild();
+        assertEquals(incremental, byStatus());
+    }
+
+    @Test
+    void rebuild_countsPatientsBySegment() {
+        aggregateService.rebuild();
+
+        List<PatientSegmentCount> cities = aggregateService.patientCounts(PatientSegmentCount.CITY);
+        assertEquals("Bogota", cities.get(0).getSegment());
+        assertEquals(2, cities.get(0).getTotal());
+        assertEquals("", cities.get(1).getSegment());
+        assertThrows(IllegalArgumentException.class, () -> aggregateService.patientCounts("password"));
+    }
+
+    private Map<AppointmentStatus, Long> byStatus() {
+        return aggregateService.appointmentCounts(DAY, DAY, "Cardiologia").stream()
+            .collect(Collectors.toMap(AppointmentDailyCount::getStatus, AppointmentDailyCount::getTotal));
+    }
+
+    private AppointmentController.AppointmentRequest request(LocalTime time, AppointmentStatus status) {
+        AppointmentController.AppointmentRequest request = new AppointmentController.AppointmentRequest();
+        request.setDate(DAY);
+        request.setTime(time);
+        request.setSpecialty("Cardiologia");
+        request.setStatus(status);
+        request.setPatientId(patient.getId());
+        return request;
+    }
+
+    private static Patient patient(String document, String city) {
+        Patient p = new Patient();
+        p.setFirstName("Nombre");
+        p.setLastName("Apellido");
+        p.setIdentificationNumber(document);
+        p.setIdentificationType("CC");
+        p.setDateOfBirth(LocalDate.of(1990, 1, 1));
+        p.setCity(city);
+        return p;
+    }
+}
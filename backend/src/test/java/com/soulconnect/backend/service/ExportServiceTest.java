@@ -0,0 +1,90 @@
+package com.soulconnect.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.soulconnect.backend.model.Patient;
+import com.soulconnect.backend.repository.PatientRepository;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ExportServiceTest {
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @BeforeEach
+    void setUp() {
+        patientRepository.save(patient("Ana", "300", "Alergia a \"penicilina\", polen"));
+        patientRepository.save(patient("Luis", "301", null));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        patientRepository.deleteAll();
+    }
+
+    @Test
+    void exportPatients_csvWritesHeaderAndEscapedSelectedColumns() {
+        List<String> columns = exportService.resolvePatientColumns(List.of("firstName", "identificationNumber", "allergies"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.exportPatients(columns, null, null, ExportService.Format.CSV, out);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals("firstName,identificationNumber,allergies", lines.get(0));
+        assertEquals("Ana,300,\"Alergia a \"\"penicilina\"\", polen\"", lines.get(1));
+        assertEquals("Luis,301,", lines.get(2));
+    }
+
+    @Test
+    void exportPatients_ndjsonAppliesCreatedRange() {
+        List<String> columns = exportService.resolvePatientColumns(List.of("firstName", "dateOfBirth"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        LocalDate today = LocalDate.now();
+
+        exportService.exportPatients(columns, new ExportService.DateRange(today, today), null, ExportService.Format.NDJSON, out);
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(2, lines.size());
+        assertEquals("{\"firstName\":\"Ana\",\"dateOfBirth\":\"1990-01-01\"}", lines.get(0));
+
+        ByteArrayOutputStream empty = new ByteArrayOutputStream();
+        exportService.exportPatients(columns, new ExportService.DateRange(today.plusDays(1), null), null, ExportService.Format.NDJSON, empty);
+        assertEquals(0, empty.size());
+    }
+
+    @Test
+    void resolveColumns_rejectsUnknownAndDefaultsToAll() {
+        assertThrows(IllegalArgumentException.class, () -> exportService.resolvePatientColumns(List.of("password")));
+        assertTrue(exportService.resolvePatientColumns(null).contains("chronicConditions"));
+        assertTrue(exportService.resolvePatientColumns(null).contains("heartRateBpm"));
+        assertFalse(exportService.resolvePatientColumns(null).contains("vitalsId"));
+        assertTrue(exportService.resolveAppointmentColumns(null).contains("patientId"));
+    }
+
+    private static Patient patient(String firstName, String identificationNumber, String allergies) {
+        Patient patient = new Patient();
+        patient.setFirstName(firstName);
+        patient.setLastName("Prueba");
+        patient.setIdentificationNumber(identificationNumber);
+        patient.setIdentificationType("CC");
+        patient.setDateOfBirth(LocalDate.of(1990, 1, 1));
+        patient.setAllergies(allergies);
+        return patient;
+    }
+}
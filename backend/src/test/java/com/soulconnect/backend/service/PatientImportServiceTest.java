@@ -0,0 +1,152 @@
+package com.soulconnect.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.soulconnect.backend.model.Patient;
+import com.soulconnect.backend.repository.PatientRepository;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest(properties = "soulconnect.import.chunk-size=2")
+@ActiveProfiles("test")
+class PatientImportServiceTest {
+
+    @Autowired
+    private PatientImportService importService;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        // Los borrados logicos no aparecen en deleteAll: se reactivan para que arrastren sus partes
+        jdbcTemplate.update("update patients set deleted_at = null");
+        patientRepository.deleteAll();
+        jdbcTemplate.update("delete from vital_measurements");
+        jdbcTemplate.update("delete from change_events");
+    }
+
+    @Test
+    void importCsv_insertsValidRowsAndReportsErrorsPerLine() throws IOException {
+        Patient existing = new Patient();
+        existing.setFirstName("Ya");
+        existing.setLastName("Existe");
+        existing.setIdentificationNumber("100");
+        existing.setIdentificationType("CC");
+        existing.setDateOfBirth(LocalDate.of(1980, 1, 1));
+        patientRepository.save(existing);
+
+        String csv = """
+            firstName,lastName,identificationNumber,identificationType,dateOfBirth,city,heightCm
+            Ana,Perez,100,CC,1990-01-01,Bogota,160
+            Luis,Gomez,101,CC,1985-05-05,Cali,
+            Maria,Lopez,101,CC,1970-02-02,Cali,155
+            Sin,Fecha,102,CC,,Cali,
+            Pedro,Diaz,103,TI,2010-03-03,"Medellin, Antioquia",140.5
+            """;
+
+        PatientImportService.ImportReport report = importService.importCsv(new BufferedReader(new StringReader(csv)));
+
+        assertEquals(5, report.totalRows());
+        assertEquals(2, report.imported());
+        assertEquals(3, report.rejected());
+        assertEquals(3, patientRepository.count());
+        assertTrue(report.errors().stream().anyMatch(e -> e.line() == 2 && e.message().contains("ya registrada")));
+        assertTrue(report.errors().stream().anyMatch(e -> e.line() == 4 && e.message().contains("repetida")));
+        assertTrue(report.errors().stream().anyMatch(e -> e.line() == 5 && e.message().contains("nacimiento")));
+        assertEquals("Medellin, Antioquia", patientRepository.findByIdentificationNumber("103").orElseThrow().getCity());
+    }
+
+    @Test
+    void importNdjson_insertsRowsAndRejectsMalformedLines() throws IOException {
+        String ndjson = """
+            {"firstName":"Ana","lastName":"Perez","identificationNumber":"200","identificationType":"CC","dateOfBirth":"1990-01-01"}
+            {esto no es json}
+
+            {"firstName":"Luis","lastName":"Gomez","identificationNumber":"201","identificationType":"CC","dateOfBirth":"1985-05-05","allergies":"Ninguna","weightKg":70.5}
+            """;
+
+        PatientImportService.ImportReport report = importService.importNdjson(new BufferedReader(new StringReader(ndjson)));
+
+        assertEquals(2, report.imported());
+        assertEquals(1, report.rejected());
+        assertEquals(2, report.errors().get(0).line());
+        // La historia clinica es una parte lazy: se lee dentro de una transaccion
+        String allergies = new TransactionTemplate(transactionManager).execute(status ->
+            patientRepository.findByIdentificationNumber("201").orElseThrow().getAllergies());
+        assertEquals("Ninguna", allergies);
+
+        // Cada alta pasa por el outbox y los signos vitales del perfil quedan como lectura inicial
+        UUID luis = patientRepository.findByIdentificationNumber("201").orElseThrow().getId();
+        assertEquals(2, count("select count(*) from change_events where aggregate_type = 'patient' and change_type = 'CREATED'"));
+        assertEquals(1, count("select count(*) from vital_measurements where patient_id = '" + luis + "' and source = 'perfil' and weight_kg = 70.5"));
+    }
+
+    @Test
+    void import_rejectsRowsThatExceedColumnLimits() throws IOException {
+        String csv = """
+            firstName,lastName,identificationNumber,identificationType,dateOfBirth,city,heightCm
+            Ana,Perez,300,CC,1990-01-01,%s,160
+            Luis,Gomez,301,CC,1985-05-05,Cali,1000
+            Maria,Lopez,302,CC,1970-02-02,Cali,155.5
+            """.formatted("B".repeat(81));
+
+        PatientImportService.ImportReport report = importService.importCsv(new BufferedReader(new StringReader(csv)));
+
+        assertEquals(1, report.imported());
+        assertTrue(report.errors().stream().anyMatch(e -> e.line() == 2 && e.message().contains("city")));
+        assertTrue(report.errors().stream().anyMatch(e -> e.line() == 3 && e.message().contains("heightCm")));
+    }
+
+    @Test
+    void import_retriesFailedChunkRowByRow() throws IOException {
+        Patient deleted = new Patient();
+        deleted.setFirstName("Borrado");
+        deleted.setLastName("Logico");
+        deleted.setIdentificationNumber("401");
+        deleted.setIdentificationType("CC");
+        deleted.setDateOfBirth(LocalDate.of(1980, 1, 1));
+        patientRepository.save(deleted);
+        // En H2 la clave unica del natural id incluye a los borrados logicos: la verificacion previa no ve
+        // la fila y el INSERT del lote falla en la base
+        jdbcTemplate.update("update patients set deleted_at = current_timestamp where identification_number = '401'");
+
+        String ndjson = """
+            {"firstName":"Ana","lastName":"Perez","identificationNumber":"400","identificationType":"CC","dateOfBirth":"1990-01-01"}
+            {"firstName":"Luis","lastName":"Gomez","identificationNumber":"401","identificationType":"CC","dateOfBirth":"1985-05-05"}
+            {"firstName":"Maria","lastName":"Lopez","identificationNumber":"402","identificationType":"CC","dateOfBirth":"1970-02-02"}
+            """;
+
+        PatientImportService.ImportReport report = importService.importNdjson(new BufferedReader(new StringReader(ndjson)));
+
+        // El lote de las lineas 1 y 2 falla; al reintentar fila por fila solo se rechaza la 2
+        assertEquals(2, report.imported());
+        assertEquals(1, report.rejected());
+        assertEquals(2, report.errors().get(0).line());
+        assertEquals("Fila rechazada por la base de datos", report.errors().get(0).message());
+        assertTrue(patientRepository.findByIdentificationNumber("400").isPresent());
+        assertTrue(patientRepository.findByIdentificationNumber("402").isPresent());
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
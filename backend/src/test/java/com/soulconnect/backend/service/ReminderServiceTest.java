@@ -0,0 +1,174 @@
+package com.soulconnect.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.soulconnect.backend.model.Appointment;
+import com.soulconnect.backend.model.AppointmentReminder;
+import com.soulconnect.backend.model.AppointmentReminderId;
+import com.soulconnect.backend.model.AppointmentStatus;
+import com.soulconnect.backend.model.Patient;
+import com.soulconnect.backend.model.ReminderChannel;
+import com.soulconnect.backend.model.ReminderStatus;
+import com.soulconnect.backend.repository.AppointmentReminderRepository;
+import com.soulconnect.backend.repository.AppointmentRepository;
+import com.soulconnect.backend.repository.PatientRepository;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ReminderServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 8, 3);
+    private static final LocalDate TOMORROW = TODAY.plusDays(1);
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private AppointmentReminderRepository reminderRepository;
+
+    private final ScriptedSender sender = new ScriptedSender();
+    private ReminderService service;
+
+    @BeforeEach
+    void setUp() {
+        // Paginas y lotes pequenos para ejercitar el keyset y el drenado de la cola
+        service = new ReminderService(appointmentRepository, reminderRepository, sender, 2, 2, 2, 4, 3,
+            Duration.ofMillis(1), Duration.ofMinutes(1), Clock.fixed(TODAY.atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        service.shutdown();
+        reminderRepository.deleteAllInBatch();
+        appointmentRepository.deleteAll();
+        patientRepository.deleteAll();
+    }
+
+    @Test
+    void run_sendsPendingAppointmentsOnceWithRetries() throws Exception {
+        Patient withEmail = patientRepository.save(patient("REM-1", "ana@correo.co", "3001112233"));
+        Patient withPhone = patientRepository.save(patient("REM-2", null, "3104445566"));
+        Patient noContact = patientRepository.save(patient("REM-3", null, " "));
+
+        Appointment first = appointmentRepository.save(appointment(withEmail, TOMORROW, LocalTime.of(8, 0), AppointmentStatus.PENDING));
+        Appointment second = appointmentRepository.save(appointment(withPhone, TOMORROW, LocalTime.of(8, 20), AppointmentStatus.PENDING));
+        Appointment skipped = appointmentRepository.save(appointment(noContact, TOMORROW, LocalTime.of(8, 40), AppointmentStatus.PENDING));
+        appointmentRepository.save(appointment(withEmail, TOMORROW, LocalTime.of(9, 0), AppointmentStatus.CANCELLED));
+        appointmentRepository.save(appointment(withPhone, TOMORROW.plusDays(1), LocalTime.of(9, 0), AppointmentStatus.PENDING));
+
+        sender.failOnce.add(second.getId());
+
+        service.remindTomorrow();
+        ReminderService.RunReport report = awaitReport();
+
+        assertTrue(report.completed());
+        assertEquals(3, report.selected());
+        assertEquals(2, report.sent());
+        assertEquals(1, report.skipped());
+        assertEquals(0, report.failed());
+
+        AppointmentReminder email = reminderRepository.findById(new AppointmentReminderId(first.getId(), TOMORROW)).orElseThrow();
+        assertEquals(ReminderChannel.EMAIL, email.getChannel());
+        assertEquals(1, email.getAttempts());
+        AppointmentReminder sms = reminderRepository.findById(new AppointmentReminderId(second.getId(), TOMORROW)).orElseThrow();
+        assertEquals(ReminderChannel.SMS, sms.getChannel());
+        assertEquals(2, sms.getAttempts());
+        assertEquals(ReminderStatus.SKIPPED,
+            reminderRepository.findById(new AppointmentReminderId(skipped.getId(), TOMORROW)).orElseThrow().getStatus());
+
+        // Repetir la corrida no reenvia lo ya entregado; solo vuelve a mirar la cita sin contacto
+        int delivered = sender.delivered.size();
+        ReminderService.RunReport rerun = service.submit(TOMORROW).get(30, TimeUnit.SECONDS);
+        assertEquals(1, rerun.selected());
+        assertEquals(0, rerun.sent());
+        assertEquals(delivered, sender.delivered.size());
+        assertEquals(2, reminderRepository.countByAppointmentDateAndStatus(TOMORROW, ReminderStatus.SENT));
+    }
+
+    @Test
+    void run_marksFailedAfterMaxAttempts() throws Exception {
+        Patient patient = patientRepository.save(patient("REM-4", "luis@correo.co", null));
+        Appointment appointment = appointmentRepository.save(appointment(patient, TOMORROW, LocalTime.of(10, 0), AppointmentStatus.PENDING));
+        sender.alwaysFail.add(appointment.getId());
+
+        ReminderService.RunReport report = service.submit(TOMORROW).get(30, TimeUnit.SECONDS);
+
+        assertEquals(1, report.failed());
+        AppointmentReminder reminder = reminderRepository.findById(new AppointmentReminderId(appointment.getId(), TOMORROW)).orElseThrow();
+        assertEquals(ReminderStatus.FAILED, reminder.getStatus());
+        assertEquals(3, reminder.getAttempts());
+        assertEquals("proveedor no disponible", reminder.getLastError());
+    }
+
+    private ReminderService.RunReport awaitReport() throws InterruptedException {
+        for (int i = 0; i < 300 && service.getLastReport() == null; i++) {
+            Thread.sleep(100);
+        }
+        return service.getLastReport();
+    }
+
+    // Emisor local: falla a proposito ciertas citas para ejercitar los reintentos
+    private static class ScriptedSender implements ReminderSender {
+        final Set<UUID> failOnce = ConcurrentHashMap.newKeySet();
+        final Set<UUID> alwaysFail = ConcurrentHashMap.newKeySet();
+        final List<UUID> delivered = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public List<Result> send(List<Message> batch) {
+            List<Result> results = new ArrayList<>(batch.size());
+            for (Message message : batch) {
+                if (alwaysFail.contains(message.appointmentId()) || failOnce.remove(message.appointmentId())) {
+                    results.add(Result.retry("proveedor no disponible"));
+                } else {
+                    delivered.add(message.appointmentId());
+                    results.add(Result.ok());
+                }
+            }
+            return results;
+        }
+    }
+
+    private static Appointment appointment(Patient patient, LocalDate date, LocalTime time, AppointmentStatus status) {
+        Appointment appointment = new Appointment();
+        appointment.setPatient(patient);
+        appointment.setDate(date);
+        appointment.setTime(time);
+        appointment.setSpecialty("Medicina general");
+        appointment.setStatus(status);
+        return appointment;
+    }
+
+    private static Patient patient(String document, String email, String phone) {
+        Patient p = new Patient();
+        p.setFirstName("Nombre");
+        p.setLastName("Apellido");
+        p.setIdentificationNumber(document);
+        p.setIdentificationType("CC");
+        p.setDateOfBirth(LocalDate.of(1990, 1, 1));
+        p.setEmail(email);
+        p.setPhoneNumber(phone);
+        return p;
+    }
+}
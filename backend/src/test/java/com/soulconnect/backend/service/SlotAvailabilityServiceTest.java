@@ -0,0 +1,73 @@
+package com.soulconnect.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.soulconnect.backend.repository.AppointmentRepository;
+import com.soulconnect.backend.repository.BookedSlot;
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.EnumSet;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class SlotAvailabilityServiceTest {
+
+    // Lunes 2026-06-01
+    private static final LocalDate MONDAY = LocalDate.of(2026, 6, 1);
+
+    private AppointmentRepository repository;
+    private SlotAvailabilityService service;
+
+    @BeforeEach
+    void setUp() {
+        repository = Mockito.mock(AppointmentRepository.class);
+        Clock clock = Clock.fixed(MONDAY.minusDays(7).atStartOfDay(ZoneId.systemDefault()).toInstant(), ZoneId.systemDefault());
+        service = new SlotAvailabilityService(repository, Mockito.mock(AppointmentTypeCatalog.class),
+            LocalTime.of(8, 0), LocalTime.of(10, 0), 30,
+            EnumSet.range(DayOfWeek.MONDAY, DayOfWeek.FRIDAY), Duration.ofMinutes(5), clock);
+    }
+
+    @Test
+    void findAvailability_subtractsBookedSlotsWithOneRangeQuery() {
+        when(repository.findBookedSlots("Cardiologia", MONDAY, MONDAY.plusDays(4))).thenReturn(List.of(
+            new BookedSlot(MONDAY, LocalTime.of(8, 30)),
+            new BookedSlot(MONDAY.plusDays(1), LocalTime.of(9, 45))));
+
+        List<SlotAvailabilityService.DayAvailability> week = service.findAvailability("Cardiologia", MONDAY, MONDAY.plusDays(6));
+
+        verify(repository, times(1)).findBookedSlots(any(), any(), any());
+        assertEquals(5, week.size());
+        assertEquals(List.of(LocalTime.of(8, 0), LocalTime.of(9, 0), LocalTime.of(9, 30)), week.get(0).openSlots());
+        assertEquals(List.of(LocalTime.of(8, 0), LocalTime.of(8, 30), LocalTime.of(9, 0)), week.get(1).openSlots());
+        assertEquals(4, week.get(2).openSlots().size());
+    }
+
+    @Test
+    void occupyAndRelease_updateCachedDaysWithoutQuerying() {
+        when(repository.findBookedSlots(eq("Cardiologia"), any(), any())).thenReturn(List.of());
+        service.findAvailability("Cardiologia", MONDAY, MONDAY);
+
+        service.occupy("Cardiologia", MONDAY, LocalTime.of(8, 0));
+        List<LocalTime> afterBooking = service.findAvailability("Cardiologia", MONDAY, MONDAY).get(0).openSlots();
+        assertFalse(afterBooking.contains(LocalTime.of(8, 0)));
+
+        service.release("Cardiologia", MONDAY, LocalTime.of(8, 0));
+        List<LocalTime> afterCancel = service.findAvailability("Cardiologia", MONDAY, MONDAY).get(0).openSlots();
+        assertTrue(afterCancel.contains(LocalTime.of(8, 0)));
+
+        verify(repository, times(1)).findBookedSlots(any(), any(), any());
+    }
+}
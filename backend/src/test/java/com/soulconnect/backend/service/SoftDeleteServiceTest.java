@@ -0,0 +1,239 @@
+package com.soulconnect.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.soulconnect.backend.controller.AppointmentController;
+import com.soulconnect.backend.model.AppointmentDailyCount;
+import com.soulconnect.backend.model.AppointmentStatus;
+import com.soulconnect.backend.model.Patient;
+import com.soulconnect.backend.repository.AppointmentDailyCountRepository;
+import com.soulconnect.backend.repository.AppointmentRepository;
+import com.soulconnect.backend.repository.AppointmentView;
+import com.soulconnect.backend.repository.ChangeEventRepository;
+import com.soulconnect.backend.repository.PatientRepository;
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SoftDeleteServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 9, 7);
+
+    @Autowired
+    private SoftDeleteService softDeleteService;
+
+    @Autowired
+    private AppointmentController appointmentController;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private AppointmentDailyCountRepository appointmentCounts;
+
+    @Autowired
+    private ChangeEventRepository changeEvents;
+
+    @Autowired
+    private DashboardAggregateService aggregateService;
+
+    @Autowired
+    private ChangeFeedService changeFeed;
+
+    @Autowired
+    private SlotAvailabilityService availabilityService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Patient patient;
+
+    @BeforeEach
+    void setUp() {
+        patient = patientRepository.save(patient("SOFT-1"));
+        changeEvents.deleteAllInBatch();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        // Lo borrado logicamente no aparece en deleteAll: una depuracion sin retencion lo elimina primero
+        purgeAt(Instant.now().plus(Duration.ofDays(1)), Duration.ZERO, 100).purgeNow();
+        appointmentRepository.deleteAll();
+        patientRepository.deleteAll();
+        appointmentCounts.deleteAllInBatch();
+        changeEvents.deleteAllInBatch();
+    }
+
+    @Test
+    void deletePatient_hidesPatientAndAppointments() {
+        AppointmentView first = create(DAY, LocalTime.of(9, 0));
+        create(DAY, LocalTime.of(9, 20));
+        // Carga el paciente en el cache de segundo nivel y en el de natural id
+        assertTrue(patientRepository.findByIdentificationNumber("SOFT-1").isPresent());
+        changeFeed.relay();
+
+        assertTrue(softDeleteService.deletePatient(patient.getId()));
+
+        assertTrue(patientRepository.findById(patient.getId()).isEmpty());
+        assertTrue(patientRepository.findByIdentificationNumber("SOFT-1").isEmpty());
+        assertTrue(patientRepository.searchSummaries("SOFT-1", 10).isEmpty());
+        assertTrue(appointmentRepository.findById(first.id()).isEmpty());
+        assertTrue(appointmentRepository.findViewsByPatientId(patient.getId()).isEmpty());
+        // Las filas siguen en la base hasta la depuracion
+        assertEquals(2, count("select count(*) from appointments where deleted_at is not null"));
+        assertEquals(1, count("select count(*) from patients where deleted_at is not null"));
+
+        // Un evento por cita y uno por el paciente
+        assertEquals(3, changeFeed.relay());
+        assertFalse(softDeleteService.deletePatient(patient.getId()));
+    }
+
+    @Test
+    void deletePatient_keepsRollupsInStepWithRebuildAndReleasesSlots() {
+        LocalDate monday = LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+        create(monday, LocalTime.of(10, 0));
+        create(DAY, LocalTime.of(10, 0));
+        AppointmentView cancelled = create(DAY, LocalTime.of(10, 20));
+        appointmentController.changeStatus(statusChange(cancelled, AppointmentStatus.CANCELLED));
+        assertFalse(availabilityService.findAvailability("Cardiologia", monday, monday).get(0).openSlots()
+            .contains(LocalTime.of(10, 0)));
+
+        softDeleteService.deletePatient(patient.getId());
+
+        assertTrue(availabilityService.findAvailability("Cardiologia", monday, monday).get(0).openSlots()
+            .contains(LocalTime.of(10, 0)));
+        Map<AppointmentStatus, Long> incremental = byStatus(DAY);
+        assertTrue(incremental.isEmpty());
+        aggregateService.rebuild();
+        assertEquals(incremental, byStatus(DAY));
+    }
+
+    @Test
+    void deleteAppointment_isLogicalAndSlotCanBeBookedAgain() {
+        AppointmentView booked = create(DAY, LocalTime.of(11, 0));
+
+        appointmentController.deleteAppointment(booked.id());
+
+        assertTrue(appointmentRepository.findById(booked.id()).isEmpty());
+        assertEquals(1, count("select count(*) from appointments where deleted_at is not null and slot_active is null"));
+        AppointmentView rebooked = create(DAY, LocalTime.of(11, 0));
+        assertEquals(AppointmentStatus.PENDING, rebooked.status());
+    }
+
+    @Test
+    void purge_removesOnlyExpiredRows() {
+        Instant now = Instant.parse("2026-10-01T12:00:00Z");
+        for (int i = 0; i < 3; i++) {
+            appointmentController.deleteAppointment(create(DAY, LocalTime.of(8, 0).plusMinutes(20L * i)).id());
+        }
+        create(DAY, LocalTime.of(14, 0));
+        Patient gone = patientRepository.save(patient("SOFT-2"));
+        create(gone, DAY, LocalTime.of(16, 0));
+        softDeleteService.deletePatient(gone.getId());
+
+        // Dentro de la retencion no se toca nada
+        SoftDeleteService.PurgeReport early = purgeAt(now, Duration.ofDays(3650), 2).purgeNow();
+        assertEquals(0, early.appointments() + early.patients());
+
+        SoftDeleteService.PurgeReport report = purgeAt(now.plus(Duration.ofDays(3650)), Duration.ofDays(1), 2).purgeNow();
+
+        // La cita del paciente borrado se va con el (o sola, si cae antes en su lote)
+        assertTrue(report.appointments() >= 3);
+        assertEquals(1, report.patients());
+        assertTrue(report.completed());
+        assertEquals(1, count("select count(*) from appointments"));
+        assertEquals(1, count("select count(*) from patients"));
+        assertEquals(1, count("select count(*) from patient_vitals"));
+        assertEquals(1, count("select count(*) from patient_clinical_history"));
+        assertTrue(patientRepository.findById(patient.getId()).isPresent());
+    }
+
+    @Test
+    void purge_stopsAtMaxBatchesAndResumesLater() {
+        for (int i = 0; i < 3; i++) {
+            appointmentController.deleteAppointment(create(DAY, LocalTime.of(15, 0).plusMinutes(20L * i)).id());
+        }
+        Instant later = Instant.now().plus(Duration.ofDays(1));
+        SoftDeleteService job = new SoftDeleteService(patientRepository, appointmentRepository, aggregateService,
+            changeFeed, availabilityService, transactionManager, Duration.ZERO, 1, Duration.ZERO, 2,
+            Clock.fixed(later, ZoneOffset.UTC));
+
+        SoftDeleteService.PurgeReport first = job.purgeNow();
+        assertEquals(2, first.appointments());
+        assertFalse(first.completed());
+
+        assertEquals(1, job.purgeNow().appointments());
+    }
+
+    private SoftDeleteService purgeAt(Instant now, Duration retention, int batchSize) {
+        return new SoftDeleteService(patientRepository, appointmentRepository, aggregateService, changeFeed,
+            availabilityService, transactionManager, retention, batchSize, Duration.ZERO, 50,
+            Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+
+    private Map<AppointmentStatus, Long> byStatus(LocalDate day) {
+        return aggregateService.appointmentCounts(day, day, "Cardiologia").stream()
+            .filter(count -> count.getTotal() > 0)
+            .collect(Collectors.toMap(AppointmentDailyCount::getStatus, AppointmentDailyCount::getTotal));
+    }
+
+    private static AppointmentController.StatusChangeRequest statusChange(AppointmentView view, AppointmentStatus to) {
+        AppointmentController.StatusChangeRequest request = new AppointmentController.StatusChangeRequest();
+        request.setIds(List.of(view.id()));
+        request.setStatus(to);
+        return request;
+    }
+
+    private AppointmentView create(LocalDate date, LocalTime time) {
+        return create(patient, date, time);
+    }
+
+    private AppointmentView create(Patient owner, LocalDate date, LocalTime time) {
+        AppointmentController.AppointmentRequest request = new AppointmentController.AppointmentRequest();
+        request.setDate(date);
+        request.setTime(time);
+        request.setSpecialty("Cardiologia");
+        request.setPatientId(owner.getId());
+        return appointmentController.createAppointment(request);
+    }
+
+    private static Patient patient(String document) {
+        Patient p = new Patient();
+        p.setFirstName("Nombre");
+        p.setLastName("Apellido");
+        p.setIdentificationNumber(document);
+        p.setIdentificationType("CC");
+        p.setDateOfBirth(LocalDate.of(1990, 1, 1));
+        return p;
+    }
+}
@@ -0,0 +1,120 @@
+package com.soulconnect.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.soulconnect.backend.model.Patient;
+import com.soulconnect.backend.model.VitalMeasurement;
+import com.soulconnect.backend.repository.PatientRepository;
+import com.soulconnect.backend.repository.VitalBucket;
+import com.soulconnect.backend.repository.VitalMeasurementRepository;
+import com.soulconnect.backend.repository.VitalMetric;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class VitalsServiceTest {
+
+    private static final Instant START = Instant.parse("2026-03-01T08:00:00Z");
+
+    @Autowired
+    private VitalsService vitalsService;
+
+    @Autowired
+    private VitalMeasurementRepository measurementRepository;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    private UUID patientId;
+
+    @BeforeEach
+    void setUp() {
+        Patient p = new Patient();
+        p.setFirstName("Ana");
+        p.setLastName("Rojas");
+        p.setIdentificationNumber("VIT-1");
+        p.setIdentificationType("CC");
+        p.setDateOfBirth(LocalDate.of(1990, 1, 1));
+        patientId = patientRepository.save(p).getId();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        measurementRepository.deleteAllInBatch();
+        patientRepository.deleteAll();
+    }
+
+    @Test
+    void ingest_appendsBatchAndIgnoresRepeatedReadings() {
+        List<VitalMeasurement> batch = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            batch.add(reading(START.plus(Duration.ofMinutes(10L * i)), 60 + i));
+        }
+        batch.add(reading(START, 99));
+
+        VitalsService.IngestResult result = vitalsService.ingest(batch);
+        assertEquals(7, result.received());
+        assertEquals(6, result.accepted());
+
+        // Reenviar el mismo lote (reintento del dispositivo) no duplica filas
+        vitalsService.ingest(List.of(reading(START, 60)));
+        assertEquals(6, measurementRepository.count());
+
+        List<VitalMeasurement> timeline = vitalsService.timeline(patientId, START, START.plus(Duration.ofHours(1)), 100);
+        assertEquals(6, timeline.size());
+        assertEquals(60, timeline.get(0).getHeartRateBpm());
+        assertEquals(START, timeline.get(0).getMeasuredAt());
+    }
+
+    @Test
+    void buckets_returnMinMaxAvgPerInterval() {
+        vitalsService.ingest(List.of(
+            reading(START, 60),
+            reading(START.plus(Duration.ofMinutes(20)), 80),
+            reading(START.plus(Duration.ofMinutes(70)), 100)));
+
+        List<VitalBucket> buckets = vitalsService.buckets(patientId, VitalMetric.HEART_RATE_BPM,
+            START, START.plus(Duration.ofHours(3)), Duration.ofHours(1));
+
+        assertEquals(2, buckets.size());
+        assertEquals(START, buckets.get(0).start());
+        assertEquals(2, buckets.get(0).count());
+        assertEquals(60.0, buckets.get(0).min());
+        assertEquals(80.0, buckets.get(0).max());
+        assertEquals(70.0, buckets.get(0).avg());
+        assertEquals(START.plus(Duration.ofHours(1)), buckets.get(1).start());
+    }
+
+    @Test
+    void ingest_rejectsUnknownPatientsAndEmptyReadings() {
+        VitalMeasurement stranger = reading(START, 70);
+        stranger.setPatientId(UUID.randomUUID());
+        assertThrows(VitalsService.UnknownPatientException.class, () -> vitalsService.ingest(List.of(stranger)));
+
+        VitalMeasurement empty = reading(START, 70);
+        empty.setHeartRateBpm(null);
+        assertThrows(IllegalArgumentException.class, () -> vitalsService.ingest(List.of(empty)));
+        assertEquals(0, measurementRepository.count());
+    }
+
+    private VitalMeasurement reading(Instant at, int heartRate) {
+        VitalMeasurement m = new VitalMeasurement();
+        m.setPatientId(patientId);
+        m.setMeasuredAt(at);
+        m.setHeartRateBpm(heartRate);
+        m.setSource("monitor-1");
+        return m;
+    }
+}
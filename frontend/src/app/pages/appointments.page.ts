@@ -13,7 +13,6 @@ import { PatientService } from '../services/patient';
   styleUrls: ['../app.scss']
 })
 export class AppointmentsPageComponent implements OnInit {
-  patients: any[] = [];
   filteredPatients: any[] = [];
   selectedPatient: any | null = null;
   appointments: any[] = [];
@@ -23,6 +22,7 @@ export class AppointmentsPageComponent implements OnInit {
   toasts: { type: 'success' | 'error'; message: string; id: number }[] = [];
   pendingPatientId: string | null = null;
   typeDropdownOpen = false;
+  private patientSearchSeq = 0;
 
   patientLookupControl = new FormControl('', [Validators.required, Validators.minLength(3)]);
 
@@ -49,7 +49,6 @@ export class AppointmentsPageComponent implements OnInit {
       }
     });
 
-    this.loadPatients();
     this.loadAppointmentTypes();
   }
 
@@ -66,19 +65,6 @@ export class AppointmentsPageComponent implements OnInit {
     });
   }
 
-  loadPatients(): void {
-    this.patientService.getPatients().subscribe({
-      next: (data: any[]) => {
-        this.patients = data;
-        this.filteredPatients = data;
-      },
-      error: (err: any) => {
-        console.error('Error al cargar pacientes:', err);
-        this.showToast('error', 'No se pudieron cargar los pacientes');
-      }
-    });
-  }
-
   onSearchByDocument(): void {
     if (this.patientLookupControl.invalid) {
       this.patientLookupControl.markAsTouched();
@@ -109,22 +95,31 @@ export class AppointmentsPageComponent implements OnInit {
   }
 
   onFilterPatients(term: string): void {
-    const value = term.toLowerCase().trim();
-    if (!value) {
-      this.filteredPatients = this.patients;
+    const value = term.trim();
+    const seq = ++this.patientSearchSeq;
+    if (value.length < 2) {
+      this.filteredPatients = [];
       return;
     }
 
-    this.filteredPatients = this.patients.filter(p => {
-      const fullName = `${p.firstName ?? ''} ${p.lastName ?? ''}`.toLowerCase();
-      const idNumber = `${p.identificationNumber ?? ''}`.toLowerCase();
-      return fullName.includes(value) || idNumber.includes(value);
+    // Se busca en el servidor: cualquier paciente de la base puede agendarse, no solo una primera pagina
+    this.patientService.lookupPatients(value).subscribe({
+      next: (data: any[]) => {
+        // Solo cuenta la respuesta de la ultima busqueda escrita
+        if (seq !== this.patientSearchSeq) {
+          return;
+        }
+        this.filteredPatients = data;
+        const exact = data.find(p => `${p.identificationNumber ?? ''}`.toLowerCase() === value.toLowerCase());
+        if (exact) {
+          this.setSelectedPatient(exact);
+        }
+      },
+      error: (err: any) => {
+        console.error('Error al buscar pacientes:', err);
+        this.showToast('error', 'No se pudieron buscar los pacientes');
+      }
     });
-
-    const exact = this.filteredPatients.find(p => `${p.identificationNumber ?? ''}`.toLowerCase() === value);
-    if (exact) {
-      this.setSelectedPatient(exact);
-    }
   }
 
   onSpecialtyInput(term: string): void {
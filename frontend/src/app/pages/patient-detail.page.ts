@@ -137,9 +137,11 @@ export class PatientDetailPageComponent implements OnInit {
     });
   }
 
+  // La ficha, el historial de citas y sus conteos llegan en una sola llamada
   loadPatient(id: string): void {
-    this.patientService.getPatient(id).subscribe({
-      next: patient => {
+    this.patientService.getOverview(id).subscribe({
+      next: overview => {
+        const patient = overview.patient;
         this.patient = patient;
         this.patientForm.patchValue({
           firstName: patient.firstName,
@@ -185,8 +187,8 @@ export class PatientDetailPageComponent implements OnInit {
           chronicConditions: patient.chronicConditions
         });
 
-        // Load appointments after patient data is confirmed to ensure the id is valid
-        this.loadAppointments(patient.id);
+        this.appointments = overview.appointments;
+        this.splitAppointments();
       },
       error: err => {
         console.error('Error al cargar paciente:', err);
@@ -197,9 +199,9 @@ export class PatientDetailPageComponent implements OnInit {
   }
 
   loadAppointments(patientId: string): void {
-    this.appointmentService.getByPatient(patientId).subscribe({
-      next: data => {
-        this.appointments = data;
+    this.patientService.getOverview(patientId).subscribe({
+      next: overview => {
+        this.appointments = overview.appointments;
         this.splitAppointments();
       },
       error: err => {
@@ -222,6 +224,8 @@ export class PatientDetailPageComponent implements OnInit {
         this.pastAppointments.push(a);
       }
     });
+    // El historial llega de la mas reciente a la mas antigua; las proximas se muestran de la mas cercana en adelante
+    this.pendingAppointments.reverse();
   }
 
   loadLocations(): void {
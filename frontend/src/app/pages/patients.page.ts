@@ -10,7 +10,10 @@ import {
     ValidationErrors,
     ReactiveFormsModule,
 } from '@angular/forms';
-import { PatientService } from '../services/patient';
+import { PatientPage, PatientService } from '../services/patient';
+
+// Pacientes por pagina pedidos al servidor; el resto se trae con "Cargar más" siguiendo el cursor
+const PATIENT_PAGE_SIZE = 50;
 
 function notFutureDate(control: AbstractControl): ValidationErrors | null {
     const value = control.value;
@@ -35,8 +38,13 @@ export class PatientsPageComponent implements OnInit {
     filtered: any[] = [];
     page = 1;
     pageSize = 4;
+    nextCursor: string | null = null;
+    loadingMore = false;
+    searchTerm = '';
+    private searchSeq = 0;
     toasts: { type: 'success' | 'error'; message: string; id: number }[] = [];
     editingId: string | null = null;
+    editingVersion: number | null = null;
 
     patientForm = new FormGroup({
         firstName: new FormControl('', [Validators.required, Validators.minLength(2)]),
@@ -103,13 +111,38 @@ export class PatientsPageComponent implements OnInit {
     }
 
     loadPatients(): void {
-        this.patientService.getPatients().subscribe({
-            next: (data: any[]) => {
-                this.patients = data;
-                this.filtered = data;
-                this.page = 1;
+        this.fetchPage(null);
+    }
+
+    loadMore(): void {
+        if (this.nextCursor && !this.loadingMore) {
+            this.fetchPage(this.nextCursor);
+        }
+    }
+
+    private fetchPage(cursor: string | null): void {
+        const params: Record<string, string | number> = { limit: PATIENT_PAGE_SIZE };
+        if (cursor) {
+            params['cursor'] = cursor;
+        }
+        this.loadingMore = true;
+        this.patientService.getPatientPage(params).subscribe({
+            next: (data: PatientPage) => {
+                this.patients = cursor ? [...this.patients, ...data.items] : data.items;
+                this.nextCursor = data.next ?? null;
+                this.loadingMore = false;
+                if (this.searchTerm) {
+                    // Con una busqueda activa se repite contra el servidor para reflejar altas y cambios
+                    this.onSearch(this.searchTerm);
+                } else {
+                    this.filtered = this.patients;
+                    if (!cursor) {
+                        this.page = 1;
+                    }
+                }
             },
             error: (err: any) => {
+                this.loadingMore = false;
                 console.error('Error al cargar:', err);
                 this.showToast('error', 'Error al cargar pacientes');
             },
@@ -125,7 +158,7 @@ export class PatientsPageComponent implements OnInit {
         const { location, ...payload } = this.patientForm.value;
 
         if (this.editingId) {
-            this.patientService.updatePatient(this.editingId, payload).subscribe({
+            this.patientService.patchPatient(this.editingId, this.changedFields()).subscribe({
                 next: () => {
                     this.loadPatients();
                     this.resetForm();
@@ -134,7 +167,7 @@ export class PatientsPageComponent implements OnInit {
                 error: (err: any) => {
                     console.error('Error al actualizar:', err);
                     if (err?.status === 409) {
-                        this.showToast('error', 'Identificacion ya registrada');
+                        this.showToast('error', 'Identificacion ya registrada o paciente modificado por otro usuario');
                     } else {
                         this.showToast('error', 'No se pudo actualizar');
                     }
@@ -161,7 +194,28 @@ export class PatientsPageComponent implements OnInit {
     }
 
     startEdit(patient: any): void {
+        // El listado trae solo el resumen; la historia completa se pide por id
+        this.patientService.getPatient(patient.id).subscribe({
+            next: (full: any) => this.fillForm(full),
+            error: (err: any) => {
+                console.error('Error al cargar paciente:', err);
+                this.showToast('error', 'No se pudo cargar el paciente');
+            },
+        });
+    }
+
+    // Solo los controles que el usuario modifico, mas la version para el bloqueo optimista
+    private changedFields(): Record<string, any> {
+        const changes: Record<string, any> = { version: this.editingVersion };
+        Object.entries(this.patientForm.controls)
+            .filter(([name, control]) => name !== 'location' && control.dirty)
+            .forEach(([name, control]) => changes[name] = control.value === '' ? null : control.value);
+        return changes;
+    }
+
+    private fillForm(patient: any): void {
         this.editingId = patient.id;
+        this.editingVersion = patient.version ?? null;
         this.patientForm.patchValue({
             firstName: patient.firstName,
             lastName: patient.lastName,
@@ -189,6 +243,7 @@ export class PatientsPageComponent implements OnInit {
             vaccines: patient.vaccines,
             chronicConditions: patient.chronicConditions,
         });
+        this.patientForm.markAsPristine();
     }
 
     cancelEdit(): void {
@@ -197,6 +252,7 @@ export class PatientsPageComponent implements OnInit {
 
     private resetForm(): void {
         this.editingId = null;
+        this.editingVersion = null;
         this.patientForm.reset({ identificationType: 'CC' });
     }
 
@@ -219,19 +275,28 @@ export class PatientsPageComponent implements OnInit {
     }
 
     onSearch(term: string): void {
-        const value = term.toLowerCase().trim();
-        if (!value) {
+        const value = term.trim();
+        const seq = ++this.searchSeq;
+        this.searchTerm = value;
+        this.page = 1;
+        if (value.length < 2) {
             this.filtered = this.patients;
-            this.page = 1;
             return;
         }
 
-        this.filtered = this.patients.filter((p) => {
-            const fullName = `${p.firstName ?? ''} ${p.lastName ?? ''}`.toLowerCase();
-            const idNumber = `${p.identificationNumber ?? ''}`.toLowerCase();
-            return fullName.includes(value) || idNumber.includes(value);
+        // La busqueda va al servidor: encuentra tambien pacientes de paginas aun no cargadas
+        this.patientService.lookupPatients(value).subscribe({
+            next: (data: any[]) => {
+                // Solo cuenta la respuesta de la ultima busqueda escrita
+                if (seq === this.searchSeq) {
+                    this.filtered = data;
+                }
+            },
+            error: (err: any) => {
+                console.error('Error al buscar:', err);
+                this.showToast('error', 'Error al buscar pacientes');
+            },
         });
-        this.page = 1;
     }
 
     get totalPages(): number {
@@ -282,6 +347,9 @@ export class PatientsPageComponent implements OnInit {
             municipality: loc.department,
             location: `${loc.city}, ${loc.department}`,
         });
+        // patchValue no marca los controles; el PATCH solo envia los modificados
+        this.patientForm.controls.city.markAsDirty();
+        this.patientForm.controls.municipality.markAsDirty();
         this.locationDropdownOpen = false;
     }
 
@@ -301,6 +369,7 @@ export class PatientsPageComponent implements OnInit {
 
     onSelectEps(eps: string): void {
         this.patientForm.patchValue({ eps });
+        this.patientForm.controls.eps.markAsDirty();
         this.epsDropdownOpen = false;
     }
 
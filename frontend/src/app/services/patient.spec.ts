@@ -20,16 +20,55 @@ describe('PatientService', () => {
     http.verify();
   });
 
-  it('debería obtener pacientes (GET)', () => {
-    const mockResponse = [{ id: '1', firstName: 'Ana' }];
+  it('debería obtener una página de pacientes y seguir el cursor (GET)', () => {
+    const items = [{ id: '1', firstName: 'Ana' }];
 
-    service.getPatients().subscribe((resp) => {
-      expect(resp).toEqual(mockResponse);
+    service.getPatientPage({ limit: 50, cursor: 'c1' }).subscribe((resp) => {
+      expect(resp).toEqual({ items, next: 'c2' });
     });
 
-    const req = http.expectOne('http://localhost:8080/api/patients');
+    const req = http.expectOne((r) => r.url === 'http://localhost:8080/api/patients');
     expect(req.request.method).toBe('GET');
-    req.flush(mockResponse);
+    expect(req.request.params.get('limit')).toBe('50');
+    expect(req.request.params.get('cursor')).toBe('c1');
+    req.flush({ items, next: 'c2' });
+  });
+
+  it('debería buscar pacientes en el servidor (GET lookup)', () => {
+    const found = [{ id: '1', firstName: 'Ana', identificationNumber: '123' }];
+
+    service.lookupPatients('ana').subscribe((resp) => {
+      expect(resp).toEqual(found);
+    });
+
+    const req = http.expectOne((r) => r.url === 'http://localhost:8080/api/patients/lookup');
+    expect(req.request.method).toBe('GET');
+    expect(req.request.params.get('q')).toBe('ana');
+    expect(req.request.params.get('limit')).toBe('25');
+    req.flush(found);
+  });
+
+  it('debería obtener la ficha con historial y conteos (GET overview)', () => {
+    const id = 'abc';
+    const overview = {
+      patient: { id },
+      appointments: [{ id: 'c1', status: 'PENDING' }],
+      counts: { PENDING: 1, COMPLETED: 0, CANCELLED: 0 },
+      total: 1,
+      page: 0,
+      size: 100,
+      hasMore: false
+    };
+
+    service.getOverview(id).subscribe((resp) => {
+      expect(resp).toEqual(overview);
+    });
+
+    const req = http.expectOne((r) => r.url === `http://localhost:8080/api/patients/${id}/overview`);
+    expect(req.request.method).toBe('GET');
+    expect(req.request.params.get('page')).toBe('0');
+    expect(req.request.params.get('size')).toBe('100');
+    req.flush(overview);
   });
 
   it('debería crear paciente (POST)', () => {
@@ -61,6 +100,19 @@ describe('PatientService', () => {
     req.flush(mockResponse);
   });
 
+  it('debería enviar solo los cambios (PATCH merge-patch)', () => {
+    const id = 'abc';
+    const changes = { email: 'nuevo@correo.co', version: 3 };
+
+    service.patchPatient(id, changes).subscribe();
+
+    const req = http.expectOne(`http://localhost:8080/api/patients/${id}`);
+    expect(req.request.method).toBe('PATCH');
+    expect(req.request.headers.get('Content-Type')).toBe('application/merge-patch+json');
+    expect(req.request.body).toEqual(changes);
+    req.flush({});
+  });
+
   it('debería eliminar paciente (DELETE)', () => {
     const id = 'abc';
 
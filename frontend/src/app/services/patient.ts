@@ -1,7 +1,23 @@
 import { Injectable } from '@angular/core';
-import { HttpClient } from '@angular/common/http';
+import { HttpClient, HttpHeaders } from '@angular/common/http';
 import { Observable } from 'rxjs';
 
+export interface PatientPage {
+  items: any[];
+  next: string | null;
+}
+
+// Ficha del paciente: historial de citas (mas recientes primero) y conteo por estado en una sola llamada
+export interface PatientOverview {
+  patient: any;
+  appointments: any[];
+  counts: Record<string, number>;
+  total: number;
+  page: number;
+  size: number;
+  hasMore: boolean;
+}
+
 @Injectable({
   providedIn: 'root'
 })
@@ -11,9 +27,14 @@ export class PatientService {
 
   constructor(private http: HttpClient) { }
 
-  // Obtener todos los pacientes
-  getPatients(): Observable<any[]> {
-    return this.http.get<any[]>(this.apiUrl);
+  // Obtener una pagina de pacientes (cursor keyset devuelto en `next`; null en la ultima pagina)
+  getPatientPage(params: Record<string, string | number> = {}): Observable<PatientPage> {
+    return this.http.get<PatientPage>(this.apiUrl, { params });
+  }
+
+  // Buscar pacientes en el servidor por nombre, documento, telefono o correo (minimo 2 caracteres, maximo 25)
+  lookupPatients(q: string, limit: number = 25): Observable<any[]> {
+    return this.http.get<any[]>(`${this.apiUrl}/lookup`, { params: { q, limit } });
   }
 
   // Obtener un paciente por ID
@@ -21,6 +42,11 @@ export class PatientService {
     return this.http.get<any>(`${this.apiUrl}/${id}`);
   }
 
+  // Obtener paciente, historial paginado de citas y conteo por estado
+  getOverview(id: string, page: number = 0, size: number = 100): Observable<PatientOverview> {
+    return this.http.get<PatientOverview>(`${this.apiUrl}/${id}/overview`, { params: { page, size } });
+  }
+
   // Buscar paciente por documento
   getPatientByDocument(identificationNumber: string): Observable<any> {
     return this.http.get<any>(`${this.apiUrl}/search`, {
@@ -38,6 +64,13 @@ export class PatientService {
     return this.http.put<any>(`${this.apiUrl}/${id}`, patient);
   }
 
+  // Actualizar solo los campos cambiados (JSON Merge Patch: null borra el valor)
+  patchPatient(id: string, changes: Record<string, any>): Observable<any> {
+    return this.http.patch<any>(`${this.apiUrl}/${id}`, changes, {
+      headers: new HttpHeaders({ 'Content-Type': 'application/merge-patch+json' })
+    });
+  }
+
   // Eliminar un paciente por id
   deletePatient(id: string): Observable<void> {
     return this.http.delete<void>(`${this.apiUrl}/${id}`);